@@ -1,20 +1,38 @@
 package com.eventelope;
 
+import com.eventelope.core.ExecutionOptions;
 import com.eventelope.core.TestCase;
 import com.eventelope.core.TestExecutor;
 import com.eventelope.core.TestResult;
+import com.eventelope.daemon.DaemonClient;
+import com.eventelope.daemon.DaemonServer;
+import com.eventelope.distributed.Coordinator;
+import com.eventelope.distributed.Worker;
+import com.eventelope.http.CassetteTransport;
+import com.eventelope.load.LoadTestOptions;
+import com.eventelope.load.LoadTestReport;
+import com.eventelope.load.LoadTestRunner;
 import com.eventelope.parser.YamlParser;
 import com.eventelope.reporting.ReportGenerator;
+import com.eventelope.scheduling.DurationEstimator;
+import com.eventelope.scheduling.Shard;
+import com.eventelope.scheduling.ShardPlanner;
+import com.eventelope.scheduling.TestFilter;
+import com.eventelope.scheduling.TimingHistory;
+import com.eventelope.watch.TestWatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Main entry point for the Eventelope API testing framework.
@@ -29,11 +47,22 @@ public class Eventelope {
     private final YamlParser yamlParser;
     private final TestExecutor testExecutor;
     private final ReportGenerator reportGenerator;
+    private final ExecutionOptions options;
     
     public Eventelope() {
+        this(new ExecutionOptions());
+    }
+    
+    /**
+     * Create an Eventelope instance with the given test execution settings.
+     *
+     * @param options Settings for parallel test and step execution
+     */
+    public Eventelope(ExecutionOptions options) {
         this.yamlParser = new YamlParser();
-        this.testExecutor = new TestExecutor();
+        this.testExecutor = new TestExecutor(options);
         this.reportGenerator = new ReportGenerator();
+        this.options = options;
     }
     
     /**
@@ -48,11 +77,125 @@ public class Eventelope {
         LOGGER.info("Test directory: {}", testDir);
         LOGGER.info("Report directory: {}", reportDir);
         
+        List<TestCase> testCases = loadSuite(testDir);
+        if (testCases == null) {
+            return false;
+        }
+        if (testCases.isEmpty()) {
+            return true;
+        }
+        
+        return runTestCases(testCases, reportDir, result -> { });
+    }
+    
+    /**
+     * Run already parsed test cases and write the reports.
+     *
+     * @param testCases The test cases to run
+     * @param reportDir Directory to store reports
+     * @param onResult Called with each result as soon as its test case finishes
+     * @return True if all tests pass, false otherwise
+     */
+    public boolean runTestCases(List<TestCase> testCases, String reportDir, Consumer<TestResult> onResult) {
+        // The daemon and watch mode run many suites with one executor; only parsed tests and
+        // connection pools should carry over from one run to the next
+        testExecutor.resetRunState();
+        
+        // Execute tests
+        LOGGER.info("Executing tests...");
+        List<TestResult> results = testExecutor.executeTests(testCases, onResult);
+        
+        return report(results, reportDir);
+    }
+    
+    /**
+     * Run the tests of a directory, then keep re-running the tests whose YAML or payload files change.
+     *
+     * @param testDir Directory containing test files
+     * @param reportDir Directory to store reports
+     * @return False if the directory could not be watched; otherwise only returns when interrupted
+     */
+    public boolean watchTests(String testDir, String reportDir) {
+        LOGGER.info("Starting Eventelope in watch mode");
+        LOGGER.info("Test directory: {}", testDir);
+        LOGGER.info("Report directory: {}", reportDir);
+        
+        if (!Files.isDirectory(Paths.get(testDir))) {
+            LOGGER.error("Test directory does not exist: {}", testDir);
+            return false;
+        }
+        
+        try {
+            new TestWatcher(this, testDir, reportDir, options.getFilter()).watch();
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Failed to watch test directory: {}", testDir, e);
+            return false;
+        }
+    }
+    
+    /**
+     * Distribute the tests of a directory to worker processes and report their results.
+     *
+     * @param testDir Directory containing test files
+     * @param reportDir Directory to store reports
+     * @param port Port on the loopback interface to listen on for workers
+     * @return True if all tests pass, false otherwise
+     */
+    public boolean runCoordinator(String testDir, String reportDir, int port) {
+        LOGGER.info("Starting Eventelope coordinator");
+        LOGGER.info("Test directory: {}", testDir);
+        LOGGER.info("Report directory: {}", reportDir);
+        
+        List<TestCase> testCases = loadSuite(testDir);
+        if (testCases == null) {
+            return false;
+        }
+        if (testCases.isEmpty()) {
+            return true;
+        }
+        
+        // Hand out the longest tests first so that no worker is left with a long test at the end
+        TimingHistory history = TimingHistory.load(Paths.get(options.getTimingFile()));
+        List<Integer> startOrder = new DurationEstimator(history, testCases).longestFirst(testCases);
+        
+        List<TestResult> results;
+        try {
+            results = new Coordinator(testCases, startOrder, port).run();
+        } catch (IOException e) {
+            LOGGER.error("Coordinator failed to listen on port {}", port, e);
+            return false;
+        }
+        
+        return report(results, reportDir);
+    }
+    
+    /**
+     * Run tests handed out by a coordinator until it has no more work.
+     * Reports are written by the coordinator, not by the worker.
+     *
+     * @param coordinatorAddress Address of the coordinator, e.g. localhost:7070
+     * @return True if the worker stayed connected until the suite was done
+     */
+    public boolean runWorker(String coordinatorAddress) {
+        InetSocketAddress address = Worker.parseAddress(coordinatorAddress);
+        Worker worker = new Worker(address.getHostString(), address.getPort(), 
+            options.getParallelism(), testExecutor);
+        return worker.run();
+    }
+    
+    /**
+     * Parse the test cases of a directory and keep this machine's shard.
+     *
+     * @param testDir Directory containing test files
+     * @return The test cases to run, or null if the directory has no test cases
+     */
+    private List<TestCase> loadSuite(String testDir) {
         // Check if test directory exists
         Path testPath = Paths.get(testDir);
         if (!Files.exists(testPath)) {
             LOGGER.error("Test directory does not exist: {}", testDir);
-            return false;
+            return null;
         }
         
         // Parse test cases
@@ -60,19 +203,43 @@ public class Eventelope {
         
         if (testCases.isEmpty()) {
             LOGGER.warn("No test cases found in {}", testDir);
-            return false;
+            return null;
         }
         
         LOGGER.info("Found {} test cases", testCases.size());
         
-        // Execute tests
-        LOGGER.info("Executing tests...");
-        List<TestResult> results = testExecutor.executeTests(testCases);
+        if (options.getFilter() != null) {
+            testCases = TestFilter.select(testCases, options.getFilter());
+            LOGGER.info("{} test cases match filter '{}'", testCases.size(), options.getFilter());
+            if (testCases.isEmpty()) {
+                return null;
+            }
+        }
         
+        // Keep only this machine's share of the suite
+        if (options.getShard() != null) {
+            TimingHistory history = TimingHistory.load(Paths.get(options.getTimingFile()));
+            testCases = new ShardPlanner(history).select(testCases, options.getShard());
+            if (testCases.isEmpty()) {
+                LOGGER.warn("Shard {} has no test cases to run", options.getShard());
+            }
+        }
+        return testCases;
+    }
+    
+    /**
+     * Write the reports and timing history of a suite run and log the summary.
+     *
+     * @param results The test results
+     * @param reportDir Directory to store reports
+     * @return True if all tests passed, false otherwise
+     */
+    private boolean report(List<TestResult> results, String reportDir) {
         // Generate reports
         LOGGER.info("Generating reports...");
         reportGenerator.generateTextReport(results, reportDir);
         reportGenerator.generateHtmlReport(results, reportDir);
+        reportGenerator.writeTimingHistory(results, options.getTimingFile());
         
         // Calculate pass/fail summary
         long passedTests = results.stream().filter(TestResult::isPassed).count();
@@ -108,6 +275,7 @@ public class Eventelope {
         // Execute test
         LOGGER.info("Executing test: {}", testCase.getName());
         TestResult result = testExecutor.executeTest(testCase);
+        testExecutor.finishRun();
         
         // Generate reports
         LOGGER.info("Generating reports...");
@@ -115,6 +283,7 @@ public class Eventelope {
         results.add(result);
         reportGenerator.generateTextReport(results, reportDir);
         reportGenerator.generateHtmlReport(results, reportDir);
+        reportGenerator.writeTimingHistory(results, options.getTimingFile());
         
         LOGGER.info("Test execution complete");
         LOGGER.info("Result: {}", result.isPassed() ? "PASSED" : "FAILED");
@@ -122,6 +291,50 @@ public class Eventelope {
         return result.isPassed();
     }
     
+    /**
+     * Run a test file, or every test file in a directory, as a load scenario.
+     *
+     * @param testPath Path to a YAML test file or a directory of test files
+     * @param reportDir Directory to store reports
+     * @param loadOptions Iterations, concurrency and duration of the load run
+     * @return True if every scenario could be started, false if preconditions or setup failed
+     */
+    public boolean runLoadTest(String testPath, String reportDir, LoadTestOptions loadOptions) {
+        LOGGER.info("Starting Eventelope load test");
+        LOGGER.info("Test path: {}", testPath);
+        
+        File file = new File(testPath);
+        if (!file.exists()) {
+            LOGGER.error("Test path does not exist: {}", testPath);
+            return false;
+        }
+        
+        List<TestCase> testCases = new ArrayList<>();
+        if (file.isFile()) {
+            testCases.add(yamlParser.parseTestCase(file));
+        } else {
+            testCases.addAll(yamlParser.parseTestCases(testPath));
+        }
+        
+        if (testCases.isEmpty()) {
+            LOGGER.warn("No test cases found in {}", testPath);
+            return false;
+        }
+        
+        LoadTestRunner loadTestRunner = new LoadTestRunner(testExecutor, loadOptions);
+        List<LoadTestReport> reports = new ArrayList<>();
+        for (TestCase testCase : testCases) {
+            reports.add(loadTestRunner.run(testCase));
+        }
+        
+        LOGGER.info("Generating load report...");
+        reportGenerator.generateLoadReport(reports, reportDir);
+        // Writes a --record cassette, flushes the wire log and logs the transport statistics
+        testExecutor.finishRun();
+        
+        return reports.stream().allMatch(LoadTestReport::isStarted);
+    }
+    
     /**
      * Application entry point.
      *
@@ -132,6 +345,18 @@ public class Eventelope {
         String testDir = DEFAULT_TEST_DIR;
         String reportDir = DEFAULT_REPORT_DIR;
         String singleTestFile = null;
+        ExecutionOptions options = new ExecutionOptions();
+        boolean parallelismSet = false;
+        boolean loadMode = false;
+        boolean coordinatorMode = false;
+        int coordinatorPort = Coordinator.DEFAULT_PORT;
+        String workerAddress = null;
+        boolean daemonMode = args.length > 0 && args[0].equals("daemon");
+        boolean useDaemon = false;
+        boolean stopDaemon = false;
+        boolean watchMode = false;
+        Path socketPath = null;
+        LoadTestOptions loadOptions = new LoadTestOptions();
         
         for (int i = 0; i < args.length; i++) {
             if (args[i].equals("--testDir") && i + 1 < args.length) {
@@ -143,14 +368,141 @@ public class Eventelope {
             } else if (args[i].equals("--testFile") && i + 1 < args.length) {
                 singleTestFile = args[i + 1];
                 i++;
+            } else if (args[i].equals("--parallelism") && i + 1 < args.length) {
+                options.setParallelism(Integer.parseInt(args[i + 1]));
+                parallelismSet = true;
+                i++;
+            } else if (args[i].equals("--virtualThreads")) {
+                options.setVirtualThreads(true);
+            } else if (args[i].equals("--concurrentSteps")) {
+                options.setConcurrentSteps(true);
+            } else if (args[i].equals("--stepParallelism") && i + 1 < args.length) {
+                options.setStepParallelism(Integer.parseInt(args[i + 1]));
+                i++;
+            } else if (args[i].equals("--retryBudget") && i + 1 < args.length) {
+                options.setRetryBudgetRatio(Double.parseDouble(args[i + 1]));
+                i++;
+            } else if (args[i].equals("--retryBudgetBurst") && i + 1 < args.length) {
+                options.setRetryBudgetBurst(Integer.parseInt(args[i + 1]));
+                i++;
+            } else if (args[i].equals("--shard") && i + 1 < args.length) {
+                options.setShard(Shard.parse(args[i + 1]));
+                i++;
+            } else if (args[i].equals("--timingFile") && i + 1 < args.length) {
+                options.setTimingFile(args[i + 1]);
+                i++;
+            } else if (args[i].equals("--cachePreconditions")) {
+                options.setCachePreconditions(true);
+            } else if (args[i].equals("--stepCacheTtl") && i + 1 < args.length) {
+                options.setStepCacheTtl(LoadTestOptions.parseDuration(args[i + 1]));
+                i++;
+            } else if (args[i].equals("--transport") && i + 1 < args.length) {
+                options.setTransport(args[i + 1]);
+                i++;
+            } else if (args[i].equals("--wireLog") && i + 1 < args.length) {
+                options.setWireLog(args[i + 1]);
+                i++;
+            } else if (args[i].equals("--wireLogBodyLimit") && i + 1 < args.length) {
+                options.setWireLogBodyLimit(Integer.parseInt(args[i + 1]));
+                i++;
+            } else if (args[i].equals("--prewarm") && i + 1 < args.length) {
+                options.setPrewarmConnections(Integer.parseInt(args[i + 1]));
+                i++;
+            } else if (args[i].equals("--record") || args[i].equals("--replay")) {
+                // The cassette file is optional and defaults to the one in the working directory
+                boolean record = args[i].equals("--record");
+                String cassetteFile = CassetteTransport.DEFAULT_FILE;
+                if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                    cassetteFile = args[i + 1];
+                    i++;
+                }
+                if (record) {
+                    options.setRecordCassette(cassetteFile);
+                } else {
+                    options.setReplayCassette(cassetteFile);
+                }
+            } else if (args[i].equals("--asyncCleanup")) {
+                options.setAsyncCleanup(true);
+            } else if (args[i].equals("--cleanupParallelism") && i + 1 < args.length) {
+                options.setCleanupParallelism(Integer.parseInt(args[i + 1]));
+                i++;
+            } else if (args[i].equals("--coordinator")) {
+                coordinatorMode = true;
+            } else if (args[i].equals("--port") && i + 1 < args.length) {
+                coordinatorPort = Integer.parseInt(args[i + 1]);
+                i++;
+            } else if (args[i].equals("--worker")) {
+                // The coordinator address is optional and defaults to the local default port
+                if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                    workerAddress = args[i + 1];
+                    i++;
+                } else {
+                    workerAddress = "localhost:" + Coordinator.DEFAULT_PORT;
+                }
+            } else if (args[i].equals("--filter") && i + 1 < args.length) {
+                options.setFilter(args[i + 1]);
+                i++;
+            } else if (args[i].equals("--watch")) {
+                watchMode = true;
+            } else if (args[i].equals("--useDaemon")) {
+                useDaemon = true;
+            } else if (args[i].equals("--stopDaemon")) {
+                stopDaemon = true;
+            } else if (args[i].equals("--socket") && i + 1 < args.length) {
+                socketPath = Paths.get(args[i + 1]);
+                i++;
+            } else if (args[i].equals("--load")) {
+                loadMode = true;
+            } else if (args[i].equals("--iterations") && i + 1 < args.length) {
+                loadOptions.setIterations(Long.parseLong(args[i + 1]));
+                i++;
+            } else if (args[i].equals("--concurrency") && i + 1 < args.length) {
+                loadOptions.setConcurrency(Integer.parseInt(args[i + 1]));
+                i++;
+            } else if (args[i].equals("--rate") && i + 1 < args.length) {
+                loadOptions.setRate(Double.parseDouble(args[i + 1]));
+                i++;
+            } else if (args[i].equals("--duration") && i + 1 < args.length) {
+                loadOptions.setDuration(LoadTestOptions.parseDuration(args[i + 1]));
+                i++;
             } else if (args[i].equals("--help") || args[i].equals("-h")) {
                 printHelp();
                 return;
             }
         }
         
+        // Virtual threads are cheap, so only cap concurrency when explicitly asked to
+        if (options.isVirtualThreads() && !parallelismSet) {
+            options.setParallelism(Integer.MAX_VALUE);
+        }
+        
+        // Hand the run over to a resident daemon instead of starting the framework in this JVM
+        if (useDaemon || stopDaemon) {
+            DaemonClient client = new DaemonClient(socketPath);
+            try {
+                System.exit(stopDaemon ? client.stop(System.out)
+                    : client.run(singleTestFile != null ? singleTestFile : testDir, reportDir, 
+                        options.getFilter(), System.out));
+            } catch (IOException e) {
+                System.err.println("Cannot reach the Eventelope daemon: " + e.getMessage());
+                System.exit(2);
+            }
+            return;
+        }
+        
         // Create the Eventelope instance
-        Eventelope eventelope = new Eventelope();
+        Eventelope eventelope = new Eventelope(options);
+        
+        if (daemonMode) {
+            try {
+                new DaemonServer(eventelope, socketPath).serve();
+                System.exit(0);
+            } catch (IOException e) {
+                LOGGER.error("Eventelope daemon failed", e);
+                System.exit(2);
+            }
+            return;
+        }
         
         // Run tests based on arguments
         boolean allPassed;
@@ -161,7 +513,16 @@ public class Eventelope {
             singleTestFile = testDir;
         }
         
-        if (singleTestFile != null) {
+        if (workerAddress != null) {
+            allPassed = eventelope.runWorker(workerAddress);
+        } else if (watchMode) {
+            allPassed = eventelope.watchTests(testDir, reportDir);
+        } else if (coordinatorMode) {
+            allPassed = eventelope.runCoordinator(testDir, reportDir, coordinatorPort);
+        } else if (loadMode) {
+            allPassed = eventelope.runLoadTest(singleTestFile != null ? singleTestFile : testDir, 
+                reportDir, loadOptions);
+        } else if (singleTestFile != null) {
             allPassed = eventelope.runTest(singleTestFile, reportDir);
         } else {
             allPassed = eventelope.runTests(testDir, reportDir);
@@ -178,11 +539,52 @@ public class Eventelope {
         System.out.println("Eventelope - REST API Testing Framework");
         System.out.println("Usage:");
         System.out.println("  java -jar eventelope.jar [options]");
+        System.out.println("  java -jar eventelope.jar daemon [options]");
         System.out.println();
         System.out.println("Options:");
         System.out.println("  --testDir <dir>     Directory containing test YAML files (default: src/test/resources/testcases)");
         System.out.println("  --reportDir <dir>   Directory for reports (default: build/reports)");
         System.out.println("  --testFile <file>   Run a single test file");
+        System.out.println("  --parallelism <n>   Number of test cases to run in parallel (default: 1)");
+        System.out.println("  --virtualThreads    Run each test case on its own virtual thread (Java 21+)");
+        System.out.println("  --concurrentSteps   Run steps that don't depend on each other concurrently");
+        System.out.println("  --stepParallelism <n>  Maximum number of concurrently running steps (default: 8)");
+        System.out.println("  --shard <i>/<n>     Run shard i of n, balanced by the durations of previous runs");
+        System.out.println("  --timingFile <file> Test durations of previous runs (default: " + TimingHistory.DEFAULT_FILE + ")");
+        System.out.println("  --retryBudget <r>   Allow r retries per successful request of each service, e.g. 0.2");
+        System.out.println("  --retryBudgetBurst <n>  Retries a service may use before earning any (default: 10)");
+        System.out.println("  --cachePreconditions  Run identical GET/HEAD/OPTIONS precondition and setup steps once per suite");
+        System.out.println("  --stepCacheTtl <time>  How long a cached step outcome is reused, e.g. 30s (default: 5m)");
+        System.out.println("  --transport <name>  HTTP transport: restassured (default) or jdk (pooled, HTTP/2)");
+        System.out.println("  --wireLog <policy>  HTTP wire logging: off, failures (default), headers, sampled:<percent> or all");
+        System.out.println("  --wireLogBodyLimit <n>  Body characters written per logged exchange, 0 for all (default: 2000)");
+        System.out.println("  --prewarm <n>       Open n connections to every host of the suite before it runs");
+        System.out.println("  --record [file]     Record every HTTP exchange to a cassette (default: " + CassetteTransport.DEFAULT_FILE + ")");
+        System.out.println("  --replay [file]     Answer requests from a recorded cassette without using the network");
+        System.out.println("  --asyncCleanup      Run cleanup steps in the background while later tests execute");
+        System.out.println("  --cleanupParallelism <n>  Maximum number of concurrently running cleanups (default: 4)");
+        System.out.println();
+        System.out.println("  --watch             Re-run tests whenever their YAML or payload files change");
+        System.out.println("  --filter <text>     Only run tests whose name or file path contains text (comma-separated)");
+        System.out.println();
+        System.out.println("Daemon options:");
+        System.out.println("  daemon              Start a resident daemon that keeps parsed tests and HTTP clients warm");
+        System.out.println("  --useDaemon         Send this run (--testDir, --testFile, --reportDir, --filter) to the daemon");
+        System.out.println("  --stopDaemon        Stop the running daemon");
+        System.out.println("  --socket <path>     Unix domain socket of the daemon (default: eventelope-<user>.sock in the temp dir)");
+        System.out.println();
+        System.out.println("Distributed options:");
+        System.out.println("  --coordinator       Hand out the tests of --testDir to worker processes and report their results");
+        System.out.println("  --port <n>          Port the coordinator listens on, on localhost only (default: " + Coordinator.DEFAULT_PORT + ")");
+        System.out.println("  --worker [host:port]  Run tests handed out by a coordinator, --parallelism at a time");
+        System.out.println();
+        System.out.println("Load test options:");
+        System.out.println("  --load              Repeat the execution steps of each test as a load scenario");
+        System.out.println("  --iterations <n>    Number of iterations to run");
+        System.out.println("  --concurrency <n>   Number of iterations running at the same time (default: 1)");
+        System.out.println("  --duration <time>   Maximum run time, e.g. 30s, 10m or 1h");
+        System.out.println("  --rate <n>          Start n iterations per second; --concurrency becomes the worker limit");
+        System.out.println();
         System.out.println("  --help, -h          Show this help message");
     }
 }
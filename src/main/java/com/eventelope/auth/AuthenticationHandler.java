@@ -6,6 +6,10 @@ import io.restassured.specification.RequestSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -14,6 +18,8 @@ import java.util.Map;
 public class AuthenticationHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(AuthenticationHandler.class);
     private final ConfigLoader configLoader = new ConfigLoader();
+    // Loaded once so that concurrent requests don't re-read the config file
+    private final Map<String, UserConfig> users = configLoader.loadUserConfigs();
 
     /**
      * Apply authentication to a request based on a user identifier.
@@ -22,11 +28,22 @@ public class AuthenticationHandler {
      * @param userId The user identifier from the users.yaml config
      */
     public void applyAuthentication(RequestSpecification requestSpec, String userId) {
-        Map<String, UserConfig> users = configLoader.loadUserConfigs();
-        
+        for (Map.Entry<String, String> header : getAuthenticationHeaders(userId).entrySet()) {
+            requestSpec.header(header.getKey(), header.getValue());
+        }
+    }
+
+    /**
+     * Resolve the headers that authenticate a request as the given user.
+     * Used by transports that don't build a RestAssured request specification.
+     *
+     * @param userId The user identifier from the users.yaml config
+     * @return The authentication headers, empty if the user or auth type is unknown
+     */
+    public Map<String, String> getAuthenticationHeaders(String userId) {
         if (!users.containsKey(userId)) {
             LOGGER.warn("User '{}' not found in user configurations", userId);
-            return;
+            return Collections.emptyMap();
         }
         
         UserConfig user = users.get(userId);
@@ -34,37 +51,41 @@ public class AuthenticationHandler {
         
         if (authType == null) {
             LOGGER.warn("No auth type specified for user '{}'", userId);
-            return;
+            return Collections.emptyMap();
         }
         
+        Map<String, String> headers = new LinkedHashMap<>();
         switch (authType.toLowerCase()) {
             case "basic":
-                applyBasicAuth(requestSpec, user);
+                applyBasicAuth(headers, user);
                 break;
             case "bearer":
-                applyBearerToken(requestSpec, user);
+                applyBearerToken(headers, user);
                 break;
             case "apikey":
-                applyApiKey(requestSpec, user);
+                applyApiKey(headers, user);
                 break;
             case "jwt":
-                applyJwtToken(requestSpec, user);
+                applyJwtToken(headers, user);
                 break;
             default:
                 LOGGER.warn("Unsupported auth type '{}' for user '{}'", authType, userId);
         }
+        return headers;
     }
 
     /**
-     * Apply Basic Authentication.
+     * Apply Basic Authentication (preemptively, without waiting for a challenge).
      */
-    private void applyBasicAuth(RequestSpecification requestSpec, UserConfig user) {
+    private void applyBasicAuth(Map<String, String> headers, UserConfig user) {
         String username = user.getUsername();
         String password = user.getPassword();
         
         if (username != null && password != null) {
             LOGGER.info("Applying Basic Authentication for user '{}'", user.getId());
-            requestSpec.auth().preemptive().basic(username, password);
+            String credentials = username + ":" + password;
+            headers.put("Authorization",
+                "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
         } else {
             LOGGER.warn("Missing username or password for Basic Authentication");
         }
@@ -73,12 +94,12 @@ public class AuthenticationHandler {
     /**
      * Apply Bearer Token Authentication.
      */
-    private void applyBearerToken(RequestSpecification requestSpec, UserConfig user) {
+    private void applyBearerToken(Map<String, String> headers, UserConfig user) {
         String token = user.getToken();
         
         if (token != null) {
             LOGGER.info("Applying Bearer Token Authentication for user '{}'", user.getId());
-            requestSpec.header("Authorization", "Bearer " + token);
+            headers.put("Authorization", "Bearer " + token);
         } else {
             LOGGER.warn("Missing token for Bearer Authentication");
         }
@@ -87,12 +108,12 @@ public class AuthenticationHandler {
     /**
      * Apply JWT Token Authentication.
      */
-    private void applyJwtToken(RequestSpecification requestSpec, UserConfig user) {
+    private void applyJwtToken(Map<String, String> headers, UserConfig user) {
         String token = user.getToken();
         
         if (token != null) {
             LOGGER.info("Applying JWT Authentication for user '{}'", user.getId());
-            requestSpec.header("Authorization", "Bearer " + token);
+            headers.put("Authorization", "Bearer " + token);
         } else {
             LOGGER.warn("Missing JWT token for JWT Authentication");
         }
@@ -101,13 +122,13 @@ public class AuthenticationHandler {
     /**
      * Apply API Key Authentication.
      */
-    private void applyApiKey(RequestSpecification requestSpec, UserConfig user) {
+    private void applyApiKey(Map<String, String> headers, UserConfig user) {
         String apiKey = user.getApiKey();
         String apiKeyHeader = user.getApiKeyHeader();
         
         if (apiKey != null && apiKeyHeader != null) {
             LOGGER.info("Applying API Key Authentication for user '{}'", user.getId());
-            requestSpec.header(apiKeyHeader, apiKey);
+            headers.put(apiKeyHeader, apiKey);
         } else {
             LOGGER.warn("Missing API key or header name for API Key Authentication");
         }
@@ -0,0 +1,77 @@
+package com.eventelope.config;
+
+import java.io.Serializable;
+
+/**
+ * Settings of the circuit breaker of a service. The circuit opens when at least the minimum number
+ * of the last window of requests were sent and the share of failures among them reaches the threshold.
+ * After the open duration a few probe requests are let through; if they all succeed the circuit
+ * closes, otherwise it opens again.
+ */
+public class CircuitBreakerConfig implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private double failureRateThreshold = 50;   // Percentage of failed requests that opens the circuit
+    private int windowSize = 20;                // Number of most recent requests the failure rate is taken over
+    private int minimumRequests = 10;           // Requests in the window before the failure rate counts
+    private long openDuration = 30000;          // Milliseconds the circuit stays open before probing
+    private int halfOpenProbes = 3;             // Probe requests that must succeed to close the circuit
+
+    public CircuitBreakerConfig() {
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("Failure rate threshold must be between 0 and 100: " 
+                + failureRateThreshold);
+        }
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = Math.max(1, windowSize);
+    }
+
+    public int getMinimumRequests() {
+        return minimumRequests;
+    }
+
+    public void setMinimumRequests(int minimumRequests) {
+        this.minimumRequests = Math.max(1, minimumRequests);
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(long openDuration) {
+        this.openDuration = Math.max(0, openDuration);
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    public void setHalfOpenProbes(int halfOpenProbes) {
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreakerConfig{" +
+                "failureRateThreshold=" + failureRateThreshold +
+                ", windowSize=" + windowSize +
+                ", minimumRequests=" + minimumRequests +
+                ", openDuration=" + openDuration +
+                ", halfOpenProbes=" + halfOpenProbes +
+                '}';
+    }
+}
@@ -0,0 +1,200 @@
+package com.eventelope.config;
+
+import java.io.Serializable;
+
+/**
+ * Settings for the requests to one service: its base URL, timeouts, connection pool size,
+ * keep-alive time and its bulkhead, the maximum number of requests in flight and how long
+ * a request may wait for one of those slots, its client-side rate limit and its circuit breaker.
+ * Timeouts are in milliseconds; 0 means no limit for the total timeout, maxInFlight and queueTimeout.
+ */
+public class ClientProfile implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final String DEFAULT = "default";
+    public static final String DEFAULT_BASE_URL = "https://jsonplaceholder.typicode.com";
+
+    private String name = DEFAULT;
+    private String baseUrl = DEFAULT_BASE_URL; // Prefix of the service's relative endpoints
+    private int connectTimeout = 10000;     // Time to establish a connection
+    private int readTimeout = 30000;        // Time to wait for data on an established connection
+    private int totalTimeout;               // Time for the whole exchange, up to the last byte of the response
+    private int poolSize = 20;              // Connections kept per client
+    private long keepAlive = 30000;         // How long idle connections are kept open
+    private int maxInFlight;                // Requests to the service sent at the same time
+    private int queueTimeout;               // Time a request may wait for a free slot when maxInFlight is reached
+    private RateLimitConfig rateLimit;      // Client-side rate limit of the service, null for none
+    private CircuitBreakerConfig circuitBreaker; // Circuit breaker of the service, null for none
+
+    public ClientProfile() {
+    }
+
+    /**
+     * Create a copy of this profile.
+     *
+     * @return The copy
+     */
+    public ClientProfile copy() {
+        ClientProfile copy = new ClientProfile();
+        copy.name = name;
+        copy.baseUrl = baseUrl;
+        copy.connectTimeout = connectTimeout;
+        copy.readTimeout = readTimeout;
+        copy.totalTimeout = totalTimeout;
+        copy.poolSize = poolSize;
+        copy.keepAlive = keepAlive;
+        copy.maxInFlight = maxInFlight;
+        copy.queueTimeout = queueTimeout;
+        copy.rateLimit = rateLimit;
+        copy.circuitBreaker = circuitBreaker;
+        return copy;
+    }
+
+    /**
+     * Apply the timeouts of a single request to this profile.
+     *
+     * @param connectionTimeout The request's connection timeout, 0 to keep the profile's
+     * @param timeout The request's read timeout, 0 to keep the profile's
+     * @return This profile if nothing is overridden, otherwise an adjusted copy
+     */
+    public ClientProfile withOverrides(int connectionTimeout, int timeout) {
+        if ((connectionTimeout <= 0 || connectionTimeout == connectTimeout) 
+                && (timeout <= 0 || timeout == readTimeout)) {
+            return this;
+        }
+        ClientProfile copy = copy();
+        if (connectionTimeout > 0) {
+            copy.connectTimeout = connectionTimeout;
+        }
+        if (timeout > 0) {
+            copy.readTimeout = timeout;
+        }
+        return copy;
+    }
+
+    /**
+     * Build a key that is equal for profiles with the same settings, so that clients and
+     * connection pools can be shared between them.
+     *
+     * @return The profile key
+     */
+    public String key() {
+        return name + "/" + baseUrl + "/" + connectTimeout + "/" + readTimeout + "/" + totalTimeout + "/" 
+            + poolSize + "/" + keepAlive + "/" + maxInFlight + "/" + queueTimeout + "/" + rateLimit
+            + "/" + circuitBreaker;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Set the prefix of the service's relative endpoints.
+     *
+     * @param baseUrl An absolute http or https URL; a trailing slash is removed
+     */
+    public void setBaseUrl(String baseUrl) {
+        if (baseUrl == null || !(baseUrl.startsWith("http://") || baseUrl.startsWith("https://"))) {
+            throw new IllegalArgumentException("Base URL of service '" + name + "' must start with http:// or https://: " 
+                + baseUrl);
+        }
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public int getTotalTimeout() {
+        return totalTimeout;
+    }
+
+    public void setTotalTimeout(int totalTimeout) {
+        this.totalTimeout = totalTimeout;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = Math.max(1, poolSize);
+    }
+
+    public long getKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(long keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = Math.max(0, maxInFlight);
+    }
+
+    public int getQueueTimeout() {
+        return queueTimeout;
+    }
+
+    public void setQueueTimeout(int queueTimeout) {
+        this.queueTimeout = Math.max(0, queueTimeout);
+    }
+
+    public RateLimitConfig getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(RateLimitConfig rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    public CircuitBreakerConfig getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreakerConfig circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientProfile{" +
+                "name='" + name + '\'' +
+                ", baseUrl='" + baseUrl + '\'' +
+                ", connectTimeout=" + connectTimeout +
+                ", readTimeout=" + readTimeout +
+                ", totalTimeout=" + totalTimeout +
+                ", poolSize=" + poolSize +
+                ", keepAlive=" + keepAlive +
+                ", maxInFlight=" + maxInFlight +
+                ", queueTimeout=" + queueTimeout +
+                ", rateLimit=" + rateLimit +
+                ", circuitBreaker=" + circuitBreaker +
+                '}';
+    }
+}
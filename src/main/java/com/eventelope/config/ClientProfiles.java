@@ -0,0 +1,54 @@
+package com.eventelope.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The client profiles of all services, loaded from services.yaml. Services without a profile
+ * use the settings of the default profile. Resolved profiles are shared, so every request with
+ * the same service and settings uses the same profile instance.
+ */
+public class ClientProfiles {
+    private static final ClientProfile DEFAULT_PROFILE = new ClientProfile();
+
+    private final Map<String, ClientProfile> profiles;
+    private final Map<String, ClientProfile> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Create the profiles of a set of services.
+     *
+     * @param profiles Profiles keyed by service name; a "default" entry is used for other services
+     */
+    public ClientProfiles(Map<String, ClientProfile> profiles) {
+        this.profiles = profiles;
+    }
+
+    /**
+     * Load the profiles from the default services.yaml.
+     *
+     * @return The client profiles
+     */
+    public static ClientProfiles load() {
+        return new ClientProfiles(new ConfigLoader().loadClientProfiles());
+    }
+
+    /**
+     * Resolve the profile of a request.
+     *
+     * @param service The service of the step, or null
+     * @param connectionTimeout The request's connection timeout, 0 if not set
+     * @param timeout The request's read timeout, 0 if not set
+     * @return The profile to send the request with
+     */
+    public ClientProfile resolve(String service, int connectionTimeout, int timeout) {
+        String name = service != null ? service : ClientProfile.DEFAULT;
+        ClientProfile profile = profiles.get(name);
+        if (profile == null) {
+            // Services without a profile use the default settings, but still get a client of their own
+            profile = profiles.getOrDefault(ClientProfile.DEFAULT, DEFAULT_PROFILE).copy();
+            profile.setName(name);
+        }
+        ClientProfile adjusted = profile.withOverrides(connectionTimeout, timeout);
+        return resolved.computeIfAbsent(adjusted.key(), key -> adjusted);
+    }
+}
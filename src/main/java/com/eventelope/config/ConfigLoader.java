@@ -17,7 +17,9 @@ import java.util.Map;
 public class ConfigLoader {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigLoader.class);
     private static final String DEFAULT_USER_CONFIG_PATH = "src/test/resources/configs/users.yaml";
-    private final Yaml yaml = new Yaml();
+    private static final String DEFAULT_SERVICE_CONFIG_PATH = "src/test/resources/configs/services.yaml";
+    // Section of services.yaml with the rate limits of hosts rather than the settings of a service
+    private static final String HOSTS_SECTION = "hosts";
 
     /**
      * Load user configurations from the users.yaml file.
@@ -44,7 +46,8 @@ public class ConfigLoader {
         }
         
         try (InputStream input = new FileInputStream(configFile)) {
-            Map<String, Map<String, Object>> usersData = yaml.load(input);
+            // Yaml instances are not thread-safe, so create one per load
+            Map<String, Map<String, Object>> usersData = new Yaml().load(input);
             
             if (usersData != null) {
                 for (Map.Entry<String, Map<String, Object>> entry : usersData.entrySet()) {
@@ -90,4 +93,201 @@ public class ConfigLoader {
         
         return userConfigs;
     }
+
+    /**
+     * Load the HTTP client profiles of all services from the services.yaml file.
+     *
+     * @return Map of service names to ClientProfile objects, always including "default"
+     */
+    public Map<String, ClientProfile> loadClientProfiles() {
+        return loadClientProfiles(DEFAULT_SERVICE_CONFIG_PATH);
+    }
+
+    /**
+     * Load the HTTP client profiles of all services from a specified path.
+     * Settings a service doesn't specify are taken from the "default" entry.
+     *
+     * @param configPath Path to the service config file
+     * @return Map of service names to ClientProfile objects, always including "default"
+     */
+    public Map<String, ClientProfile> loadClientProfiles(String configPath) {
+        Map<String, ClientProfile> profiles = new HashMap<>();
+        ClientProfile defaults = new ClientProfile();
+        profiles.put(ClientProfile.DEFAULT, defaults);
+        
+        File configFile = new File(configPath);
+        if (!configFile.exists()) {
+            LOGGER.debug("Service config file not found: {}, using default client settings", configPath);
+            return profiles;
+        }
+        
+        try (InputStream input = new FileInputStream(configFile)) {
+            Map<String, Map<String, Object>> servicesData = new Yaml().load(input);
+            if (servicesData == null) {
+                return profiles;
+            }
+            
+            // The default entry must be applied first, since the other services inherit from it
+            if (servicesData.containsKey(ClientProfile.DEFAULT)) {
+                applyClientSettings(defaults, servicesData.get(ClientProfile.DEFAULT));
+            }
+            for (Map.Entry<String, Map<String, Object>> entry : servicesData.entrySet()) {
+                if (ClientProfile.DEFAULT.equals(entry.getKey()) || HOSTS_SECTION.equals(entry.getKey())) {
+                    continue;
+                }
+                ClientProfile profile = defaults.copy();
+                profile.setName(entry.getKey());
+                applyClientSettings(profile, entry.getValue());
+                profiles.put(entry.getKey(), profile);
+            }
+            
+            LOGGER.info("Loaded {} service configurations from {}", servicesData.size(), configPath);
+            
+        } catch (IOException e) {
+            LOGGER.error("Error loading service configs from {}", configPath, e);
+        }
+        
+        return profiles;
+    }
+
+    /**
+     * Load the rate limits of hosts from the "hosts" section of the services.yaml file.
+     *
+     * @return Map of host names to rate limits, empty if no host is limited
+     */
+    public Map<String, RateLimitConfig> loadHostRateLimits() {
+        return loadHostRateLimits(DEFAULT_SERVICE_CONFIG_PATH);
+    }
+
+    /**
+     * Load the rate limits of hosts from the "hosts" section of a service config file.
+     *
+     * @param configPath Path to the service config file
+     * @return Map of host names to rate limits, empty if no host is limited
+     */
+    public Map<String, RateLimitConfig> loadHostRateLimits(String configPath) {
+        Map<String, RateLimitConfig> limits = new HashMap<>();
+        File configFile = new File(configPath);
+        if (!configFile.exists()) {
+            return limits;
+        }
+        
+        try (InputStream input = new FileInputStream(configFile)) {
+            Map<String, Map<String, Map<String, Object>>> servicesData = new Yaml().load(input);
+            if (servicesData == null || servicesData.get(HOSTS_SECTION) == null) {
+                return limits;
+            }
+            for (Map.Entry<String, Map<String, Object>> entry : servicesData.get(HOSTS_SECTION).entrySet()) {
+                RateLimitConfig limit = parseRateLimit(entry.getValue(), null);
+                if (limit != null) {
+                    limits.put(entry.getKey(), limit);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Error loading host rate limits from {}", configPath, e);
+        }
+        
+        return limits;
+    }
+
+    /**
+     * Parse the rateLimit (requests per second) and rateBurst settings, falling back to an inherited limit.
+     */
+    private RateLimitConfig parseRateLimit(Map<String, Object> settings, RateLimitConfig inherited) {
+        if (settings == null || (!settings.containsKey("rateLimit") && !settings.containsKey("rateBurst"))) {
+            return inherited;
+        }
+        if (!settings.containsKey("rateLimit") && inherited == null) {
+            throw new IllegalArgumentException("rateBurst is set without a rateLimit");
+        }
+        double rate = settings.containsKey("rateLimit")
+            ? ((Number) settings.get("rateLimit")).doubleValue()
+            : inherited.getRequestsPerSecond();
+        if (rate <= 0) {
+            // A rate of 0 switches off a limit inherited from the default entry
+            return null;
+        }
+        int burst = settings.containsKey("rateBurst")
+            ? ((Number) settings.get("rateBurst")).intValue()
+            : (int) Math.ceil(rate);
+        return new RateLimitConfig(rate, burst);
+    }
+
+    /**
+     * Parse a circuitBreaker section. Settings it doesn't list are taken from the inherited breaker,
+     * and "enabled: false" switches an inherited breaker off.
+     */
+    @SuppressWarnings("unchecked")
+    private CircuitBreakerConfig parseCircuitBreaker(Object section, CircuitBreakerConfig inherited) {
+        if (!(section instanceof Map)) {
+            return Boolean.FALSE.equals(section) ? null : inherited;
+        }
+        Map<String, Object> settings = (Map<String, Object>) section;
+        if (Boolean.FALSE.equals(settings.get("enabled"))) {
+            return null;
+        }
+        CircuitBreakerConfig config = new CircuitBreakerConfig();
+        if (inherited != null) {
+            config.setFailureRateThreshold(inherited.getFailureRateThreshold());
+            config.setWindowSize(inherited.getWindowSize());
+            config.setMinimumRequests(inherited.getMinimumRequests());
+            config.setOpenDuration(inherited.getOpenDuration());
+            config.setHalfOpenProbes(inherited.getHalfOpenProbes());
+        }
+        if (settings.containsKey("failureRateThreshold")) {
+            config.setFailureRateThreshold(((Number) settings.get("failureRateThreshold")).doubleValue());
+        }
+        if (settings.containsKey("windowSize")) {
+            config.setWindowSize(((Number) settings.get("windowSize")).intValue());
+        }
+        if (settings.containsKey("minimumRequests")) {
+            config.setMinimumRequests(((Number) settings.get("minimumRequests")).intValue());
+        }
+        if (settings.containsKey("openDuration")) {
+            config.setOpenDuration(((Number) settings.get("openDuration")).longValue());
+        }
+        if (settings.containsKey("halfOpenProbes")) {
+            config.setHalfOpenProbes(((Number) settings.get("halfOpenProbes")).intValue());
+        }
+        // The window never holds more than windowSize outcomes, so the circuit could never open
+        if (config.getMinimumRequests() > config.getWindowSize()) {
+            throw new IllegalArgumentException("circuitBreaker minimumRequests (" + config.getMinimumRequests() 
+                + ") must not be greater than windowSize (" + config.getWindowSize() + ")");
+        }
+        return config;
+    }
+
+    private void applyClientSettings(ClientProfile profile, Map<String, Object> settings) {
+        if (settings == null) {
+            return;
+        }
+        if (settings.containsKey("baseUrl")) {
+            profile.setBaseUrl((String) settings.get("baseUrl"));
+        }
+        if (settings.containsKey("connectTimeout")) {
+            profile.setConnectTimeout(((Number) settings.get("connectTimeout")).intValue());
+        }
+        if (settings.containsKey("readTimeout")) {
+            profile.setReadTimeout(((Number) settings.get("readTimeout")).intValue());
+        }
+        if (settings.containsKey("totalTimeout")) {
+            profile.setTotalTimeout(((Number) settings.get("totalTimeout")).intValue());
+        }
+        if (settings.containsKey("poolSize")) {
+            profile.setPoolSize(((Number) settings.get("poolSize")).intValue());
+        }
+        if (settings.containsKey("keepAlive")) {
+            profile.setKeepAlive(((Number) settings.get("keepAlive")).longValue());
+        }
+        if (settings.containsKey("maxInFlight")) {
+            profile.setMaxInFlight(((Number) settings.get("maxInFlight")).intValue());
+        }
+        if (settings.containsKey("queueTimeout")) {
+            profile.setQueueTimeout(((Number) settings.get("queueTimeout")).intValue());
+        }
+        profile.setRateLimit(parseRateLimit(settings, profile.getRateLimit()));
+        if (settings.containsKey("circuitBreaker")) {
+            profile.setCircuitBreaker(parseCircuitBreaker(settings.get("circuitBreaker"), profile.getCircuitBreaker()));
+        }
+    }
 }
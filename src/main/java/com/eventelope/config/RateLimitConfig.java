@@ -0,0 +1,42 @@
+package com.eventelope.config;
+
+import java.io.Serializable;
+
+/**
+ * Client-side rate limit for the requests to a service or host: a token bucket that is refilled
+ * with the given number of requests per second and holds at most the burst size.
+ */
+public class RateLimitConfig implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final double requestsPerSecond;
+    private final int burst;
+
+    /**
+     * Create a rate limit.
+     *
+     * @param requestsPerSecond Sustained request rate, greater than 0
+     * @param burst Requests that may be sent at once after an idle period, at least 1
+     */
+    public RateLimitConfig(double requestsPerSecond, int burst) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit must be greater than 0 requests per second: " 
+                + requestsPerSecond);
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = Math.max(1, burst);
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    @Override
+    public String toString() {
+        return requestsPerSecond + "/s burst " + burst;
+    }
+}
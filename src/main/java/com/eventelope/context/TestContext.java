@@ -8,6 +8,7 @@ import java.util.logging.Logger;
 /**
  * Manages context for a test execution, allowing variables to be stored and
  * retrieved between steps in a test case.
+ * Access is synchronized because independent steps of a test case may run concurrently.
  */
 public class TestContext {
     private static final Logger LOGGER = Logger.getLogger(TestContext.class.getName());
@@ -20,7 +21,7 @@ public class TestContext {
      * @param name  The name of the variable
      * @param value The value to store
      */
-    public void setVariable(String name, Object value) {
+    public synchronized void setVariable(String name, Object value) {
         // If it's a TestStepVariable, handle specially for tracking
         if (value instanceof TestStepVariable) {
             TestStepVariable stepVar = (TestStepVariable) value;
@@ -40,7 +41,7 @@ public class TestContext {
      * @param name The name of the variable to retrieve
      * @return The value of the variable, or null if it doesn't exist
      */
-    public Object getVariable(String name) {
+    public synchronized Object getVariable(String name) {
         return variables.get(name);
     }
 
@@ -50,7 +51,7 @@ public class TestContext {
      * @param name The name of the variable to retrieve
      * @return The TestStepVariable object if it exists, or null
      */
-    public TestStepVariable getVariableWithTracking(String name) {
+    public synchronized TestStepVariable getVariableWithTracking(String name) {
         return variableTracking.get(name);
     }
 
@@ -60,7 +61,7 @@ public class TestContext {
      * @param name The name of the variable to check
      * @return true if the variable exists, false otherwise
      */
-    public boolean hasVariable(String name) {
+    public synchronized boolean hasVariable(String name) {
         return variables.containsKey(name);
     }
 
@@ -69,7 +70,7 @@ public class TestContext {
      * 
      * @return A map of all variables
      */
-    public Map<String, Object> getAllVariables() {
+    public synchronized Map<String, Object> getAllVariables() {
         return new HashMap<>(variables);
     }
     
@@ -78,14 +79,26 @@ public class TestContext {
      * 
      * @return A map of variable names to TestStepVariable objects
      */
-    public Map<String, TestStepVariable> getAllVariablesWithTracking() {
+    public synchronized Map<String, TestStepVariable> getAllVariablesWithTracking() {
         return new LinkedHashMap<>(variableTracking);
     }
 
+    /**
+     * Creates an independent copy of this context with the same variables and tracking information.
+     * 
+     * @return A new context that can be modified without affecting this one
+     */
+    public synchronized TestContext copy() {
+        TestContext copy = new TestContext();
+        copy.variables.putAll(variables);
+        copy.variableTracking.putAll(variableTracking);
+        return copy;
+    }
+
     /**
      * Clears all variables from the context.
      */
-    public void clear() {
+    public synchronized void clear() {
         variables.clear();
         variableTracking.clear();
     }
@@ -1,10 +1,14 @@
 package com.eventelope.context;
 
+import java.io.Serializable;
+
 /**
  * Represents a variable in the test context with information about which step created or updated it.
  * Used for enhanced reporting of variable flow between test steps.
  */
-public class TestStepVariable {
+public class TestStepVariable implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String name;
     private Object value;
     private String sourceStep;
@@ -0,0 +1,62 @@
+package com.eventelope.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Runs the cleanup sections of test cases in the background, so that a test case is finished as soon as
+ * its execution steps are. Cleanups run concurrently with later test cases, limited by their own
+ * parallelism, and must be drained before the results are reported.
+ */
+class CleanupQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CleanupQueue.class);
+
+    private final ExecutorService cleanupPool;
+    private final Set<CompletableFuture<Void>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Create a cleanup queue.
+     *
+     * @param parallelism Maximum number of cleanup sections running at the same time
+     */
+    CleanupQueue(int parallelism) {
+        this.cleanupPool = WorkerPools.newPlatformPool(parallelism, "eventelope-cleanup");
+    }
+
+    /**
+     * Queue the cleanup of a test case. The cleanup keeps its slot until it is done, including
+     * while it waits for retries, so the parallelism limit holds for the whole cleanup.
+     *
+     * @param testName Name of the test case, for logging
+     * @param cleanup Starts the cleanup steps and returns their completion
+     */
+    void submit(String testName, Supplier<CompletableFuture<?>> cleanup) {
+        CompletableFuture<Void> task = CompletableFuture.runAsync(() -> cleanup.get().join(), cleanupPool);
+        pending.add(task);
+        task.whenComplete((ignored, error) -> {
+            pending.remove(task);
+            if (error != null) {
+                LOGGER.error("Cleanup of test {} did not complete", testName, error);
+            }
+        });
+    }
+
+    /**
+     * Wait until every cleanup queued so far is done.
+     */
+    void drain() {
+        CompletableFuture<?>[] queued = pending.toArray(new CompletableFuture<?>[0]);
+        if (queued.length == 0) {
+            return;
+        }
+        LOGGER.info("Waiting for {} queued cleanups", queued.length);
+        // Failures are logged by the task itself
+        CompletableFuture.allOf(queued).exceptionally(error -> null).join();
+    }
+}
@@ -0,0 +1,313 @@
+package com.eventelope.core;
+
+import com.eventelope.http.CassetteTransport;
+import com.eventelope.http.HttpTransport;
+import com.eventelope.http.WireLogPolicy;
+import com.eventelope.scheduling.Shard;
+import com.eventelope.scheduling.TimingHistory;
+
+import java.time.Duration;
+
+/**
+ * Settings that control how the TestExecutor schedules test cases and steps.
+ */
+public class ExecutionOptions {
+    private int parallelism = 1;            // Maximum number of test cases executed at the same time
+    private boolean virtualThreads;         // Run each test case on its own virtual thread (Java 21+)
+    private boolean concurrentSteps;        // Run independent steps of a section concurrently
+    private int stepParallelism = 8;        // Maximum number of steps executed at the same time
+    private double retryBudgetRatio;        // Retries allowed per successful request of a service, 0 disables the budget
+    private int retryBudgetBurst = 10;      // Retries a service may use before earning any from successes
+    private String timingFile = TimingHistory.DEFAULT_FILE; // Durations of previous runs, updated after every run
+    private Shard shard;                    // Only run this shard of the suite, null to run everything
+    private String filter;                  // Only run test cases whose name or file path contains this text
+    private boolean cachePreconditions;     // Share identical precondition and setup steps across the suite
+    private Duration stepCacheTtl = Duration.ofMinutes(5); // How long a cached step outcome may be reused
+    private boolean asyncCleanup;           // Run cleanup sections in the background, off the test's critical path
+    private int cleanupParallelism = 4;     // Maximum number of cleanup sections running at the same time
+    private String transport = HttpTransport.RESTASSURED; // HTTP transport requests are sent through
+    private String wireLog = "failures";    // Which HTTP exchanges are written to the wire log
+    private int wireLogBodyLimit = WireLogPolicy.DEFAULT_BODY_LIMIT; // Body characters logged per exchange
+    private int prewarmConnections;         // Connections opened per host before the suite runs, 0 for none
+    private String cassetteMode;            // "record" or "replay" HTTP exchanges, null to just send them
+    private String cassetteFile = CassetteTransport.DEFAULT_FILE; // Cassette the exchanges are recorded to or replayed from
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of test cases executed at the same time.
+     *
+     * @param parallelism The number of parallel test cases (values below 1 mean sequential)
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Check if steps whose inputs are ready may run concurrently within a section.
+     *
+     * @return true if the dependency-graph step scheduler is enabled
+     */
+    public boolean isConcurrentSteps() {
+        return concurrentSteps;
+    }
+
+    public void setConcurrentSteps(boolean concurrentSteps) {
+        this.concurrentSteps = concurrentSteps;
+    }
+
+    public int getStepParallelism() {
+        return stepParallelism;
+    }
+
+    /**
+     * Set the maximum number of steps executed at the same time across all running test cases.
+     *
+     * @param stepParallelism The number of parallel steps
+     */
+    public void setStepParallelism(int stepParallelism) {
+        this.stepParallelism = Math.max(1, stepParallelism);
+    }
+
+    /**
+     * Check if retries are limited by a suite-wide per-service retry budget.
+     *
+     * @return true if a retry budget is configured
+     */
+    public boolean isRetryBudgetEnabled() {
+        return retryBudgetRatio > 0;
+    }
+
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    /**
+     * Set the number of retries each service earns per successful request.
+     *
+     * @param retryBudgetRatio The retry ratio, e.g. 0.2; 0 disables the budget
+     */
+    public void setRetryBudgetRatio(double retryBudgetRatio) {
+        if (retryBudgetRatio < 0) {
+            throw new IllegalArgumentException("Retry budget ratio must not be negative: " + retryBudgetRatio);
+        }
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    public int getRetryBudgetBurst() {
+        return retryBudgetBurst;
+    }
+
+    public void setRetryBudgetBurst(int retryBudgetBurst) {
+        this.retryBudgetBurst = Math.max(0, retryBudgetBurst);
+    }
+
+    public String getTimingFile() {
+        return timingFile;
+    }
+
+    public void setTimingFile(String timingFile) {
+        this.timingFile = timingFile;
+    }
+
+    public Shard getShard() {
+        return shard;
+    }
+
+    /**
+     * Restrict the run to one shard of the suite, balanced by the durations in the timing file.
+     *
+     * @param shard The shard to run, or null to run the whole suite
+     */
+    public void setShard(Shard shard) {
+        this.shard = shard;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    /**
+     * Only run the test cases whose name or file path contains the given text.
+     *
+     * @param filter Comma-separated texts to look for, or null to run every test case
+     */
+    public void setFilter(String filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Check if identical precondition and setup steps run once per suite and share their outcome.
+     *
+     * @return true if all precondition and setup steps are cacheable
+     */
+    public boolean isCachePreconditions() {
+        return cachePreconditions;
+    }
+
+    public void setCachePreconditions(boolean cachePreconditions) {
+        this.cachePreconditions = cachePreconditions;
+    }
+
+    public Duration getStepCacheTtl() {
+        return stepCacheTtl;
+    }
+
+    /**
+     * Set how long the outcome of a cached step may be reused before the step runs again.
+     *
+     * @param stepCacheTtl The time to live of cached step outcomes
+     */
+    public void setStepCacheTtl(Duration stepCacheTtl) {
+        if (stepCacheTtl == null || stepCacheTtl.isNegative()) {
+            throw new IllegalArgumentException("Step cache TTL must not be negative: " + stepCacheTtl);
+        }
+        this.stepCacheTtl = stepCacheTtl;
+    }
+
+    /**
+     * Check if cleanup sections are queued and run in the background while later test cases execute.
+     *
+     * @return true if cleanup runs asynchronously
+     */
+    public boolean isAsyncCleanup() {
+        return asyncCleanup;
+    }
+
+    public void setAsyncCleanup(boolean asyncCleanup) {
+        this.asyncCleanup = asyncCleanup;
+    }
+
+    public int getCleanupParallelism() {
+        return cleanupParallelism;
+    }
+
+    public void setCleanupParallelism(int cleanupParallelism) {
+        this.cleanupParallelism = Math.max(1, cleanupParallelism);
+    }
+
+    public String getTransport() {
+        return transport;
+    }
+
+    /**
+     * Select the HTTP transport.
+     *
+     * @param transport "restassured" (the default) or "jdk" for the pooled java.net.http client with HTTP/2
+     */
+    public void setTransport(String transport) {
+        if (!HttpTransport.RESTASSURED.equalsIgnoreCase(transport) && !HttpTransport.JDK.equalsIgnoreCase(transport)) {
+            throw new IllegalArgumentException("Unknown transport '" + transport + "', expected "
+                + HttpTransport.RESTASSURED + " or " + HttpTransport.JDK);
+        }
+        this.transport = transport;
+    }
+
+    public String getWireLog() {
+        return wireLog;
+    }
+
+    /**
+     * Select which HTTP exchanges are written to the wire log.
+     *
+     * @param wireLog "off", "failures" (the default), "headers", "sampled:<percent>" or "all"
+     */
+    public void setWireLog(String wireLog) {
+        WireLogPolicy.parse(wireLog, wireLogBodyLimit);
+        this.wireLog = wireLog;
+    }
+
+    public int getWireLogBodyLimit() {
+        return wireLogBodyLimit;
+    }
+
+    public void setWireLogBodyLimit(int wireLogBodyLimit) {
+        this.wireLogBodyLimit = Math.max(0, wireLogBodyLimit);
+    }
+
+    public int getPrewarmConnections() {
+        return prewarmConnections;
+    }
+
+    public void setPrewarmConnections(int prewarmConnections) {
+        this.prewarmConnections = Math.max(0, prewarmConnections);
+    }
+
+    public String getCassetteMode() {
+        return cassetteMode;
+    }
+
+    public String getCassetteFile() {
+        return cassetteFile;
+    }
+
+    /**
+     * Record every HTTP exchange of the run to a cassette.
+     *
+     * @param cassetteFile The cassette file to write
+     */
+    public void setRecordCassette(String cassetteFile) {
+        setCassette(CassetteTransport.RECORD, cassetteFile);
+    }
+
+    /**
+     * Answer requests from a recorded cassette instead of sending them.
+     *
+     * @param cassetteFile The cassette file to read
+     */
+    public void setReplayCassette(String cassetteFile) {
+        setCassette(CassetteTransport.REPLAY, cassetteFile);
+    }
+
+    private void setCassette(String mode, String file) {
+        if (cassetteMode != null && !cassetteMode.equals(mode)) {
+            throw new IllegalArgumentException("Cannot both record and replay a cassette");
+        }
+        this.cassetteMode = mode;
+        this.cassetteFile = file;
+    }
+
+    /**
+     * Build the wire log policy from the wire log settings.
+     *
+     * @return The wire log policy
+     */
+    public WireLogPolicy getWireLogPolicy() {
+        return WireLogPolicy.parse(wireLog, wireLogBodyLimit);
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionOptions{" +
+                "parallelism=" + parallelism +
+                ", virtualThreads=" + virtualThreads +
+                ", concurrentSteps=" + concurrentSteps +
+                ", stepParallelism=" + stepParallelism +
+                ", retryBudgetRatio=" + retryBudgetRatio +
+                ", retryBudgetBurst=" + retryBudgetBurst +
+                ", timingFile='" + timingFile + '\'' +
+                ", shard=" + shard +
+                ", filter='" + filter + '\'' +
+                ", cachePreconditions=" + cachePreconditions +
+                ", stepCacheTtl=" + stepCacheTtl +
+                ", asyncCleanup=" + asyncCleanup +
+                ", cleanupParallelism=" + cleanupParallelism +
+                ", transport='" + transport + '\'' +
+                ", wireLog='" + wireLog + '\'' +
+                ", wireLogBodyLimit=" + wireLogBodyLimit +
+                ", prewarmConnections=" + prewarmConnections +
+                ", cassetteMode='" + cassetteMode + '\'' +
+                ", cassetteFile='" + cassetteFile + '\'' +
+                '}';
+    }
+}
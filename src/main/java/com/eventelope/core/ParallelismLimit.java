@@ -0,0 +1,145 @@
+package com.eventelope.core;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Limits how many test cases run at the same time. A test case gives up its permit while it waits
+ * for a retry or poll, and takes one again before it resumes; that second wait is a future rather
+ * than a blocked thread. Resuming test cases are served before new test cases start.
+ */
+final class ParallelismLimit {
+    private final Deque<CompletableFuture<Void>> resuming = new ArrayDeque<>();
+    private int available;
+
+    /**
+     * Create a limit.
+     *
+     * @param permits Maximum number of test cases running at the same time
+     */
+    ParallelismLimit(int permits) {
+        this.available = permits;
+    }
+
+    /**
+     * Wait for a permit to start a new test case, blocking the calling thread.
+     *
+     * @return The lease of the test case, holding the permit
+     */
+    synchronized Lease acquire() {
+        while (available == 0) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to start a test case", e);
+            }
+        }
+        available--;
+        return new Lease();
+    }
+
+    private CompletableFuture<Void> acquireAsync() {
+        synchronized (this) {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            resuming.add(waiter);
+            return waiter;
+        }
+    }
+
+    private void release() {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            next = resuming.poll();
+            if (next == null) {
+                available++;
+                notifyAll();
+                return;
+            }
+        }
+        // Hand the permit straight to a resuming test case, outside the lock
+        next.complete(null);
+    }
+
+    /**
+     * The permit of one test case. Concurrent steps of a test case share it: it is only given up for
+     * a wait when no other step of the section is unfinished, and the first step to resume takes it
+     * back for all of them.
+     */
+    final class Lease {
+        private boolean held = true;
+        private CompletableFuture<Void> pending;
+        // Unfinished steps of the concurrent section the test case is running, 0 outside one
+        private int concurrentSteps;
+
+        private Lease() {
+        }
+
+        /**
+         * Give up the permit, if the test case holds it.
+         */
+        void release() {
+            synchronized (this) {
+                if (!held) {
+                    return;
+                }
+                held = false;
+            }
+            ParallelismLimit.this.release();
+        }
+
+        /**
+         * Give up the permit while a step waits, unless other steps of the test case are unfinished
+         * and may still send requests.
+         */
+        void releaseForWait() {
+            synchronized (this) {
+                if (concurrentSteps > 1) {
+                    return;
+                }
+            }
+            release();
+        }
+
+        /**
+         * Register the steps of a concurrent section before any of them starts.
+         *
+         * @param steps Number of steps in the section
+         */
+        synchronized void stepsScheduled(int steps) {
+            concurrentSteps += steps;
+        }
+
+        /**
+         * Register that a step of a concurrent section has finished.
+         */
+        synchronized void stepFinished() {
+            concurrentSteps--;
+        }
+
+        /**
+         * Take the permit back before resuming.
+         *
+         * @return Future completing once the test case holds the permit
+         */
+        synchronized CompletableFuture<Void> reacquire() {
+            if (held) {
+                return CompletableFuture.completedFuture(null);
+            }
+            // A done future is a permit that was taken back and given up again since
+            if (pending == null || pending.isDone()) {
+                pending = acquireAsync().thenRun(() -> {
+                    synchronized (this) {
+                        held = true;
+                    }
+                });
+            }
+            return pending;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.eventelope.core;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Counts virtual threads that were pinned to their carrier thread while blocking, and the carrier
+ * threads they pinned, using the JDK Flight Recorder "jdk.VirtualThreadPinned" event.
+ * Pinning happens when a virtual thread blocks inside a synchronized block or native frame,
+ * which stops the carrier thread from running other virtual threads.
+ */
+public class PinnedThreadMonitor implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    // Only recorded by newer JDKs; older ones just record the virtual thread
+    private static final String CARRIER_FIELD = "carrierThread";
+
+    private Recording recording;
+    private long pinnedEvents;
+    private long pinnedThreads;
+    private long pinnedCarrierThreads;
+    private long pinnedDurationMs;
+
+    /**
+     * Start recording pinning events. If Flight Recorder is not available, the monitor
+     * stays inactive and reports zero.
+     */
+    public void start() {
+        try {
+            recording = new Recording();
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+        } catch (Exception | LinkageError e) {
+            LOGGER.warn("Unable to monitor virtual thread pinning: {}", e.getMessage());
+            recording = null;
+        }
+    }
+
+    /**
+     * Stop recording and summarize the pinning events that occurred since {@link #start()}.
+     */
+    public void stop() {
+        if (recording == null) {
+            return;
+        }
+        
+        Path dump = null;
+        try {
+            recording.stop();
+            dump = Files.createTempFile("eventelope-pinning", ".jfr");
+            recording.dump(dump);
+            
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            Set<Long> threads = new HashSet<>();
+            Set<Long> carriers = new HashSet<>();
+            List<RecordedEvent> pinnings = new ArrayList<>();
+            long totalNanos = 0;
+            for (RecordedEvent event : events) {
+                if (!PINNED_EVENT.equals(event.getEventType().getName())) {
+                    continue;
+                }
+                pinnedEvents++;
+                totalNanos += event.getDuration().toNanos();
+                if (event.getThread() != null) {
+                    threads.add(event.getThread().getJavaThreadId());
+                }
+                if (event.hasField(CARRIER_FIELD) && event.getValue(CARRIER_FIELD) != null) {
+                    carriers.add(((RecordedThread) event.getValue(CARRIER_FIELD)).getJavaThreadId());
+                }
+                pinnings.add(event);
+            }
+            pinnedThreads = threads.size();
+            pinnedCarrierThreads = carriers.isEmpty() ? peakConcurrentPinnings(pinnings) : carriers.size();
+            pinnedDurationMs = Duration.ofNanos(totalNanos).toMillis();
+        } catch (Exception e) {
+            LOGGER.warn("Unable to read virtual thread pinning events: {}", e.getMessage());
+        } finally {
+            close();
+            if (dump != null) {
+                dump.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Without the carrier in the events, count the most pinnings that overlapped in time: each of
+     * them held a different carrier, so that many carriers were pinned at once.
+     */
+    private static long peakConcurrentPinnings(List<RecordedEvent> pinnings) {
+        List<Instant[]> intervals = new ArrayList<>();
+        for (RecordedEvent pinning : pinnings) {
+            intervals.add(new Instant[] {pinning.getStartTime(), pinning.getEndTime()});
+        }
+        intervals.sort(Comparator.comparing(interval -> interval[0]));
+        PriorityQueue<Instant> ends = new PriorityQueue<>();
+        long peak = 0;
+        for (Instant[] interval : intervals) {
+            while (!ends.isEmpty() && !ends.peek().isAfter(interval[0])) {
+                ends.poll();
+            }
+            ends.add(interval[1]);
+            peak = Math.max(peak, ends.size());
+        }
+        return peak;
+    }
+
+    /**
+     * Get the number of pinning events recorded.
+     *
+     * @return The number of times a virtual thread blocked while pinned to its carrier
+     */
+    public long getPinnedEvents() {
+        return pinnedEvents;
+    }
+
+    /**
+     * Get the number of distinct virtual threads that were pinned at least once.
+     *
+     * @return The number of pinned threads
+     */
+    public long getPinnedThreads() {
+        return pinnedThreads;
+    }
+
+    /**
+     * Get the number of carrier threads that were pinned. Counted from the events where the JDK
+     * records the carrier, otherwise the most carriers that were pinned at the same time.
+     *
+     * @return The number of pinned carrier threads
+     */
+    public long getPinnedCarrierThreads() {
+        return pinnedCarrierThreads;
+    }
+
+    /**
+     * Get the total time virtual threads spent blocked while pinned.
+     *
+     * @return The pinned duration in milliseconds
+     */
+    public long getPinnedDurationMs() {
+        return pinnedDurationMs;
+    }
+
+    @Override
+    public void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.eventelope.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Suite-scoped memo of step outcomes, keyed by the exact request a step sends.
+ * The first test case to need a step executes it; test cases that need the same step while it
+ * is running wait for that execution instead of sending their own request. Outcomes expire
+ * after a time to live, after which the next test case executes the step again.
+ */
+class StepCache {
+    private final long ttlNanos;
+    private final Map<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create a step cache.
+     *
+     * @param ttl How long an outcome may be reused
+     */
+    StepCache(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Claim the execution of a step, or find the outcome of an earlier or running execution.
+     *
+     * @param key The cache key of the step
+     * @param pending A new, incomplete future to install if there is no usable entry
+     * @return The given future if the caller must execute the step and complete it,
+     *         otherwise the future of the execution to reuse
+     */
+    CompletableFuture<Entry> claim(String key, CompletableFuture<Entry> pending) {
+        CompletableFuture<Entry> claimed = entries.compute(key,
+            (k, existing) -> existing != null && isUsable(existing) ? existing : pending);
+        if (claimed == pending) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return claimed;
+    }
+
+    private boolean isUsable(CompletableFuture<Entry> future) {
+        if (!future.isDone()) {
+            // Still running: share it
+            return true;
+        }
+        if (future.isCompletedExceptionally()) {
+            return false;
+        }
+        return System.nanoTime() - future.join().createdNanos < ttlNanos;
+    }
+
+    /**
+     * Forget every outcome and the hit counts.
+     */
+    void clear() {
+        entries.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * The recorded outcome of one step execution.
+     */
+    static final class Entry {
+        private final boolean passed;
+        private final String executedStep;
+        private final List<String> failureMessages;
+        private final int statusCode;
+        private final String responseBody;
+        private final Map<String, Object> variables;
+        private final long createdNanos = System.nanoTime();
+
+        /**
+         * Record the outcome of a step that was executed into its own result.
+         *
+         * @param passed Whether the step passed
+         * @param stepResult The result the step was executed into
+         * @param variables The variables the step extracted, as TestStepVariable or plain values
+         */
+        Entry(boolean passed, TestResult stepResult, Map<String, Object> variables) {
+            this.passed = passed;
+            this.executedStep = stepResult.getExecutedSteps().isEmpty() ? null : stepResult.getExecutedSteps().get(0);
+            this.failureMessages = Collections.unmodifiableList(new ArrayList<>(stepResult.getFailureMessages()));
+            this.statusCode = stepResult.getStatusCode();
+            this.responseBody = stepResult.getResponseBody();
+            this.variables = Collections.unmodifiableMap(new LinkedHashMap<>(variables));
+        }
+
+        boolean isPassed() {
+            return passed;
+        }
+
+        String getExecutedStep() {
+            return executedStep;
+        }
+
+        List<String> getFailureMessages() {
+            return failureMessages;
+        }
+
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        String getResponseBody() {
+            return responseBody;
+        }
+
+        Map<String, Object> getVariables() {
+            return variables;
+        }
+
+    }
+}
@@ -0,0 +1,242 @@
+package com.eventelope.core;
+
+import com.eventelope.extraction.ExtractionDefinition;
+import com.eventelope.model.ApiRequest;
+import com.eventelope.model.ResponseVerifier;
+import com.eventelope.model.Step;
+import com.eventelope.model.WaitUntil;
+import com.eventelope.template.TemplateVariable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Dependency graph between the steps of one test section (preconditions, setup, execution or cleanup).
+ * A step depends on an earlier step when it reads a ${var} or {{var}} that the earlier step stores
+ * with an extraction, or when it overwrites a variable that an earlier step reads or writes.
+ * Steps that change server state (POST, PUT, PATCH, DELETE) keep their declared position:
+ * they wait for all earlier steps, and all later steps wait for them.
+ */
+public class StepDependencyGraph {
+    // Matches both ${variable} and {{variable}} references
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}|\\{\\{([^}]+)\\}\\}");
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final List<Step> steps;
+    private final List<Set<Integer>> dependencies;
+
+    private StepDependencyGraph(List<Step> steps, List<Set<Integer>> dependencies) {
+        this.steps = steps;
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Build the dependency graph for a list of steps.
+     *
+     * @param steps The steps in their declared order
+     * @return The dependency graph
+     */
+    public static StepDependencyGraph build(List<Step> steps) {
+        List<Set<Integer>> dependencies = new ArrayList<>();
+        Map<String, Integer> lastWriter = new HashMap<>();
+        Map<String, Set<Integer>> readersSinceWrite = new HashMap<>();
+        Integer lastBarrier = null;
+
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            Set<Integer> stepDependencies = new TreeSet<>();
+
+            if (isBarrier(step)) {
+                for (int j = 0; j < i; j++) {
+                    stepDependencies.add(j);
+                }
+            } else if (lastBarrier != null) {
+                stepDependencies.add(lastBarrier);
+            }
+
+            Set<String> reads = readVariables(step);
+            Set<String> writes = writtenVariables(step);
+
+            // Read after write: wait for the step that produces the value
+            for (String variable : reads) {
+                Integer writer = lastWriter.get(variable);
+                if (writer != null) {
+                    stepDependencies.add(writer);
+                }
+            }
+
+            // Write after read/write: don't overwrite a value an earlier step still needs
+            for (String variable : writes) {
+                Integer writer = lastWriter.get(variable);
+                if (writer != null) {
+                    stepDependencies.add(writer);
+                }
+                stepDependencies.addAll(readersSinceWrite.getOrDefault(variable, Set.of()));
+            }
+
+            for (String variable : reads) {
+                readersSinceWrite.computeIfAbsent(variable, k -> new HashSet<>()).add(i);
+            }
+            for (String variable : writes) {
+                lastWriter.put(variable, i);
+                readersSinceWrite.remove(variable);
+            }
+            if (isBarrier(step)) {
+                lastBarrier = i;
+            }
+
+            stepDependencies.remove(i);
+            dependencies.add(stepDependencies);
+        }
+
+        return new StepDependencyGraph(steps, dependencies);
+    }
+
+    /**
+     * Get the indexes of the steps that must finish before the given step starts.
+     *
+     * @param index The index of the step
+     * @return The indexes of its dependencies, in ascending order
+     */
+    public Set<Integer> getDependencies(int index) {
+        return dependencies.get(index);
+    }
+
+    public int size() {
+        return steps.size();
+    }
+
+    public Step getStep(int index) {
+        return steps.get(index);
+    }
+
+    /**
+     * Check if any step can run alongside another one.
+     *
+     * @return true if the graph is a plain chain, meaning concurrent scheduling gains nothing
+     */
+    public boolean isSequential() {
+        for (int i = 1; i < dependencies.size(); i++) {
+            if (!dependencies.get(i).contains(i - 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determine whether a step must keep its declared position relative to all other steps.
+     */
+    private static boolean isBarrier(Step step) {
+        ApiRequest request = step.getRequest();
+        return request != null && request.getMethod() != null && !isSafeMethod(request.getMethod());
+    }
+
+    /**
+     * Check if an HTTP method only reads, so that its requests can be reordered or shared.
+     *
+     * @param method The HTTP method in upper case
+     * @return true for GET, HEAD and OPTIONS
+     */
+    static boolean isSafeMethod(String method) {
+        return method != null && SAFE_METHODS.contains(method);
+    }
+
+    /**
+     * Collect the context variables a step reads: its condition, endpoint, headers, payload
+     * and the expected values in its verification criteria.
+     */
+    static Set<String> readVariables(Step step) {
+        Set<String> variables = new HashSet<>();
+        Set<String> templateReferences = new HashSet<>();
+        collectReferences(step.getCondition(), variables, templateReferences);
+
+        ApiRequest request = step.getRequest();
+        if (request != null) {
+            collectReferences(request.getEndpoint(), variables, templateReferences);
+            if (request.getHeaders() != null) {
+                for (String value : request.getHeaders().values()) {
+                    collectReferences(value, variables, templateReferences);
+                }
+            }
+            collectReferences(request.getPayload(), variables, templateReferences);
+
+            // {{var}} references with an explicit template value don't come from the context
+            for (TemplateVariable templateVariable : request.getTemplateVariables()) {
+                if (templateVariable.getValue() != null) {
+                    templateReferences.remove(templateVariable.getName());
+                }
+            }
+        }
+
+        ResponseVerifier verifier = step.getVerify();
+        if (verifier != null) {
+            if (verifier.getHeaders() != null) {
+                for (String value : verifier.getHeaders().values()) {
+                    collectReferences(value, variables, templateReferences);
+                }
+            }
+            collectAssertionReferences(verifier.getJsonPathAssertions(), variables, templateReferences);
+        }
+
+        WaitUntil waitUntil = step.getWaitUntil();
+        if (waitUntil != null) {
+            collectReferences(waitUntil.getCondition(), variables, templateReferences);
+            collectAssertionReferences(waitUntil.getJsonPathAssertions(), variables, templateReferences);
+        }
+
+        variables.addAll(templateReferences);
+        return variables;
+    }
+
+    private static void collectAssertionReferences(List<Map<String, Object>> assertions, Set<String> variables,
+                                                   Set<String> templateReferences) {
+        if (assertions == null) {
+            return;
+        }
+        for (Map<String, Object> assertion : assertions) {
+            for (Object value : assertion.values()) {
+                if (value instanceof String) {
+                    collectReferences((String) value, variables, templateReferences);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect the context variables a step writes through its extractions.
+     */
+    static Set<String> writtenVariables(Step step) {
+        Set<String> variables = new HashSet<>();
+        ResponseVerifier verifier = step.getVerify();
+        if (verifier != null && verifier.getExtractions() != null) {
+            for (ExtractionDefinition extraction : verifier.getExtractions()) {
+                if (extraction.getStoreTo() != null) {
+                    variables.add(extraction.getStoreTo());
+                }
+            }
+        }
+        return variables;
+    }
+
+    private static void collectReferences(String text, Set<String> variables, Set<String> templateReferences) {
+        if (text == null) {
+            return;
+        }
+        Matcher matcher = VARIABLE_PATTERN.matcher(text);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                variables.add(matcher.group(1));
+            } else {
+                templateReferences.add(matcher.group(2));
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.eventelope.core;
+
+import java.io.Serializable;
+
+/**
+ * Outcome and timing of a single executed step within a test result.
+ */
+public class StepResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String stepName;
+    private final String service;
+    private final boolean passed;
+    private final boolean skipped;
+    private final int retries;
+    private final long durationNanos;
+
+    public StepResult(String stepName, String service, boolean passed, boolean skipped, int retries, long durationNanos) {
+        this.stepName = stepName;
+        this.service = service;
+        this.passed = passed;
+        this.skipped = skipped;
+        this.retries = retries;
+        this.durationNanos = durationNanos;
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    /**
+     * Check if the step was skipped because its condition evaluated to false.
+     *
+     * @return true if the step was conditionally skipped
+     */
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Get the number of retries performed after the first attempt.
+     *
+     * @return The number of retries
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * Get the wall-clock time of the step including all retry attempts and waits.
+     *
+     * @return The step duration in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "StepResult{" +
+                "stepName='" + stepName + '\'' +
+                ", passed=" + passed +
+                ", skipped=" + skipped +
+                ", retries=" + retries +
+                ", durationMs=" + durationNanos / 1_000_000 +
+                '}';
+    }
+}
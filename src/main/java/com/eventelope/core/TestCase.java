@@ -4,13 +4,19 @@ import com.eventelope.model.ApiRequest;
 import com.eventelope.model.ResponseVerifier;
 import com.eventelope.model.Step;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents a complete test case with a structured format including preconditions, setup, execution, and cleanup steps.
  */
-public class TestCase {
+public class TestCase implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String name;
     private String description;
     private List<Step> preconditions;
@@ -86,6 +92,26 @@ public class TestCase {
         this.filePath = filePath;
     }
 
+    /**
+     * Get the files the "file:" payloads of this test case's steps were loaded from.
+     *
+     * @return The payload file paths, without duplicates
+     */
+    public Set<String> getPayloadFiles() {
+        Set<String> files = new LinkedHashSet<>();
+        for (List<Step> section : Arrays.asList(preconditions, setup, execution, cleanup)) {
+            if (section == null) {
+                continue;
+            }
+            for (Step step : section) {
+                if (step.getRequest() != null && step.getRequest().getPayloadFile() != null) {
+                    files.add(step.getRequest().getPayloadFile());
+                }
+            }
+        }
+        return files;
+    }
+
     // For backward compatibility
     public String getTestName() {
         return name;
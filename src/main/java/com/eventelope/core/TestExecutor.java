@@ -4,18 +4,54 @@ import com.eventelope.assertion.AssertionProcessor;
 import com.eventelope.condition.ConditionEvaluator;
 import com.eventelope.context.TestContext;
 import com.eventelope.context.TestStepVariable;
+import com.eventelope.extraction.ExtractionDefinition;
 import com.eventelope.extraction.ResponseExtractor;
+import com.eventelope.http.CassetteTransport;
+import com.eventelope.http.ConnectionPrewarmer;
+import com.eventelope.http.HttpTransport;
+import com.eventelope.http.RequestTiming;
 import com.eventelope.http.RestClient;
+import com.eventelope.http.TransportStats;
+import com.eventelope.http.WireLog;
 import com.eventelope.model.ApiRequest;
 import com.eventelope.model.ResponseVerifier;
+import com.eventelope.model.RetryPolicy;
 import com.eventelope.model.Step;
+import com.eventelope.model.WaitUntil;
+import com.eventelope.resilience.CircuitOpenException;
+import com.eventelope.resilience.RetryBudgets;
+import com.eventelope.scheduling.DurationEstimator;
+import com.eventelope.scheduling.TimingHistory;
 import io.restassured.response.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Executes test cases and returns results.
@@ -27,277 +63,1342 @@ public class TestExecutor {
     private final AssertionProcessor assertionProcessor;
     private final ResponseExtractor responseExtractor;
     private final ConditionEvaluator conditionEvaluator;
+    private final ExecutionOptions options;
+    // Runs steps of the dependency-graph scheduler; separate from the test case workers to avoid starvation
+    private final ExecutorService stepPool;
+    // Limits retries per service to a fraction of successful requests; null when no budget is configured
+    private final RetryBudgets retryBudgets;
+    // Shares outcomes of identical cacheable steps between the test cases of a suite
+    private final StepCache stepCache;
+    // Runs cleanup sections in the background; null when cleanup runs as part of each test case
+    private final CleanupQueue cleanupQueue;
+    // Outcomes of queued cleanups by the result of their test case, combined with it once drained
+    private final Map<TestResult, TestResult> cleanupOutcomes = Collections.synchronizedMap(new IdentityHashMap<>());
+    private PinnedThreadMonitor lastPinningMonitor;
+    // Connection pools warmed up by earlier runs, so that daemon and watch reruns only warm cold ones
+    private final Map<String, Long> warmPools = new ConcurrentHashMap<>();
+    private volatile ConnectionPrewarmer lastPrewarmer;
+    
+    // Fires retry waits; its threads only hand continuations back to an executor
+    private static final ScheduledExecutorService RETRY_TIMER = WorkerPools.newScheduledPool(1, "eventelope-retry");
+    // Resumes steps after a retry wait when the caller blocks on the result instead of using a worker pool
+    private static final Execution BLOCKING_CALLER = new Execution(
+        WorkerPools.newCachedPool("eventelope-continuation"), null);
+    // How long the end of a run waits for the wire log to be written
+    private static final long WIRE_LOG_FLUSH_TIMEOUT_MS = 5000;
+    // Longest Retry-After that is honoured, so a misbehaving server can't park a step indefinitely
+    private static final long MAX_RETRY_AFTER_MS = TimeUnit.MINUTES.toMillis(5);
 
     public TestExecutor() {
-        this.restClient = new RestClient();
+        this(new ExecutionOptions());
+    }
+    
+    public TestExecutor(int parallelism) {
+        this(optionsWithParallelism(parallelism));
+    }
+
+    /**
+     * Create an executor with the given scheduling options.
+     * The RestClient, AssertionProcessor and ResponseExtractor are shared between workers,
+     * while every test case gets its own TestContext and TestResult.
+     *
+     * @param options The execution options
+     */
+    public TestExecutor(ExecutionOptions options) {
+        this.restClient = new RestClient(createTransport(options), new WireLog(options.getWireLogPolicy()));
         this.assertionProcessor = new AssertionProcessor();
         this.responseExtractor = new ResponseExtractor();
         this.conditionEvaluator = new ConditionEvaluator();
+        this.options = options;
+        if (options.isConcurrentSteps()) {
+            this.stepPool = options.isVirtualThreads()
+                ? WorkerPools.newVirtualThreadPool(options.getStepParallelism(), "eventelope-step")
+                : WorkerPools.newPlatformPool(options.getStepParallelism(), "eventelope-step");
+        } else {
+            this.stepPool = null;
+        }
+        this.retryBudgets = options.isRetryBudgetEnabled()
+            ? new RetryBudgets(options.getRetryBudgetRatio(), options.getRetryBudgetBurst())
+            : null;
+        this.stepCache = new StepCache(options.getStepCacheTtl());
+        this.cleanupQueue = options.isAsyncCleanup() ? new CleanupQueue(options.getCleanupParallelism()) : null;
+    }
+    
+    private static ExecutionOptions optionsWithParallelism(int parallelism) {
+        ExecutionOptions options = new ExecutionOptions();
+        options.setParallelism(parallelism);
+        return options;
+    }
+
+    /**
+     * Create the HTTP transport of the options, wrapped to record or replay a cassette if requested.
+     * Replaying needs no real transport, since nothing is sent.
+     */
+    private static HttpTransport createTransport(ExecutionOptions options) {
+        if (CassetteTransport.REPLAY.equals(options.getCassetteMode())) {
+            return CassetteTransport.replay(Paths.get(options.getCassetteFile()));
+        }
+        HttpTransport transport = HttpTransport.create(options.getTransport());
+        if (CassetteTransport.RECORD.equals(options.getCassetteMode())) {
+            return CassetteTransport.record(transport, Paths.get(options.getCassetteFile()));
+        }
+        return transport;
+    }
+
+    public ExecutionOptions getOptions() {
+        return options;
+    }
+    
+    /**
+     * Get the virtual thread pinning statistics of the most recent {@link #executeTests(List)} call.
+     *
+     * @return The stopped pinning monitor, or null if the last run did not use virtual threads
+     */
+    public PinnedThreadMonitor getLastPinningMonitor() {
+        return lastPinningMonitor;
+    }
+
+    /**
+     * Get the suite-wide retry budgets.
+     *
+     * @return The retry budgets, or null if retries are not budgeted
+     */
+    public RetryBudgets getRetryBudgets() {
+        return retryBudgets;
+    }
+
+    /**
+     * Get the statistics of the HTTP transport requests are sent through.
+     *
+     * @return The transport statistics
+     */
+    public TransportStats getTransportStats() {
+        return restClient.getTransport().getStats();
     }
 
     /**
      * Execute a single test case and return the result.
+     * Retry waits do not occupy a thread, but this method blocks the caller until the test is done.
+     * With asynchronous cleanup, it also waits for the queued cleanups, so the result is complete.
      *
      * @param testCase The test case to execute
      * @return The test result
      */
     public TestResult executeTest(TestCase testCase) {
+        TestResult result = executeTestAsync(testCase, BLOCKING_CALLER).join();
+        drainCleanup();
+        return withCleanupOutcome(result);
+    }
+    
+    /**
+     * Execute a single test case as a chain of asynchronous stages.
+     * The returned future always completes normally; unexpected exceptions are recorded as failures.
+     *
+     * @param testCase The test case to execute
+     * @param execution Where to resume after retry waits
+     * @return The pending test result
+     */
+    private CompletableFuture<TestResult> executeTestAsync(TestCase testCase, Execution execution) {
         LOGGER.info("Executing test: {}", testCase.getName());
 
         TestResult result = new TestResult(testCase);
         result.setPassed(true); // Assume passed until a failure occurs
+        long startTime = System.currentTimeMillis();
         
         // Create a test context for sharing variables between steps
         TestContext testContext = new TestContext();
         
+        CompletableFuture<Boolean> chain;
         try {
-            // Execute preconditions if they exist
-            if (!testCase.getPreconditions().isEmpty()) {
-                LOGGER.info("Executing preconditions for test: {}", testCase.getName());
-                boolean preconditionsPass = executeSteps(testCase.getPreconditions(), result, testContext);
-                if (!preconditionsPass) {
-                    LOGGER.error("Preconditions failed for test: {}", testCase.getName());
-                    result.setPassed(false);
-                    return result;
-                }
-            }
-            
-            // Execute setup steps if they exist
-            if (!testCase.getSetup().isEmpty()) {
-                LOGGER.info("Executing setup for test: {}", testCase.getName());
-                boolean setupPass = executeSteps(testCase.getSetup(), result, testContext);
-                if (!setupPass) {
-                    LOGGER.error("Setup failed for test: {}", testCase.getName());
-                    result.setPassed(false);
-                    return result;
-                }
+            // Execute preconditions and setup if they exist, stopping at the first failing section
+            chain = executeSection("preconditions", testCase.getPreconditions(), testCase, result, testContext, execution)
+                .thenCompose(passed -> passed
+                    ? executeSection("setup", testCase.getSetup(), testCase, result, testContext, execution)
+                    : CompletableFuture.completedFuture(false))
+                .thenCompose(passed -> passed
+                    ? executeMainAndCleanup(testCase, result, testContext, execution)
+                    : CompletableFuture.completedFuture(false));
+        } catch (Exception e) {
+            chain = CompletableFuture.failedFuture(e);
+        }
+        
+        return chain.handle((ignored, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                result.setPassed(false);
+                result.addFailureMessage("Exception occurred: " + cause.getMessage());
+                LOGGER.error("Error executing test: " + testCase.getName(), cause);
             }
-            
-            // Execute main execution steps (mandatory)
-            LOGGER.info("Executing main steps for test: {}", testCase.getName());
-            boolean executionPass = executeSteps(testCase.getExecution(), result, testContext);
-            if (!executionPass) {
-                LOGGER.error("Execution failed for test: {}", testCase.getName());
+            result.setExecutionDurationMs(System.currentTimeMillis() - startTime);
+            return result;
+        });
+    }
+    
+    /**
+     * Execute an optional section (preconditions or setup) that must pass before the test continues.
+     *
+     * @param section Name of the section for logging
+     * @param steps Steps of the section
+     * @param testCase The test case being executed
+     * @param result The test result to update
+     * @param context The test context
+     * @param execution Where to resume after retry waits
+     * @return Future completing with true if the section passed or is empty
+     */
+    private CompletableFuture<Boolean> executeSection(String section, List<Step> steps, TestCase testCase,
+                                                      TestResult result, TestContext context, Execution execution) {
+        if (steps.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        LOGGER.info("Executing {} for test: {}", section, testCase.getName());
+        return executeStepsAsync(steps, result, context, execution, true).thenApply(passed -> {
+            if (!passed) {
+                LOGGER.error("{} failed for test: {}", 
+                    Character.toUpperCase(section.charAt(0)) + section.substring(1), testCase.getName());
                 result.setPassed(false);
             }
-            
-            // Execute cleanup steps if they exist (always run, even if previous steps failed)
-            if (!testCase.getCleanup().isEmpty()) {
+            return passed;
+        });
+    }
+    
+    /**
+     * Execute the main steps, then the cleanup steps, and store the context variables in the result.
+     *
+     * @param testCase The test case being executed
+     * @param result The test result to update
+     * @param testContext The test context
+     * @param execution Where to resume after retry waits
+     * @return Future completing with whether the test passed
+     */
+    private CompletableFuture<Boolean> executeMainAndCleanup(TestCase testCase, TestResult result,
+                                                             TestContext testContext, Execution execution) {
+        // Execute main execution steps (mandatory)
+        LOGGER.info("Executing main steps for test: {}", testCase.getName());
+        return executeStepsAsync(testCase.getExecution(), result, testContext, execution, false)
+            .thenCompose(executionPass -> {
+                if (!executionPass) {
+                    LOGGER.error("Execution failed for test: {}", testCase.getName());
+                    result.setPassed(false);
+                }
+                
+                // Execute cleanup steps if they exist (always run, even if previous steps failed)
+                if (testCase.getCleanup().isEmpty()) {
+                    return CompletableFuture.completedFuture(true);
+                }
+                if (cleanupQueue != null) {
+                    LOGGER.info("Queueing cleanup for test: {}", testCase.getName());
+                    cleanupQueue.submit(testCase.getName(), () -> executeQueuedCleanup(testCase, result, testContext));
+                    return CompletableFuture.completedFuture(true);
+                }
                 LOGGER.info("Executing cleanup for test: {}", testCase.getName());
-                boolean cleanupPass = executeSteps(testCase.getCleanup(), result, testContext);
+                return executeStepsAsync(testCase.getCleanup(), result, testContext, execution, false)
+                    .thenApply(cleanupPass -> {
+                        if (!cleanupPass) {
+                            LOGGER.warn("Cleanup had issues for test: {}", testCase.getName());
+                            // Don't fail the test just because cleanup had issues
+                        }
+                        return cleanupPass;
+                    });
+            })
+            .thenApply(ignored -> {
+                if (result.isPassed()) {
+                    LOGGER.info("Test passed: {}", testCase.getName());
+                } else {
+                    LOGGER.info("Test failed: {} - Failures: {}", 
+                        testCase.getName(), 
+                        String.join(", ", result.getFailureMessages()));
+                }
+                
+                // Store variables from test context in result for reporting
+                result.setVariables(testContext.getAllVariables());
+                
+                // Store variable tracking information
+                if (!testContext.getAllVariablesWithTracking().isEmpty()) {
+                    for (Map.Entry<String, TestStepVariable> entry : testContext.getAllVariablesWithTracking().entrySet()) {
+                        result.addVariableTracking(entry.getKey(), entry.getValue());
+                    }
+                }
+                return result.isPassed();
+            });
+    }
+    
+    /**
+     * Execute the cleanup steps of a test case from the cleanup queue. Their outcome is kept apart
+     * from the test's result, which may already have been reported, until the cleanups are drained.
+     *
+     * @param testCase The test case
+     * @param result The result of the test case
+     * @param testContext The context of the test case
+     * @return Future completing when the cleanup steps are done
+     */
+    private CompletableFuture<Void> executeQueuedCleanup(TestCase testCase, TestResult result,
+                                                         TestContext testContext) {
+        LOGGER.info("Executing cleanup for test: {}", testCase.getName());
+        TestResult cleanupResult = new TestResult(testCase);
+        return executeStepsAsync(testCase.getCleanup(), cleanupResult, testContext, BLOCKING_CALLER, false)
+            .thenAccept(cleanupPass -> {
+                cleanupOutcomes.put(result, cleanupResult);
                 if (!cleanupPass) {
                     LOGGER.warn("Cleanup had issues for test: {}", testCase.getName());
-                    // Don't fail the test just because cleanup had issues
                 }
+            });
+    }
+    
+    /**
+     * Execute a list of steps and return whether all steps passed.
+     * Used for each section of a test case, and by the load test runner to repeat a section.
+     *
+     * @param steps List of steps to execute
+     * @param result The test result to update
+     * @param context The test context for storing and retrieving variables
+     * @return true if all steps passed, false otherwise
+     */
+    public boolean executeSteps(List<Step> steps, TestResult result, TestContext context) {
+        try {
+            return executeStepsAsync(steps, result, context, BLOCKING_CALLER, false).join();
+        } catch (CompletionException e) {
+            LOGGER.error("Error executing steps", e.getCause());
+            result.addFailureMessage("Exception occurred: " + e.getCause().getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Execute a list of steps, one after another or following the dependency graph
+     * when concurrent step execution is enabled.
+     *
+     * @param steps List of steps to execute
+     * @param result The test result to update
+     * @param context The test context for storing and retrieving variables
+     * @param execution Where to resume after retry waits
+     * @param cacheSection Whether the section is preconditions or setup, whose steps may be shared through the step cache
+     * @return Future completing with true if all steps passed
+     */
+    private CompletableFuture<Boolean> executeStepsAsync(List<Step> steps, TestResult result, TestContext context,
+                                                         Execution execution, boolean cacheSection) {
+        if (stepPool != null && steps.size() > 1) {
+            StepDependencyGraph graph = StepDependencyGraph.build(steps);
+            if (!graph.isSequential()) {
+                return executeStepsConcurrently(graph, result, context, execution, cacheSection);
             }
+        }
+        
+        CompletableFuture<Boolean> allPassed = CompletableFuture.completedFuture(true);
+        
+        for (Step step : steps) {
+            allPassed = allPassed.thenCompose(passedSoFar -> 
+                executeStepAsync(step, result, context, execution, cacheSection)
+                    .thenApply(stepPassed -> passedSoFar && stepPassed));
+        }
+        
+        return allPassed;
+    }
+    
+    /**
+     * Execute the steps of a section as soon as the steps they depend on have finished.
+     * Like sequential execution, a failed step does not stop later steps from running.
+     *
+     * @param graph The dependency graph of the section
+     * @param result The test result to update
+     * @param context The test context for storing and retrieving variables
+     * @param execution Where to resume after retry waits
+     * @param cacheSection Whether the section is preconditions or setup, whose steps may be shared through the step cache
+     * @return Future completing with true if all steps passed
+     */
+    private CompletableFuture<Boolean> executeStepsConcurrently(StepDependencyGraph graph, TestResult result,
+                                                                TestContext context, Execution execution,
+                                                                boolean cacheSection) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        // The test keeps its permit through retry waits while other steps of the section are unfinished
+        execution.stepsScheduled(graph.size());
+        
+        for (int i = 0; i < graph.size(); i++) {
+            Step step = graph.getStep(i);
+            CompletableFuture<?>[] dependencies = graph.getDependencies(i).stream()
+                .map(futures::get)
+                .toArray(CompletableFuture[]::new);
             
-            if (result.isPassed()) {
-                LOGGER.info("Test passed: {}", testCase.getName());
-            } else {
-                LOGGER.info("Test failed: {} - Failures: {}", 
-                    testCase.getName(), 
-                    String.join(", ", result.getFailureMessages()));
-            }
-            
-            // Store variables from test context in result for reporting
-            result.setVariables(testContext.getAllVariables());
-            
-            // Store variable tracking information
-            if (!testContext.getAllVariablesWithTracking().isEmpty()) {
-                for (Map.Entry<String, TestStepVariable> entry : testContext.getAllVariablesWithTracking().entrySet()) {
-                    result.addVariableTracking(entry.getKey(), entry.getValue());
+            futures.add(CompletableFuture.allOf(dependencies)
+                .handle((ignored, error) -> null)
+                .thenComposeAsync(ignored -> executeStepAsync(step, result, context, execution, cacheSection),
+                    stepPool)
+                .whenComplete((passed, error) -> execution.stepFinished()));
+        }
+        
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .handle((ignored, error) -> {
+                boolean allPassed = true;
+                for (CompletableFuture<Boolean> future : futures) {
+                    try {
+                        if (!future.join()) {
+                            allPassed = false;
+                        }
+                    } catch (CompletionException e) {
+                        LOGGER.error("Error executing step concurrently", e.getCause());
+                        result.addFailureMessage("Exception occurred: " + e.getCause().getMessage());
+                        allPassed = false;
+                    }
                 }
+                return allPassed;
+            });
+    }
+    
+    /**
+     * Execute a single step, including condition evaluation, retries, assertions and extractions.
+     * Attempts run on the calling thread; waits between attempts are scheduled on a timer,
+     * so no thread is held while a step waits to be retried.
+     *
+     * @param step The step to execute
+     * @param result The test result to update
+     * @param context The test context for storing and retrieving variables
+     * @param execution Where to resume after retry waits
+     * @param cacheSection Whether the step belongs to preconditions or setup, whose steps may be shared through the step cache
+     * @return Future completing with true if the step passed or was skipped, false otherwise
+     */
+    private CompletableFuture<Boolean> executeStepAsync(Step step, TestResult result, TestContext context,
+                                                        Execution execution, boolean cacheSection) {
+        // Check if the step has a condition that needs to be evaluated
+        if (step.hasCondition()) {
+            boolean conditionResult = conditionEvaluator.evaluateCondition(step.getCondition(), context);
+            if (!conditionResult) {
+                LOGGER.info("Skipping step '{}' as condition '{}' evaluated to false", 
+                    step.getName(), step.getCondition());
+                // Add to executed steps but mark as conditionally skipped
+                result.addExecutedStep(step.getName() + " (conditionally skipped)");
+                result.addStepResult(new StepResult(step.getName(), step.getService(), true, true, 0, 0));
+                return CompletableFuture.completedFuture(true);
             }
-            
+            LOGGER.debug("Condition '{}' evaluated to true, executing step '{}'", 
+                step.getCondition(), step.getName());
+        }
+        
+        ApiRequest request = step.getRequest();
+        if (request == null) {
+            LOGGER.info("Executing step: {}", step.getName());
+            LOGGER.warn("Step '{}' has no request defined, skipping", step.getName());
+            return CompletableFuture.completedFuture(true);
+        }
+        
+        // Only safe requests are shared implicitly; a step that creates a resource must be marked cacheable
+        if (cacheSection && (step.isCacheable() 
+                || (options.isCachePreconditions() && StepDependencyGraph.isSafeMethod(request.getMethod())))) {
+            return executeCachedStepAsync(step, result, context, execution);
+        }
+        return executeRequestStepAsync(step, result, context, execution);
+    }
+    
+    /**
+     * Execute the request of a step with its retries.
+     *
+     * @param step The step to execute
+     * @param result The test result to update
+     * @param context The test context for storing and retrieving variables
+     * @param execution Where to resume after retry waits
+     * @return Future completing with true if the step passed, false otherwise
+     */
+    private CompletableFuture<Boolean> executeRequestStepAsync(Step step, TestResult result, TestContext context,
+                                                               Execution execution) {
+        LOGGER.info("Executing step: {}", step.getName());
+        
+        StepAttempt attempt = new StepAttempt(step, result, context, execution);
+        try {
+            return step.getWaitUntil() != null ? runPoll(attempt) : runAttempt(attempt);
         } catch (Exception e) {
-            result.setPassed(false);
-            result.addFailureMessage("Exception occurred: " + e.getMessage());
-            LOGGER.error("Error executing test: " + testCase.getName(), e);
+            return CompletableFuture.completedFuture(failWithException(attempt, e));
         }
-
-        return result;
     }
     
     /**
-     * Execute a list of steps and return whether all steps passed.
+     * Execute a step through the suite's step cache. If another test case already executed the same
+     * request, or is executing it right now, its outcome and extracted variables are reused.
      *
-     * @param steps List of steps to execute
+     * @param step The step to execute
      * @param result The test result to update
      * @param context The test context for storing and retrieving variables
-     * @return true if all steps passed, false otherwise
+     * @param execution Where to resume after retry waits
+     * @return Future completing with true if the step passed, false otherwise
      */
-    private boolean executeSteps(List<Step> steps, TestResult result, TestContext context) {
-        boolean allPassed = true;
+    private CompletableFuture<Boolean> executeCachedStepAsync(Step step, TestResult result, TestContext context,
+                                                              Execution execution) {
+        String key;
+        try {
+            key = stepCacheKey(step, context);
+        } catch (Exception e) {
+            // Let the normal execution report the problem
+            return executeRequestStepAsync(step, result, context, execution);
+        }
         
-        for (Step step : steps) {
-            // Check if the step has a condition that needs to be evaluated
-            if (step.hasCondition()) {
-                boolean conditionResult = conditionEvaluator.evaluateCondition(step.getCondition(), context);
-                if (!conditionResult) {
-                    LOGGER.info("Skipping step '{}' as condition '{}' evaluated to false", 
-                        step.getName(), step.getCondition());
-                    // Add to executed steps but mark as conditionally skipped
-                    result.addExecutedStep(step.getName() + " (conditionally skipped)");
-                    continue;
+        CompletableFuture<StepCache.Entry> pending = new CompletableFuture<>();
+        CompletableFuture<StepCache.Entry> claimed = stepCache.claim(key, pending);
+        if (claimed != pending) {
+            LOGGER.info("Reusing cached outcome of step '{}'", step.getName());
+            return claimed.thenApply(entry -> applyCachedStep(entry, step, result, context));
+        }
+        
+        // Execute into a separate result so that exactly this step's outcome can be recorded
+        TestResult stepResult = new TestResult(result.getTestCase());
+        return executeRequestStepAsync(step, stepResult, context, execution).whenComplete((passed, error) -> {
+            result.mergeStepOutcome(stepResult);
+            if (error != null) {
+                pending.completeExceptionally(error);
+                return;
+            }
+            Map<String, Object> variables = new LinkedHashMap<>();
+            ResponseVerifier verifier = step.getVerify();
+            if (verifier != null && verifier.getExtractions() != null) {
+                for (ExtractionDefinition extraction : verifier.getExtractions()) {
+                    TestStepVariable tracked = context.getVariableWithTracking(extraction.getStoreTo());
+                    Object value = tracked != null ? tracked : context.getVariable(extraction.getStoreTo());
+                    if (value != null) {
+                        variables.put(extraction.getStoreTo(), value);
+                    }
+                }
+            }
+            pending.complete(new StepCache.Entry(passed, stepResult, variables));
+        });
+    }
+    
+    /**
+     * Record a cached step outcome in a test result and store its extracted variables.
+     *
+     * @param entry The cached outcome
+     * @param step The step
+     * @param result The test result to update
+     * @param context The test context to store the variables in
+     * @return Whether the cached step passed
+     */
+    private boolean applyCachedStep(StepCache.Entry entry, Step step, TestResult result, TestContext context) {
+        entry.getVariables().forEach(context::setVariable);
+        for (String failure : entry.getFailureMessages()) {
+            result.addFailureMessage(failure);
+        }
+        if (entry.getExecutedStep() != null) {
+            result.addExecutedStep(entry.getExecutedStep() + " (cached)");
+        }
+        if (entry.getResponseBody() != null) {
+            result.setResponseBody(entry.getResponseBody());
+            result.setStatusCode(entry.getStatusCode());
+        }
+        result.addStepResult(new StepResult(step.getName(), step.getService(), entry.isPassed(), false, 0, 0));
+        return entry.isPassed();
+    }
+    
+    /**
+     * Build the step cache key: the exact request, what the step verifies and extracts, and the values
+     * of all variables it reads, so steps only share an outcome when they would behave identically.
+     *
+     * @param step The step
+     * @param context The test context
+     * @return The cache key
+     */
+    private String stepCacheKey(Step step, TestContext context) {
+        StringBuilder key = new StringBuilder(restClient.resolveRequest(step.getRequest(), context, step.getService()).identityKey());
+        key.append("\n--\n");
+        ResponseVerifier verifier = step.getVerify();
+        if (verifier != null) {
+            key.append("status=").append(verifier.getStatusCode()).append('\n');
+            key.append("headers=").append(new TreeMap<>(verifier.getHeaders())).append('\n');
+            key.append("jsonPath=").append(verifier.getJsonPathAssertions()).append('\n');
+            if (verifier.getExtractions() != null) {
+                for (ExtractionDefinition extraction : verifier.getExtractions()) {
+                    key.append("extract=").append(extraction.getFrom()).append("->")
+                        .append(extraction.getStoreTo()).append('\n');
                 }
-                LOGGER.debug("Condition '{}' evaluated to true, executing step '{}'", 
-                    step.getCondition(), step.getName());
             }
+        }
+        for (String variable : new TreeSet<>(StepDependencyGraph.readVariables(step))) {
+            key.append("var ").append(variable).append('=').append(context.getVariable(variable)).append('\n');
+        }
+        key.append("retry=").append(step.getEffectiveRetryPolicy());
+        return key.toString();
+    }
+    
+    /**
+     * Run one attempt of a step and, if it failed and the retry policy allows it,
+     * schedule the next attempt.
+     *
+     * @param attempt The state of the step execution
+     * @return Future completing with whether the step passed
+     */
+    private CompletableFuture<Boolean> runAttempt(StepAttempt attempt) {
+        RequestTiming timing = new RequestTiming();
+        long attemptStart = System.nanoTime();
+        // Execute the request with the test context for variable substitution
+        return sendRequest(attempt, timing)
+            .handle((response, error) -> {
+                recordAttemptLatency(attempt, System.nanoTime() - attemptStart, timing);
+                return completeAttempt(attempt, response, asException(error));
+            })
+            .thenCompose(next -> next);
+    }
+    
+    /**
+     * Check the response of an attempt and decide whether the step passed, failed or is retried.
+     *
+     * @param attempt The state of the step execution
+     * @param response The response of the attempt, or null if the request failed
+     * @param error The error of the request, or null if it got a response
+     * @return Future completing with whether the step passed
+     */
+    private CompletableFuture<Boolean> completeAttempt(StepAttempt attempt, Response response, Exception error) {
+        Step step = attempt.step;
+        RetryPolicy policy = attempt.policy;
+        TestResult result = attempt.result;
+        List<String> assertionFailures = new ArrayList<>();
+        Exception failure = null;
+        long retryAfter = -1;
+        
+        try {
+            if (error != null) {
+                throw error;
+            }
+            attempt.lastResponse = response;
+            String responseBody = response.getBody().asString();
             
-            LOGGER.info("Executing step: {}", step.getName());
+            // Store the most recent response in the result
+            result.setResponse(response);
+            result.setResponseBody(responseBody);
+            result.setResponseHeaders(response.getHeaders().asList());
+            result.setStatusCode(response.getStatusCode());
+            
+            // Process assertions
+            ResponseVerifier verifier = step.getVerify();
+            if (verifier == null) {
+                // No verification criteria means the step passes automatically
+                LOGGER.warn("Step '{}' has no verification criteria defined", step.getName());
+                return CompletableFuture.completedFuture(pass(attempt, responseBody));
+            }
             
+            // Verify assertions with variable substitution via context
+            assertionFailures = assertionProcessor.verifyResponse(response, verifier, attempt.context);
+            if (assertionFailures.isEmpty()) {
+                return CompletableFuture.completedFuture(pass(attempt, responseBody));
+            }
+            if (!policy.isRetryableStatus(response.getStatusCode())) {
+                LOGGER.debug("Step '{}' failed with status {}, which is not retried", 
+                    step.getName(), response.getStatusCode());
+                return CompletableFuture.completedFuture(fail(attempt, assertionFailures));
+            }
+            if (policy.isHonorRetryAfter()) {
+                retryAfter = parseRetryAfter(response);
+            }
+        } catch (Exception e) {
+            // Retrying into an open circuit would only be rejected again
+            if (e instanceof CircuitOpenException || !policy.isRetryableException(e)) {
+                LOGGER.debug("Step '{}' failed with {}, which is not retried", 
+                    step.getName(), e.getClass().getSimpleName());
+                return CompletableFuture.completedFuture(failWithException(attempt, e));
+            }
+            failure = e;
+        }
+        
+        long delay = nextDelay(attempt, retryAfter);
+        if (delay < 0) {
+            // Out of retries: report the failure of the last attempt
+            return CompletableFuture.completedFuture(failure != null
+                ? failWithException(attempt, failure) : fail(attempt, assertionFailures));
+        }
+        
+        if (failure != null) {
+            LOGGER.debug("Step '{}' failed with exception on attempt {}, will retry: {}", 
+                step.getName(), attempt.retries + 1, failure.getMessage());
+        } else {
+            LOGGER.debug("Step '{}' failed assertions on attempt {}, will retry", 
+                step.getName(), attempt.retries + 1);
+        }
+        attempt.retries++;
+        LOGGER.info("Retrying step '{}' (attempt {}/{})", 
+            step.getName(), attempt.retries, policy.getMaxRetries());
+        LOGGER.debug("Waiting {}ms before retry", delay);
+        
+        return waitBeforeRetry(delay, attempt.execution).thenCompose(ignored -> runAttempt(attempt));
+    }
+    
+    /**
+     * Run one poll of a polling step, then wait and poll again until the wait condition holds or the
+     * maximum wait has passed. Once the condition holds, the response is verified like any other step.
+     * Polls that don't meet the condition are not failures and are not counted as retries, and neither
+     * are polls whose request fails, e.g. while the service is still starting.
+     *
+     * @param attempt The state of the step execution
+     * @return Future completing with true if the step passed, false otherwise
+     */
+    private CompletableFuture<Boolean> runPoll(StepAttempt attempt) {
+        attempt.polls++;
+        RequestTiming timing = new RequestTiming();
+        long attemptStart = System.nanoTime();
+        return sendRequest(attempt, timing)
+            .handle((response, error) -> {
+                recordAttemptLatency(attempt, System.nanoTime() - attemptStart, timing);
+                return completePoll(attempt, response, asException(error));
+            })
+            .thenCompose(next -> next);
+    }
+    
+    /**
+     * Check the response of a poll and either finish the step or schedule the next poll.
+     *
+     * @param attempt The state of the step execution
+     * @param response The response of the poll, or null if the request failed
+     * @param error The error of the request, or null if it got a response
+     * @return Future completing with whether the step passed
+     */
+    private CompletableFuture<Boolean> completePoll(StepAttempt attempt, Response response, Exception error) {
+        Step step = attempt.step;
+        WaitUntil waitUntil = step.getWaitUntil();
+        TestResult result = attempt.result;
+        
+        String responseBody = null;
+        List<String> unmet;
+        if (error != null) {
+            // A transient transport error just means the condition isn't met yet
+            unmet = Collections.singletonList("Request failed: " + error.getMessage());
+        } else {
             try {
-                ApiRequest request = step.getRequest();
-                if (request == null) {
-                    LOGGER.warn("Step '{}' has no request defined, skipping", step.getName());
-                    continue;
-                }
+                attempt.lastResponse = response;
+                responseBody = response.getBody().asString();
                 
-                // Apply default headers
-                request.applyDefaultHeaders();
-                
-                // Check if retries are configured for this step
-                boolean stepPassed = false;
-                int retryCount = 0;
-                int maxRetries = step.getRetries();
-                long retryInterval = step.getRetryInterval();
-                List<String> assertionFailures = new ArrayList<>();
-                Response response = null;
-                String responseBody = "";
-                
-                // Execute with retry logic if configured
-                do {
-                    // If this is a retry, log it and sleep for the retry interval
-                    if (retryCount > 0) {
-                        LOGGER.info("Retrying step '{}' (attempt {}/{})", 
-                            step.getName(), retryCount, maxRetries);
-                        
-                        if (retryInterval > 0) {
-                            LOGGER.debug("Waiting {}ms before retry", retryInterval);
-                            try {
-                                Thread.sleep(retryInterval);
-                            } catch (InterruptedException ie) {
-                                Thread.currentThread().interrupt();
-                                LOGGER.warn("Retry wait interrupted", ie);
-                            }
-                        }
-                    }
-                    
-                    try {
-                        // Execute the request with the test context for variable substitution
-                        response = restClient.executeRequest(request, context);
-                        responseBody = response.getBody().asString();
-                        
-                        // Store the most recent response in the result
-                        result.setResponse(response);
-                        result.setResponseBody(responseBody);
-                        result.setResponseHeaders(response.getHeaders().asList());
-                        result.setStatusCode(response.getStatusCode());
-                        
-                        // Process assertions
-                        ResponseVerifier verifier = step.getVerify();
-                        if (verifier != null) {
-                            // Verify assertions with variable substitution via context
-                            assertionFailures = assertionProcessor.verifyResponse(response, verifier, context);
-                            
-                            // If assertions pass, mark as successful and break the retry loop
-                            if (assertionFailures.isEmpty()) {
-                                stepPassed = true;
-                                break;
-                            } else if (retryCount < maxRetries) {
-                                LOGGER.debug("Step '{}' failed assertions on attempt {}, will retry", 
-                                    step.getName(), retryCount + 1);
-                            }
-                        } else {
-                            // No verification criteria means the step passes automatically
-                            LOGGER.warn("Step '{}' has no verification criteria defined", step.getName());
-                            stepPassed = true;
-                            break;
-                        }
-                    } catch (Exception e) {
-                        if (retryCount < maxRetries) {
-                            LOGGER.debug("Step '{}' failed with exception on attempt {}, will retry: {}", 
-                                step.getName(), retryCount + 1, e.getMessage());
-                        } else {
-                            throw e; // Rethrow the exception on the last attempt
-                        }
-                    }
-                    
-                    retryCount++;
-                } while (retryCount <= maxRetries && !stepPassed);
-                
-                // After all retries, process the final result
-                if (stepPassed) {
-                    ResponseVerifier verifier = step.getVerify();
-                    // Extract values from response if there are extractions defined
-                    if (verifier != null && verifier.getExtractions() != null && !verifier.getExtractions().isEmpty()) {
-                        LOGGER.debug("Performing extractions for step: {}", step.getName());
-                        responseExtractor.extractAndStoreValues(responseBody, verifier.getExtractions(), context, step.getName());
-                    }
-                    
-                    String stepInfo = step.getName();
-                    if (retryCount > 0) {
-                        stepInfo += String.format(" (after %d %s)", 
-                            retryCount, retryCount == 1 ? "retry" : "retries");
-                    }
-                    
-                    LOGGER.info("Step '{}' passed", stepInfo);
-                    // Track successfully executed steps
-                    result.addExecutedStep(stepInfo);
-                } else {
-                    // Step failed after all retries
-                    allPassed = false;
-                    String retryInfo = "";
-                    if (maxRetries > 0) {
-                        retryInfo = String.format(" after %d %s", 
-                            maxRetries, maxRetries == 1 ? "retry" : "retries");
-                    }
-                    
-                    if (!assertionFailures.isEmpty()) {
-                        for (String failure : assertionFailures) {
-                            result.addFailureMessage(String.format("Step '%s': %s%s", 
-                                step.getName(), failure, retryInfo));
-                        }
-                        LOGGER.error("Step '{}' failed with {} assertion failures{}", 
-                            step.getName(), assertionFailures.size(), retryInfo);
-                    } else {
-                        // This case would be hit if there was an exception on every retry
-                        result.addFailureMessage(String.format("Step '%s': Failed%s", 
-                            step.getName(), retryInfo));
-                        LOGGER.error("Step '{}' failed{}", step.getName(), retryInfo);
-                    }
-                }
+                result.setResponse(response);
+                result.setResponseBody(responseBody);
+                result.setResponseHeaders(response.getHeaders().asList());
+                result.setStatusCode(response.getStatusCode());
                 
+                unmet = unmetWaitConditions(step, response, responseBody, attempt.context);
             } catch (Exception e) {
-                allPassed = false;
-                String retryInfo = "";
-                if (step.hasRetryConfig()) {
-                    retryInfo = String.format(" (after %d %s)", 
-                        step.getRetries(), step.getRetries() == 1 ? "retry" : "retries");
-                }
-                
-                result.addFailureMessage(String.format("Step '%s': Exception - %s%s", 
-                    step.getName(), e.getMessage(), retryInfo));
-                LOGGER.error("Error executing step: " + step.getName() + retryInfo, e);
+                return CompletableFuture.completedFuture(failWithException(attempt, e));
             }
         }
         
-        return allPassed;
+        long elapsedNanos = System.nanoTime() - attempt.startNanos;
+        if (unmet.isEmpty()) {
+            result.recordTimeToConsistency(step.getName(), elapsedNanos);
+            LOGGER.info("Wait condition of step '{}' met after {}ms ({} polls)", 
+                step.getName(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), attempt.polls);
+            return CompletableFuture.completedFuture(verify(attempt, response, responseBody));
+        }
+        
+        long remaining = waitUntil.getMaxWait() - TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (remaining <= 0 && error != null) {
+            return CompletableFuture.completedFuture(failWithException(attempt, new RuntimeException(String.format(
+                "Wait condition not met within %dms (%d polls), last poll failed: %s", 
+                waitUntil.getMaxWait(), attempt.polls, error.getMessage()), error)));
+        }
+        if (remaining <= 0) {
+            return CompletableFuture.completedFuture(fail(attempt, Collections.singletonList(String.format(
+                "Wait condition not met within %dms (%d polls): %s", 
+                waitUntil.getMaxWait(), attempt.polls, String.join("; ", unmet)))));
+        }
+        
+        // The last wait is shortened so that the final poll happens at the deadline
+        long delay = Math.min(remaining, waitUntil.nextInterval(attempt.lastDelay));
+        attempt.lastDelay = delay;
+        LOGGER.debug("Wait condition of step '{}' not met yet, polling again in {}ms: {}", 
+            step.getName(), delay, unmet);
+        return waitBeforeRetry(delay, attempt.execution).thenCompose(ignored -> runPoll(attempt));
+    }
+    
+    /**
+     * Check the wait condition of a polling step against a response. The condition expression is
+     * evaluated after the step's extractions, so it can refer to values of this response.
+     *
+     * @param step The polling step
+     * @param response The response of the poll
+     * @param responseBody The response body
+     * @param context The test context
+     * @return The parts of the wait condition that are not met, empty if it holds
+     */
+    private List<String> unmetWaitConditions(Step step, Response response, String responseBody, 
+                                             TestContext context) {
+        WaitUntil waitUntil = step.getWaitUntil();
+        List<String> unmet = assertionProcessor.verifyResponse(response, waitUntil.toVerifier(), context);
+        if (unmet.isEmpty() && waitUntil.hasCondition()) {
+            ResponseVerifier verifier = step.getVerify();
+            if (verifier != null && verifier.getExtractions() != null && !verifier.getExtractions().isEmpty()) {
+                responseExtractor.extractAndStoreValues(responseBody, verifier.getExtractions(), 
+                    context, step.getName());
+            }
+            if (!conditionEvaluator.evaluateCondition(waitUntil.getCondition(), context)) {
+                unmet.add("Condition '" + waitUntil.getCondition() + "' evaluated to false");
+            }
+        }
+        return unmet;
+    }
+    
+    /**
+     * Verify the final response of a polling step.
+     *
+     * @param attempt The state of the step execution
+     * @param response The response
+     * @param responseBody The response body
+     * @return true if the step passed
+     */
+    private boolean verify(StepAttempt attempt, Response response, String responseBody) {
+        ResponseVerifier verifier = attempt.step.getVerify();
+        if (verifier == null) {
+            return pass(attempt, responseBody);
+        }
+        List<String> assertionFailures = assertionProcessor.verifyResponse(response, verifier, attempt.context);
+        return assertionFailures.isEmpty() ? pass(attempt, responseBody) : fail(attempt, assertionFailures);
+    }
+    
+    /**
+     * Compute the wait before the next retry of a step.
+     *
+     * @param attempt The state of the step execution
+     * @param retryAfter The wait requested by the server in milliseconds, or -1 if none
+     * @return The wait in milliseconds, or -1 if the step must not be retried
+     */
+    private long nextDelay(StepAttempt attempt, long retryAfter) {
+        RetryPolicy policy = attempt.policy;
+        if (attempt.retries >= policy.getMaxRetries()) {
+            return -1;
+        }
+        
+        long delay = policy.computeDelay(attempt.retries + 1, attempt.lastDelay);
+        if (retryAfter > delay) {
+            if (retryAfter > MAX_RETRY_AFTER_MS) {
+                LOGGER.warn("Step '{}' got a Retry-After of {}ms, waiting at most {}ms", 
+                    attempt.step.getName(), retryAfter, MAX_RETRY_AFTER_MS);
+                retryAfter = Math.max(delay, MAX_RETRY_AFTER_MS);
+            }
+            LOGGER.debug("Honouring Retry-After of {}ms for step '{}'", retryAfter, attempt.step.getName());
+            delay = retryAfter;
+        }
+        
+        if (policy.getMaxElapsedTime() > 0) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - attempt.startNanos);
+            // Compared this way round so that a saturated delay can't overflow the sum
+            if (delay > policy.getMaxElapsedTime() - elapsedMs) {
+                LOGGER.info("Not retrying step '{}': next attempt would exceed the max elapsed time of {}ms", 
+                    attempt.step.getName(), policy.getMaxElapsedTime());
+                return -1;
+            }
+        }
+        
+        if (retryBudgets != null && !retryBudgets.forService(attempt.step.getService()).tryAcquireRetry()) {
+            LOGGER.warn("Not retrying step '{}': retry budget of service '{}' is exhausted", 
+                attempt.step.getName(), 
+                attempt.step.getService() != null ? attempt.step.getService() : RetryBudgets.DEFAULT_SERVICE);
+            attempt.result.recordSuppressedRetry();
+            return -1;
+        }
+        
+        attempt.lastDelay = delay;
+        return delay;
+    }
+    
+    /**
+     * Send the request of a step without blocking. A response that is not available right away
+     * is handled on the execution's executor rather than on a thread of the HTTP client.
+     *
+     * @param attempt The state of the step execution
+     * @param timing Receives the time the request waited before it was sent
+     * @return Future completing with the response
+     */
+    private CompletableFuture<Response> sendRequest(StepAttempt attempt, RequestTiming timing) {
+        Step step = attempt.step;
+        CompletableFuture<Response> response = 
+            restClient.executeRequestAsync(step.getRequest(), attempt.context, step.getService(), timing);
+        if (response.isDone()) {
+            return response;
+        }
+        return response.whenCompleteAsync((ignored, error) -> { }, attempt.execution.resume);
+    }
+    
+    /**
+     * Record the latency of an attempt. Time spent waiting for a rate limit permit is recorded
+     * separately, so that client-side throttling does not show up as a slow service.
+     *
+     * @param attempt The state of the step execution
+     * @param elapsedNanos Time from starting the attempt until its response or error
+     * @param timing The time the request waited before it was sent
+     */
+    private static void recordAttemptLatency(StepAttempt attempt, long elapsedNanos, RequestTiming timing) {
+        Step step = attempt.step;
+        long permitWait = timing.getPermitWaitNanos();
+        attempt.result.recordAttemptLatency(step.getName(), step.getService(), elapsedNanos - permitWait);
+        if (permitWait > 0) {
+            attempt.result.recordPermitWait(step.getService(), permitWait);
+        }
+    }
+    
+    /**
+     * Turn the error of a request future into the exception the request failed with.
+     *
+     * @param error The error of the future, or null
+     * @return The exception, or null if there was no error
+     */
+    private static Exception asException(Throwable error) {
+        if (error == null) {
+            return null;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        throw new CompletionException(cause);
+    }
+    
+    /**
+     * Complete a future after the given delay, resuming on the execution's executor.
+     * The timer thread only hands the continuation over, so waiting steps hold no thread.
+     * The test case gives up its parallelism permit for the wait and takes it back, again
+     * without holding a thread, before it resumes.
+     *
+     * @param delayMs The delay in milliseconds
+     * @param execution Where to resume after the wait
+     * @return Future completing once the delay has passed
+     */
+    private static CompletableFuture<Void> waitBeforeRetry(long delayMs, Execution execution) {
+        execution.beforeWait();
+        CompletableFuture<Void> resumed = new CompletableFuture<>();
+        RETRY_TIMER.schedule(() -> execution.beforeResume().whenComplete((ignored, error) -> {
+            if (error != null) {
+                resumed.completeExceptionally(error);
+                return;
+            }
+            try {
+                execution.resume.execute(() -> resumed.complete(null));
+            } catch (RejectedExecutionException e) {
+                resumed.completeExceptionally(e);
+            }
+        }), delayMs, TimeUnit.MILLISECONDS);
+        return resumed;
+    }
+    
+    /**
+     * Parse the Retry-After header of a response, given either in seconds or as an HTTP date.
+     *
+     * @param response The response
+     * @return The requested wait in milliseconds, or -1 if the header is absent or invalid
+     */
+    static long parseRetryAfter(Response response) {
+        String value = response.getHeader("Retry-After");
+        if (value == null || value.trim().isEmpty()) {
+            return -1;
+        }
+        value = value.trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // Not a number of seconds, try an HTTP date
+        }
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(Instant.now(), retryAt.toInstant()).toMillis());
+        } catch (DateTimeParseException e) {
+            LOGGER.debug("Ignoring invalid Retry-After header: {}", value);
+            return -1;
+        }
+    }
+    
+    /**
+     * Record a passed step, performing its extractions.
+     *
+     * @param attempt The state of the step execution
+     * @param responseBody The body of the successful response
+     * @return true, or false if the extractions failed
+     */
+    private boolean pass(StepAttempt attempt, String responseBody) {
+        Step step = attempt.step;
+        try {
+            ResponseVerifier verifier = step.getVerify();
+            // Extract values from response if there are extractions defined
+            if (verifier != null && verifier.getExtractions() != null && !verifier.getExtractions().isEmpty()) {
+                LOGGER.debug("Performing extractions for step: {}", step.getName());
+                responseExtractor.extractAndStoreValues(responseBody, verifier.getExtractions(), 
+                    attempt.context, step.getName());
+            }
+        } catch (Exception e) {
+            return failWithException(attempt, e);
+        }
+        
+        if (retryBudgets != null) {
+            retryBudgets.forService(step.getService()).recordSuccess();
+        }
+        
+        int retryCount = attempt.retries;
+        String stepInfo = step.getName();
+        if (retryCount > 0) {
+            stepInfo += String.format(" (after %d %s)", 
+                retryCount, retryCount == 1 ? "retry" : "retries");
+        } else if (attempt.polls > 1) {
+            stepInfo += String.format(" (after %d polls)", attempt.polls);
+        }
+        
+        LOGGER.info("Step '{}' passed", stepInfo);
+        // Track successfully executed steps
+        attempt.result.addExecutedStep(stepInfo);
+        attempt.result.addStepResult(new StepResult(step.getName(), step.getService(), true, false, 
+            retryCount, System.nanoTime() - attempt.startNanos));
+        return true;
+    }
+    
+    /**
+     * Record a step that failed its assertions after all retries.
+     *
+     * @param attempt The state of the step execution
+     * @param assertionFailures The assertion failures of the last attempt
+     * @return false
+     */
+    private boolean fail(StepAttempt attempt, List<String> assertionFailures) {
+        Step step = attempt.step;
+        TestResult result = attempt.result;
+        int retryCount = attempt.retries;
+        String retryInfo = "";
+        if (retryCount > 0) {
+            retryInfo = String.format(" after %d %s", 
+                retryCount, retryCount == 1 ? "retry" : "retries");
+        }
+        
+        for (String failure : assertionFailures) {
+            result.addFailureMessage(String.format("Step '%s': %s%s", 
+                step.getName(), failure, retryInfo));
+        }
+        LOGGER.error("Step '{}' failed with {} assertion failures{}", 
+            step.getName(), assertionFailures.size(), retryInfo);
+        restClient.getWireLog().logFailedExchange(step.getName(), attempt.lastResponse);
+        result.addStepResult(new StepResult(step.getName(), step.getService(), false, false, 
+            retryCount, System.nanoTime() - attempt.startNanos));
+        return false;
+    }
+    
+    /**
+     * Record a step that failed with an exception.
+     *
+     * @param attempt The state of the step execution
+     * @param e The exception of the last attempt
+     * @return false
+     */
+    private boolean failWithException(StepAttempt attempt, Exception e) {
+        Step step = attempt.step;
+        int retryCount = attempt.retries;
+        String retryInfo = "";
+        if (retryCount > 0) {
+            retryInfo = String.format(" (after %d %s)", 
+                retryCount, retryCount == 1 ? "retry" : "retries");
+        }
+        
+        if (e instanceof CircuitOpenException) {
+            // The request was never sent, so there is no stack trace worth logging
+            attempt.result.addFailureMessage(String.format("Step '%s': %s%s", 
+                step.getName(), e.getMessage(), retryInfo));
+            LOGGER.warn("Step '{}' failed fast: {}", step.getName(), e.getMessage());
+        } else {
+            attempt.result.addFailureMessage(String.format("Step '%s': Exception - %s%s", 
+                step.getName(), e.getMessage(), retryInfo));
+            LOGGER.error("Error executing step: " + step.getName() + retryInfo, e);
+        }
+        attempt.result.addStepResult(new StepResult(step.getName(), step.getService(), false, false, 
+            retryCount, System.nanoTime() - attempt.startNanos));
+        return false;
     }
 
     /**
      * Execute a list of test cases and return all results.
+     * When the executor was created with a parallelism greater than 1, test cases run on a bounded
+     * worker pool and the longest tests start first. In virtual thread mode every test case gets
+     * its own virtual thread and the parallelism only caps how many run at once. Results are always
+     * returned in the same order as the given test cases.
      *
      * @param testCases List of test cases to execute
      * @return List of test results
      */
     public List<TestResult> executeTests(List<TestCase> testCases) {
+        return executeTests(testCases, result -> { });
+    }
+    
+    /**
+     * Execute a list of test cases, reporting every result as soon as its test case finishes.
+     *
+     * @param testCases List of test cases to execute
+     * @param onResult Called with each result in completion order, possibly from a worker thread
+     * @return List of test results, in the order of the test cases
+     */
+    public List<TestResult> executeTests(List<TestCase> testCases, Consumer<TestResult> onResult) {
         List<TestResult> results = new ArrayList<>();
+        lastPinningMonitor = null;
+        if (options.getPrewarmConnections() > 0 && restClient.getTransport().usesNetwork()) {
+            prewarmConnections(testCases);
+        }
+        boolean virtualThreads = options.isVirtualThreads();
+        int parallelism = options.getParallelism();
         
-        for (TestCase testCase : testCases) {
-            results.add(executeTest(testCase));
+        if (!virtualThreads && (parallelism <= 1 || testCases.size() <= 1)) {
+            for (TestCase testCase : testCases) {
+                TestResult result = executeTestAsync(testCase, BLOCKING_CALLER).join();
+                onResult.accept(result);
+                results.add(result);
+            }
+            drainCleanup();
+            results.replaceAll(this::withCleanupOutcome);
+            finishRun();
+            return results;
+        }
+        
+        int workers = Math.min(parallelism, testCases.size());
+        ExecutorService workerPool;
+        PinnedThreadMonitor pinningMonitor = null;
+        if (virtualThreads && WorkerPools.virtualThreadsSupported()) {
+            LOGGER.info("Executing {} test cases on virtual threads (max {} concurrent)", testCases.size(), workers);
+            workerPool = WorkerPools.newVirtualThreadPool(workers, "eventelope-worker");
+            pinningMonitor = new PinnedThreadMonitor();
+            pinningMonitor.start();
+        } else {
+            if (virtualThreads) {
+                workers = WorkerPools.platformFallbackSize(workers);
+                LOGGER.warn("Virtual threads require Java 21 or newer (running {}), using {} platform threads",
+                    System.getProperty("java.version"), workers);
+            }
+            LOGGER.info("Executing {} test cases with {} parallel workers", testCases.size(), workers);
+            workerPool = WorkerPools.newPlatformPool(workers, "eventelope-worker");
+        }
+        
+        // Virtual thread executors are unbounded, so the permits enforce the parallelism limit.
+        // A test gives up its permit when it starts waiting for a retry and none of its concurrent
+        // steps can still send, so the wait does not keep another test from starting, and takes
+        // one back before it resumes.
+        ParallelismLimit permits = new ParallelismLimit(workers);
+        try {
+            List<Future<TestResult>> futures = new ArrayList<>(Collections.nCopies(testCases.size(), null));
+            for (int index : longestFirst(testCases)) {
+                TestCase testCase = testCases.get(index);
+                ParallelismLimit.Lease lease = permits.acquire();
+                Execution execution = new Execution(workerPool, lease);
+                futures.set(index, CompletableFuture.supplyAsync(() -> executeTestAsync(testCase, execution), workerPool)
+                    .thenCompose(result -> result)
+                    .whenComplete((result, error) -> {
+                        lease.release();
+                        if (result != null) {
+                            onResult.accept(result);
+                        }
+                    }));
+            }
+            
+            // Collect in the order of the test cases so that reports stay deterministic
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(awaitResult(futures.get(i), testCases.get(i)));
+            }
+            drainCleanup();
+            results.replaceAll(this::withCleanupOutcome);
+        } finally {
+            workerPool.shutdownNow();
+            finishRun();
+            if (pinningMonitor != null) {
+                pinningMonitor.stop();
+                lastPinningMonitor = pinningMonitor;
+                LOGGER.info("Virtual thread pinning: {} events on {} virtual threads, {} carrier threads pinned, "
+                    + "{}ms pinned in total", pinningMonitor.getPinnedEvents(), pinningMonitor.getPinnedThreads(),
+                    pinningMonitor.getPinnedCarrierThreads(), pinningMonitor.getPinnedDurationMs());
+            }
         }
         
         return results;
     }
+    
+    /**
+     * Order test cases longest first, so that long tests do not start last and run alone
+     * at the end of the suite. Durations come from the timing history, or are estimated from
+     * the steps and retry settings of tests that have not run before.
+     *
+     * @param testCases The test cases
+     * @return Indexes into the test cases, in start order
+     */
+    private List<Integer> longestFirst(List<TestCase> testCases) {
+        List<Integer> order = new DurationEstimator(
+            TimingHistory.load(Paths.get(options.getTimingFile())), testCases).longestFirst(testCases);
+        LOGGER.debug("Longest-first start order: {}", order);
+        return order;
+    }
+    
+    /**
+     * Wait for a submitted test case and convert any unexpected worker failure into a failed result.
+     *
+     * @param future The pending test result
+     * @param testCase The test case the future belongs to
+     * @return The test result
+     */
+    private TestResult awaitResult(Future<TestResult> future, TestCase testCase) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failedResult(testCase, "Test execution interrupted");
+        } catch (ExecutionException e) {
+            LOGGER.error("Error executing test: " + testCase.getName(), e.getCause());
+            return failedResult(testCase, "Exception occurred: " + e.getCause().getMessage());
+        }
+    }
+    
+    /**
+     * Forget the state earlier runs of this executor left behind: retry budgets, cached step
+     * outcomes, circuit breakers, bulkheads and rate limiter reservations. Connection pools stay
+     * warm. Resident processes call this before each run, so one run can't fail the next.
+     */
+    public void resetRunState() {
+        if (retryBudgets != null) {
+            retryBudgets.reset();
+        }
+        stepCache.clear();
+        cleanupOutcomes.clear();
+        restClient.resetRunState();
+    }
+    
+    /**
+     * Finish a run: wait for queued cleanups, log the run statistics, let the transport write out
+     * what it kept for the run (such as a recorded cassette) and flush the wire log. executeTests
+     * does this itself; callers that run test cases one at a time with executeTest call it once
+     * they are done.
+     */
+    public void finishRun() {
+        drainCleanup();
+        logRunStatistics();
+        if (lastPrewarmer != null) {
+            lastPrewarmer.markUsed();
+        }
+        restClient.getTransport().finishRun();
+        restClient.getWireLog().flush(WIRE_LOG_FLUSH_TIMEOUT_MS);
+    }
+    
+    /**
+     * Combine a result with the outcome of its queued cleanup, after the cleanups have been drained.
+     *
+     * @param result The result of a test case
+     * @return A new result including the cleanup outcome, or the result itself if it had no queued cleanup
+     */
+    private TestResult withCleanupOutcome(TestResult result) {
+        TestResult cleanup = cleanupOutcomes.remove(result);
+        return cleanup != null ? result.withCleanupOutcome(cleanup) : result;
+    }
+    
+    /**
+     * Wait for the cleanups queued so far, if cleanup runs in the background.
+     */
+    private void drainCleanup() {
+        if (cleanupQueue != null) {
+            cleanupQueue.drain();
+        }
+    }
+    
+    /**
+     * Open connections to every host the test cases call, before any of them runs.
+     *
+     * @param testCases The test cases about to be executed
+     */
+    private void prewarmConnections(List<TestCase> testCases) {
+        ConnectionPrewarmer prewarmer = new ConnectionPrewarmer(restClient, options.getPrewarmConnections(), warmPools);
+        for (TestCase testCase : testCases) {
+            for (List<Step> section : Arrays.asList(testCase.getPreconditions(), testCase.getSetup(), 
+                    testCase.getExecution(), testCase.getCleanup())) {
+                if (section == null) {
+                    continue;
+                }
+                for (Step step : section) {
+                    prewarmer.addRequest(step.getRequest(), step.getService());
+                }
+            }
+        }
+        prewarmer.prewarm();
+        lastPrewarmer = prewarmer;
+    }
+    
+    /**
+     * Log the transport, bulkhead, circuit breaker, step cache and retry budget statistics at the end of a run.
+     */
+    private void logRunStatistics() {
+        TransportStats transportStats = restClient.getTransport().getStats();
+        LOGGER.info("HTTP transport: {} requests sent, {} failed, {} at most in flight, {} clients, responses {}",
+            transportStats.getSent(), transportStats.getFailed(), transportStats.getMaxInFlight(),
+            transportStats.getClients(), transportStats.getResponsesByProtocol());
+        restClient.getBulkheadRejections().forEach((service, rejected) -> {
+            if (rejected > 0) {
+                LOGGER.warn("Bulkhead of service '{}' rejected {} requests", service, rejected);
+            }
+        });
+        restClient.getCircuitBreakers().forEach((service, breaker) -> {
+            if (breaker.getTimesOpened() > 0) {
+                LOGGER.warn("Circuit breaker of service '{}' opened {} times, rejected {} requests, now {}", 
+                    service, breaker.getTimesOpened(), breaker.getRejected(), breaker.getState());
+            }
+        });
+        if (stepCache.getHits() > 0) {
+            LOGGER.info("Step cache: {} steps reused, {} executed", stepCache.getHits(), stepCache.getMisses());
+        }
+        if (retryBudgets == null) {
+            return;
+        }
+        retryBudgets.getSuppressedRetries().forEach((service, suppressed) -> {
+            if (suppressed > 0) {
+                LOGGER.warn("Retry budget of service '{}' suppressed {} retries", service, suppressed);
+            }
+        });
+    }
+    
+    private TestResult failedResult(TestCase testCase, String message) {
+        TestResult result = new TestResult(testCase);
+        result.setPassed(false);
+        result.addFailureMessage(message);
+        return result;
+    }
+    
+    /**
+     * Where a test resumes after a retry wait, and how it gives up and takes back its permit around the wait.
+     */
+    private static final class Execution {
+        private final Executor resume;
+        // The test's parallelism permit, or null when the caller blocks and holds no permit
+        private final ParallelismLimit.Lease lease;
+
+        Execution(Executor resume, ParallelismLimit.Lease lease) {
+            this.resume = resume;
+            this.lease = lease;
+        }
+
+        void beforeWait() {
+            if (lease != null) {
+                lease.releaseForWait();
+            }
+        }
+
+        CompletableFuture<Void> beforeResume() {
+            return lease != null ? lease.reacquire() : CompletableFuture.completedFuture(null);
+        }
+
+        void stepsScheduled(int steps) {
+            if (lease != null) {
+                lease.stepsScheduled(steps);
+            }
+        }
+
+        void stepFinished() {
+            if (lease != null) {
+                lease.stepFinished();
+            }
+        }
+    }
+    
+    /**
+     * Mutable state of one step execution across its retry attempts.
+     */
+    private static final class StepAttempt {
+        private final Step step;
+        private final RetryPolicy policy;
+        private final TestResult result;
+        private final TestContext context;
+        private final Execution execution;
+        private final long startNanos = System.nanoTime();
+        private int retries;
+        private int polls;
+        private long lastDelay;
+        private Response lastResponse;
+
+        StepAttempt(Step step, TestResult result, TestContext context, Execution execution) {
+            this.step = step;
+            this.policy = step.getEffectiveRetryPolicy();
+            this.result = result;
+            this.context = context;
+            this.execution = execution;
+        }
+    }
 }
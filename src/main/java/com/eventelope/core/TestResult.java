@@ -1,32 +1,51 @@
 package com.eventelope.core;
 
 import com.eventelope.context.TestStepVariable;
+import com.eventelope.metrics.LatencyHistogram;
 import io.restassured.http.Header;
 import io.restassured.response.Response;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Contains the results of a test execution including status, response data, and any failure messages.
  * Updated to support the new structured test format and variable storage.
  */
-public class TestResult {
+public class TestResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private TestCase testCase;
     private boolean passed;
     private List<String> failureMessages = new ArrayList<>();
     private int statusCode;
     private String responseBody;
-    private List<Header> responseHeaders;
-    private Response response;
+    // The raw response is not sent between distributed workers and the coordinator
+    private transient List<Header> responseHeaders;
+    private transient Response response;
     private LocalDateTime executionTime;
     private long executionDurationMs;
     // For tracking successfully executed steps
     private List<String> executedSteps = new ArrayList<>();
+    // Outcome and timing of every executed step, in completion order
+    private List<StepResult> stepResults = new ArrayList<>();
+    // Request latency of every attempt (including retries), per step name and per service
+    private Map<String, LatencyHistogram> stepLatencies = new ConcurrentHashMap<>();
+    private Map<String, LatencyHistogram> serviceLatencies = new ConcurrentHashMap<>();
+    // Time until the wait condition of a polling step first held, per step name
+    private Map<String, LatencyHistogram> consistencyLatencies = new ConcurrentHashMap<>();
+    // Time requests waited for a client-side rate limit permit, per service; not part of the latencies
+    private Map<String, LatencyHistogram> permitWaits = new ConcurrentHashMap<>();
+    // Retries skipped because the service's retry budget was exhausted
+    private int suppressedRetries;
+    // Failures of cleanup steps run in the background; they never fail the test
+    private List<String> cleanupFailureMessages = new ArrayList<>();
     // For storing test variables (extracted values)
     private Map<String, Object> variables = new HashMap<>();
     // For storing variable tracking information (which step created/updated each variable)
@@ -61,11 +80,11 @@ public class TestResult {
         this.failureMessages = failureMessages;
     }
 
-    public void addFailureMessage(String message) {
+    public synchronized void addFailureMessage(String message) {
         this.failureMessages.add(message);
     }
 
-    public void addExecutedStep(String stepName) {
+    public synchronized void addExecutedStep(String stepName) {
         this.executedSteps.add(stepName);
     }
 
@@ -73,6 +92,174 @@ public class TestResult {
         return executedSteps;
     }
 
+    public synchronized void addStepResult(StepResult stepResult) {
+        this.stepResults.add(stepResult);
+    }
+
+    public List<StepResult> getStepResults() {
+        return stepResults;
+    }
+
+    /**
+     * Record the latency of one request attempt of a step.
+     *
+     * @param stepName The name of the step
+     * @param service The service the step calls, or null if not specified
+     * @param nanos The attempt latency in nanoseconds
+     */
+    public void recordAttemptLatency(String stepName, String service, long nanos) {
+        stepLatencies.computeIfAbsent(String.valueOf(stepName), k -> new LatencyHistogram()).recordNanos(nanos);
+        serviceLatencies.computeIfAbsent(serviceKey(service), k -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    /**
+     * Get the request latency histograms of this test, keyed by step name.
+     */
+    public Map<String, LatencyHistogram> getStepLatencies() {
+        return stepLatencies;
+    }
+
+    /**
+     * Get the request latency histograms of this test, keyed by service.
+     * Steps without a service are grouped under "default".
+     */
+    public Map<String, LatencyHistogram> getServiceLatencies() {
+        return serviceLatencies;
+    }
+
+    /**
+     * Record how long a polling step waited until its wait condition held.
+     *
+     * @param stepName The name of the step
+     * @param nanos The time from the first poll until the condition held, in nanoseconds
+     */
+    public void recordTimeToConsistency(String stepName, long nanos) {
+        consistencyLatencies.computeIfAbsent(String.valueOf(stepName), k -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    /**
+     * Get the time-to-consistency histograms of the polling steps of this test, keyed by step name.
+     */
+    public Map<String, LatencyHistogram> getConsistencyLatencies() {
+        return consistencyLatencies;
+    }
+
+    /**
+     * Record how long a request waited for a rate limit permit before it was sent.
+     *
+     * @param service The service of the step, or null
+     * @param nanos The wait in nanoseconds
+     */
+    public void recordPermitWait(String service, long nanos) {
+        permitWaits.computeIfAbsent(serviceKey(service), k -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    /**
+     * Get the rate limit permit wait histograms of this test, keyed by service.
+     */
+    public Map<String, LatencyHistogram> getPermitWaits() {
+        return permitWaits;
+    }
+
+    /**
+     * Record a retry that was not attempted because the retry budget was exhausted.
+     */
+    public synchronized void recordSuppressedRetry() {
+        suppressedRetries++;
+    }
+
+    public synchronized int getSuppressedRetries() {
+        return suppressedRetries;
+    }
+
+    /**
+     * Add everything another result recorded for a step to this result: failure messages, executed
+     * steps, step results, latencies, suppressed retries and the most recent response.
+     *
+     * @param other The result a step was executed into
+     */
+    public void mergeStepOutcome(TestResult other) {
+        synchronized (this) {
+            failureMessages.addAll(other.getFailureMessages());
+            executedSteps.addAll(other.getExecutedSteps());
+            stepResults.addAll(other.getStepResults());
+            suppressedRetries += other.getSuppressedRetries();
+        }
+        mergeLatencies(other);
+        if (other.getResponse() != null || other.getResponseBody() != null) {
+            setResponse(other.getResponse());
+            setResponseBody(other.getResponseBody());
+            setResponseHeaders(other.getResponseHeaders());
+            setStatusCode(other.getStatusCode());
+        }
+    }
+
+    /**
+     * Combine this result with the outcome of a cleanup section that ran after it was completed.
+     * This result is left unchanged, since it may already have been handed out while the cleanup ran.
+     * Cleanup failures are kept apart from the failure messages, since they do not change whether
+     * the test passed.
+     *
+     * @param cleanup The result the cleanup steps were executed into
+     * @return A new result holding this result and the cleanup outcome
+     */
+    public TestResult withCleanupOutcome(TestResult cleanup) {
+        TestResult combined = new TestResult(testCase);
+        synchronized (this) {
+            combined.failureMessages.addAll(failureMessages);
+            combined.executedSteps.addAll(executedSteps);
+            combined.stepResults.addAll(stepResults);
+            combined.suppressedRetries = suppressedRetries;
+            combined.cleanupFailureMessages.addAll(cleanupFailureMessages);
+        }
+        combined.passed = passed;
+        combined.statusCode = statusCode;
+        combined.responseBody = responseBody;
+        combined.responseHeaders = responseHeaders;
+        combined.response = response;
+        combined.executionTime = executionTime;
+        combined.executionDurationMs = executionDurationMs;
+        combined.variables.putAll(variables);
+        combined.variableTracking.putAll(variableTracking);
+        combined.mergeLatencies(this);
+        combined.mergeCleanupOutcome(cleanup);
+        return combined;
+    }
+
+    private void mergeCleanupOutcome(TestResult other) {
+        synchronized (this) {
+            cleanupFailureMessages.addAll(other.getFailureMessages());
+            executedSteps.addAll(other.getExecutedSteps());
+            stepResults.addAll(other.getStepResults());
+            suppressedRetries += other.getSuppressedRetries();
+        }
+        mergeLatencies(other);
+    }
+
+    /**
+     * Add the latency, consistency and permit wait histograms of another result to this result.
+     *
+     * @param other The result to take the histograms from
+     */
+    private void mergeLatencies(TestResult other) {
+        other.getStepLatencies().forEach((name, histogram) ->
+            stepLatencies.computeIfAbsent(name, k -> new LatencyHistogram()).merge(histogram));
+        other.getServiceLatencies().forEach((service, histogram) ->
+            serviceLatencies.computeIfAbsent(service, k -> new LatencyHistogram()).merge(histogram));
+        other.getConsistencyLatencies().forEach((name, histogram) ->
+            consistencyLatencies.computeIfAbsent(name, k -> new LatencyHistogram()).merge(histogram));
+        other.getPermitWaits().forEach((service, histogram) ->
+            permitWaits.computeIfAbsent(service, k -> new LatencyHistogram()).merge(histogram));
+    }
+
+    public List<String> getCleanupFailureMessages() {
+        return cleanupFailureMessages;
+    }
+
+    private static String serviceKey(String service) {
+        return service == null || service.isEmpty() ? "default" : service;
+    }
+
     public int getStatusCode() {
         return statusCode;
     }
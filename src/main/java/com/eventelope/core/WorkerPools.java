@@ -0,0 +1,129 @@
+package com.eventelope.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the thread pools used to execute test cases.
+ * Virtual threads are looked up reflectively so the framework still runs on Java 17,
+ * falling back to platform threads when the running JVM does not support them.
+ */
+public final class WorkerPools {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkerPools.class);
+    private static final Method VIRTUAL_EXECUTOR_FACTORY = findVirtualExecutorFactory();
+    // Platform threads per processor that stand in for virtual threads; tests mostly wait for I/O
+    private static final int FALLBACK_THREADS_PER_PROCESSOR = 8;
+
+    private WorkerPools() {
+    }
+
+    /**
+     * Check if the running JVM can create virtual threads (Java 21 or newer).
+     *
+     * @return true if virtual threads are available, false otherwise
+     */
+    public static boolean virtualThreadsSupported() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * Bound the number of platform threads that stand in for virtual threads on JVMs without them.
+     * Virtual thread runs are often unbounded, which must not turn into one OS thread per test case.
+     *
+     * @param requested The requested number of concurrent tasks
+     * @return The requested number, capped by the available processors
+     */
+    public static int platformFallbackSize(int requested) {
+        int limit = Runtime.getRuntime().availableProcessors() * FALLBACK_THREADS_PER_PROCESSOR;
+        return Math.max(1, Math.min(requested, limit));
+    }
+
+    /**
+     * Create a fixed-size pool of named daemon platform threads.
+     *
+     * @param size Number of threads in the pool
+     * @param namePrefix Prefix for the thread names
+     * @return The executor service
+     */
+    public static ExecutorService newPlatformPool(int size, String namePrefix) {
+        return Executors.newFixedThreadPool(size, new NamedThreadFactory(namePrefix));
+    }
+
+    /**
+     * Create an unbounded pool of named daemon platform threads that are reused while idle.
+     *
+     * @param namePrefix Prefix for the thread names
+     * @return The executor service
+     */
+    public static ExecutorService newCachedPool(String namePrefix) {
+        return Executors.newCachedThreadPool(new NamedThreadFactory(namePrefix));
+    }
+
+    /**
+     * Create a pool of named daemon threads for running delayed tasks.
+     *
+     * @param size Number of threads in the pool
+     * @param namePrefix Prefix for the thread names
+     * @return The scheduled executor service
+     */
+    public static ScheduledExecutorService newScheduledPool(int size, String namePrefix) {
+        return Executors.newScheduledThreadPool(size, new NamedThreadFactory(namePrefix));
+    }
+
+    /**
+     * Create an executor that starts a new virtual thread for every task.
+     * Falls back to a fixed platform pool of the given size, bounded by the available processors,
+     * if virtual threads are unavailable.
+     *
+     * @param fallbackSize Pool size to use when falling back to platform threads
+     * @param namePrefix Prefix for the platform thread names when falling back
+     * @return The executor service
+     */
+    public static ExecutorService newVirtualThreadPool(int fallbackSize, String namePrefix) {
+        if (VIRTUAL_EXECUTOR_FACTORY != null) {
+            try {
+                return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                LOGGER.warn("Failed to create virtual thread executor, using platform threads: {}", e.getMessage());
+            }
+        } else {
+            LOGGER.warn("Virtual threads require Java 21 or newer (running {}), using platform threads",
+                System.getProperty("java.version"));
+        }
+        return newPlatformPool(platformFallbackSize(fallbackSize), namePrefix);
+    }
+
+    private static Method findVirtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Names worker threads so that interleaved log output can be attributed to a test.
+     */
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String namePrefix;
+
+        NamedThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
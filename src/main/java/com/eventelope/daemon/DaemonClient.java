@@ -0,0 +1,92 @@
+package com.eventelope.daemon;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thin client that asks a running daemon to execute a suite and prints its progress.
+ */
+public class DaemonClient {
+    private final Path socketPath;
+
+    /**
+     * Create a client.
+     *
+     * @param socketPath Path of the daemon's Unix domain socket, or null for the default
+     */
+    public DaemonClient(Path socketPath) {
+        this.socketPath = socketPath != null ? socketPath : DaemonProtocol.defaultSocketPath();
+    }
+
+    /**
+     * Ask the daemon to run a suite.
+     *
+     * @param testDir Directory containing test files, or a single test file
+     * @param reportDir Directory to store reports
+     * @param filter Only run tests whose name or path contains this text, or null for all tests
+     * @param out Where to print the progress
+     * @return The exit code of the run
+     * @throws IOException If the daemon cannot be reached
+     */
+    public int run(String testDir, String reportDir, String filter, PrintStream out) throws IOException {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put(DaemonProtocol.TEST_DIR, Path.of(testDir).toAbsolutePath().toString());
+        parameters.put(DaemonProtocol.REPORT_DIR, Path.of(reportDir).toAbsolutePath().toString());
+        parameters.put(DaemonProtocol.FILTER, filter);
+        return send(DaemonProtocol.RUN, parameters, out);
+    }
+
+    /**
+     * Ask the daemon to shut down.
+     *
+     * @param out Where to print the daemon's answer
+     * @return The exit code
+     * @throws IOException If the daemon cannot be reached
+     */
+    public int stop(PrintStream out) throws IOException {
+        return send(DaemonProtocol.STOP, Collections.emptyMap(), out);
+    }
+
+    /**
+     * Check if a daemon accepts connections on a socket.
+     *
+     * @param socketPath The socket path
+     * @return true if a daemon is listening
+     */
+    static boolean isRunning(Path socketPath) {
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+            return channel.isConnected();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private int send(String command, Map<String, String> parameters, PrintStream out) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socketPath));
+            BufferedWriter writer = DaemonProtocol.writer(channel);
+            BufferedReader reader = DaemonProtocol.reader(channel);
+            DaemonProtocol.writeRequest(writer, command, parameters);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(DaemonProtocol.EXIT)) {
+                    return Integer.parseInt(line.substring(DaemonProtocol.EXIT.length()).trim());
+                }
+                if (line.startsWith(DaemonProtocol.LOG)) {
+                    out.println(line.substring(DaemonProtocol.LOG.length()));
+                }
+            }
+            throw new IOException("Daemon closed the connection before the run finished");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.eventelope.daemon;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Line-based protocol between the daemon and its clients over a Unix domain socket.
+ * A request is a command line (RUN or STOP) followed by "key=value" lines and an empty line.
+ * The daemon answers with "LOG text" lines while the run progresses and a final "EXIT code" line.
+ */
+final class DaemonProtocol {
+    static final String RUN = "RUN";
+    static final String STOP = "STOP";
+    static final String LOG = "LOG ";
+    static final String EXIT = "EXIT ";
+
+    static final String TEST_DIR = "testDir";
+    static final String REPORT_DIR = "reportDir";
+    static final String FILTER = "filter";
+
+    private DaemonProtocol() {
+    }
+
+    /**
+     * Get the default socket path, in the temporary directory and unique per user.
+     *
+     * @return The socket path
+     */
+    static Path defaultSocketPath() {
+        return Paths.get(System.getProperty("java.io.tmpdir"),
+            "eventelope-" + System.getProperty("user.name", "user") + ".sock");
+    }
+
+    static BufferedReader reader(SocketChannel channel) {
+        return new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+    }
+
+    static BufferedWriter writer(SocketChannel channel) {
+        return new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+    }
+
+    static void writeRequest(BufferedWriter writer, String command, Map<String, String> parameters) throws IOException {
+        writer.write(command);
+        writer.write('\n');
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            if (parameter.getValue() != null) {
+                writer.write(parameter.getKey() + "=" + parameter.getValue().replace('\n', ' ') + "\n");
+            }
+        }
+        writer.write('\n');
+        writer.flush();
+    }
+
+    static Map<String, String> readParameters(BufferedReader reader) throws IOException {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        String line;
+        while ((line = reader.readLine()) != null && !line.isEmpty()) {
+            int separator = line.indexOf('=');
+            if (separator > 0) {
+                parameters.put(line.substring(0, separator), line.substring(separator + 1));
+            }
+        }
+        return parameters;
+    }
+}
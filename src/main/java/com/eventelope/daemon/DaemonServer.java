@@ -0,0 +1,164 @@
+package com.eventelope.daemon;
+
+import com.eventelope.Eventelope;
+import com.eventelope.core.TestCase;
+import com.eventelope.parser.YamlParser;
+import com.eventelope.scheduling.TestFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resident Eventelope process that runs test suites on request.
+ * Keeps the JVM, the loaded and JIT-compiled framework classes, the HTTP client state and the
+ * parsed test cases warm between runs, so small suites do not pay the startup cost every time.
+ * Runs are executed one at a time; further requests wait for the current run to finish.
+ */
+public class DaemonServer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DaemonServer.class);
+
+    private final Eventelope eventelope;
+    private final TestCaseCache cache;
+    private final Path socketPath;
+    private final Object runLock = new Object();
+    private volatile boolean running = true;
+
+    /**
+     * Create a daemon.
+     *
+     * @param eventelope The Eventelope instance used for every run
+     * @param socketPath Path of the Unix domain socket to listen on, or null for the default
+     */
+    public DaemonServer(Eventelope eventelope, Path socketPath) {
+        this.eventelope = eventelope;
+        this.cache = new TestCaseCache(new YamlParser());
+        this.socketPath = socketPath != null ? socketPath : DaemonProtocol.defaultSocketPath();
+    }
+
+    /**
+     * Listen for run requests until a client sends STOP.
+     *
+     * @throws IOException If the socket cannot be created
+     */
+    public void serve() throws IOException {
+        if (Files.exists(socketPath)) {
+            if (DaemonClient.isRunning(socketPath)) {
+                throw new IOException("An Eventelope daemon is already listening on " + socketPath);
+            }
+            // Left over from a daemon that did not shut down cleanly
+            Files.delete(socketPath);
+        }
+
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            socketPath.toFile().deleteOnExit();
+            LOGGER.info("Eventelope daemon listening on {}", socketPath);
+
+            AtomicInteger connections = new AtomicInteger();
+            while (running) {
+                SocketChannel channel = server.accept();
+                Thread handler = new Thread(() -> handle(channel, server),
+                    "eventelope-daemon-" + connections.incrementAndGet());
+                handler.setDaemon(true);
+                handler.start();
+            }
+        } catch (ClosedChannelException e) {
+            // Closed by a STOP request
+        } finally {
+            Files.deleteIfExists(socketPath);
+            LOGGER.info("Eventelope daemon stopped");
+        }
+    }
+
+    private void handle(SocketChannel channel, ServerSocketChannel server) {
+        try (SocketChannel connection = channel;
+             BufferedReader reader = DaemonProtocol.reader(connection);
+             BufferedWriter writer = DaemonProtocol.writer(connection)) {
+            String command = reader.readLine();
+            Map<String, String> parameters = DaemonProtocol.readParameters(reader);
+
+            if (DaemonProtocol.STOP.equals(command)) {
+                send(writer, DaemonProtocol.LOG + "Stopping daemon");
+                send(writer, DaemonProtocol.EXIT + 0);
+                running = false;
+                server.close();
+            } else if (DaemonProtocol.RUN.equals(command)) {
+                int exitCode = run(parameters, writer);
+                send(writer, DaemonProtocol.EXIT + exitCode);
+            } else {
+                send(writer, DaemonProtocol.LOG + "Unknown command: " + command);
+                send(writer, DaemonProtocol.EXIT + 2);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Daemon client connection failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Execute a run request, streaming progress to the client.
+     *
+     * @param parameters The request parameters
+     * @param writer The client connection
+     * @return The exit code of the run
+     */
+    private int run(Map<String, String> parameters, BufferedWriter writer) throws IOException {
+        String testDir = parameters.get(DaemonProtocol.TEST_DIR);
+        String reportDir = parameters.get(DaemonProtocol.REPORT_DIR);
+        if (testDir == null || reportDir == null) {
+            send(writer, DaemonProtocol.LOG + "Missing testDir or reportDir");
+            return 2;
+        }
+
+        synchronized (runLock) {
+            long start = System.currentTimeMillis();
+            List<TestCase> testCases;
+            try {
+                testCases = TestFilter.select(cache.load(testDir), parameters.get(DaemonProtocol.FILTER));
+            } catch (IOException e) {
+                send(writer, DaemonProtocol.LOG + "Cannot read tests from " + testDir + ": " + e.getMessage());
+                return 1;
+            }
+            if (testCases.isEmpty()) {
+                send(writer, DaemonProtocol.LOG + "No test cases found in " + testDir);
+                return 1;
+            }
+            send(writer, DaemonProtocol.LOG + "Running " + testCases.size() + " test cases");
+
+            AtomicInteger finished = new AtomicInteger();
+            boolean allPassed = eventelope.runTestCases(testCases, reportDir, result -> {
+                String line = DaemonProtocol.LOG + "[" + finished.incrementAndGet() + "/" + testCases.size() + "] "
+                    + (result.isPassed() ? "PASSED " : "FAILED ") + result.getTestName();
+                try {
+                    send(writer, line);
+                } catch (IOException e) {
+                    // The client went away; the run still completes and writes its reports
+                    LOGGER.debug("Failed to send progress: {}", e.getMessage());
+                }
+            });
+            send(writer, DaemonProtocol.LOG + "Finished in " + (System.currentTimeMillis() - start)
+                + "ms, reports in " + reportDir);
+            return allPassed ? 0 : 1;
+        }
+    }
+
+    private static void send(BufferedWriter writer, String line) throws IOException {
+        synchronized (writer) {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.eventelope.daemon;
+
+import com.eventelope.core.TestCase;
+import com.eventelope.parser.YamlParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Parsed test cases of a resident process, re-parsed only when their YAML file or one of their
+ * "file:" payloads changes. A file counts as changed when its modification time or size differs
+ * from when it was parsed.
+ */
+public class TestCaseCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestCaseCache.class);
+
+    private final YamlParser yamlParser;
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    public TestCaseCache(YamlParser yamlParser) {
+        this.yamlParser = yamlParser;
+    }
+
+    /**
+     * Get the test cases of a directory or a single file, parsing only new and changed files.
+     * Files that fail to parse are logged and left out, like a normal run does.
+     *
+     * @param testPath A directory of test files or a single test file
+     * @return The test cases, ordered by file path
+     * @throws IOException If the directory cannot be read
+     */
+    public List<TestCase> load(String testPath) throws IOException {
+        Path root = Paths.get(testPath).toAbsolutePath().normalize();
+        List<Path> files;
+        if (Files.isRegularFile(root)) {
+            files = List.of(root);
+        } else {
+            try (Stream<Path> paths = Files.walk(root)) {
+                files = paths
+                    .filter(path -> path.toString().endsWith(".yaml") || path.toString().endsWith(".yml"))
+                    .sorted()
+                    .collect(Collectors.toList());
+            }
+        }
+
+        List<TestCase> testCases = new ArrayList<>();
+        int parsed = 0;
+        for (Path file : files) {
+            FileStamp stamp = FileStamp.of(file);
+            Entry entry = entries.get(file);
+            if (entry == null || !entry.isCurrent(stamp)) {
+                try {
+                    TestCase testCase = yamlParser.parseTestCase(file.toFile());
+                    entry = new Entry(stamp, testCase, payloadStamps(testCase));
+                    entries.put(file, entry);
+                    parsed++;
+                } catch (Exception e) {
+                    LOGGER.error("Error parsing test file: {}", file, e);
+                    entries.remove(file);
+                    continue;
+                }
+            }
+            testCases.add(entry.testCase);
+        }
+        LOGGER.info("Loaded {} test cases from {} ({} parsed, {} cached)",
+            testCases.size(), root, parsed, testCases.size() - parsed);
+        return testCases;
+    }
+
+    /**
+     * Forget a parsed file so that it is parsed again on the next load.
+     *
+     * @param file The test file
+     */
+    public void invalidate(Path file) {
+        entries.remove(file.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Forget every parsed file, e.g. when changes may have been missed.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static Map<Path, FileStamp> payloadStamps(TestCase testCase) {
+        Map<Path, FileStamp> stamps = new HashMap<>();
+        for (String payloadFile : testCase.getPayloadFiles()) {
+            Path path = Paths.get(payloadFile).toAbsolutePath().normalize();
+            stamps.put(path, FileStamp.of(path));
+        }
+        return stamps;
+    }
+
+    private static final class Entry {
+        private final FileStamp stamp;
+        private final TestCase testCase;
+        // Payload files the test case loaded, with their state when it was parsed
+        private final Map<Path, FileStamp> payloads;
+
+        Entry(FileStamp stamp, TestCase testCase, Map<Path, FileStamp> payloads) {
+            this.stamp = stamp;
+            this.testCase = testCase;
+            this.payloads = payloads;
+        }
+
+        boolean isCurrent(FileStamp current) {
+            if (!stamp.equals(current)) {
+                return false;
+            }
+            for (Map.Entry<Path, FileStamp> payload : payloads.entrySet()) {
+                if (!payload.getValue().equals(FileStamp.of(payload.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Modification time and size of a file, or a missing-file stamp if it can't be read.
+     */
+    private static final class FileStamp {
+        private static final FileStamp MISSING = new FileStamp(-1, -1);
+
+        private final long modified;
+        private final long size;
+
+        private FileStamp(long modified, long size) {
+            this.modified = modified;
+            this.size = size;
+        }
+
+        static FileStamp of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+            } catch (IOException e) {
+                return MISSING;
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof FileStamp)) {
+                return false;
+            }
+            FileStamp that = (FileStamp) other;
+            return modified == that.modified && size == that.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(modified) * 31 + Long.hashCode(size);
+        }
+    }
+}
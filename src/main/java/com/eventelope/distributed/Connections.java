@@ -0,0 +1,49 @@
+package com.eventelope.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.Socket;
+
+/**
+ * Object streams for the coordinator/worker protocol.
+ * Incoming streams only accept Eventelope and JDK classes, plus the collection types
+ * JsonPath produces for extracted variables.
+ */
+final class Connections {
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+        "maxdepth=64;com.eventelope.**;java.lang.*;java.util.**;java.time.*;java.math.*;net.minidev.json.*;!*");
+
+    private Connections() {
+    }
+
+    static ObjectOutputStream output(Socket socket) throws IOException {
+        ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        output.flush();
+        return output;
+    }
+
+    static ObjectInputStream input(Socket socket) throws IOException {
+        ObjectInputStream input = new ObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+        input.setObjectInputFilter(FILTER);
+        return input;
+    }
+
+    static void send(ObjectOutputStream output, Message message) throws IOException {
+        output.writeObject(message);
+        // Messages are not shared between sends, so the stream does not need to remember them
+        output.reset();
+        output.flush();
+    }
+
+    static Message receive(ObjectInputStream input) throws IOException {
+        try {
+            return (Message) input.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Invalid message: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.eventelope.distributed;
+
+import com.eventelope.core.TestCase;
+import com.eventelope.core.TestResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Hands out the test cases of a suite to worker processes and collects their results.
+ * Listens on the loopback interface only. Each worker connection pulls one test case at a time,
+ * so fast workers take more of the suite; a test case whose worker disconnects is handed out again.
+ * The coordinator gives up when no worker connects in time, or when every worker has disconnected
+ * before the suite is done; test cases without a result are then reported as failed.
+ */
+public class Coordinator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Coordinator.class);
+    public static final int DEFAULT_PORT = 7070;
+    private static final long REQUEUE_POLL_MS = 200;
+    // How long to wait for the first worker to connect
+    static final long FIRST_WORKER_TIMEOUT_MS = 60_000;
+
+    private final List<TestCase> testCases;
+    private final int port;
+    private final Deque<Integer> pending = new ConcurrentLinkedDeque<>();
+    private final AtomicReferenceArray<TestResult> results;
+    private final CountDownLatch remaining;
+    private final AtomicInteger connectedWorkers = new AtomicInteger();
+    private volatile boolean anyWorkerConnected;
+    private volatile boolean finished;
+
+    /**
+     * Create a coordinator for a suite.
+     *
+     * @param testCases The test cases to distribute
+     * @param startOrder Indexes of the test cases in the order they should be handed out
+     * @param port The TCP port to listen on
+     */
+    public Coordinator(List<TestCase> testCases, List<Integer> startOrder, int port) {
+        this.testCases = testCases;
+        this.port = port;
+        this.pending.addAll(startOrder);
+        this.results = new AtomicReferenceArray<>(testCases.size());
+        this.remaining = new CountDownLatch(testCases.size());
+    }
+
+    /**
+     * Distribute the suite and wait until every test case has a result.
+     *
+     * @return The test results, in the order of the test cases
+     * @throws IOException If the coordinator cannot listen on its port
+     */
+    public List<TestResult> run() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket()) {
+            serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            LOGGER.info("Coordinator waiting for workers on {}:{} ({} test cases)",
+                serverSocket.getInetAddress().getHostAddress(), serverSocket.getLocalPort(), testCases.size());
+
+            Thread acceptor = new Thread(() -> acceptWorkers(serverSocket), "eventelope-coordinator");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            try {
+                awaitResults();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Coordinator interrupted before all results arrived");
+            } finally {
+                // Lets connections still waiting for work finish instead of waiting for requeued tests
+                finished = true;
+            }
+        }
+
+        List<TestResult> collected = new ArrayList<>();
+        for (int i = 0; i < testCases.size(); i++) {
+            TestResult result = results.get(i);
+            if (result == null) {
+                result = new TestResult(testCases.get(i));
+                result.setPassed(false);
+                result.addFailureMessage("No result received from any worker");
+            }
+            collected.add(result);
+        }
+        return collected;
+    }
+
+    /**
+     * Wait until every test case has a result, no worker connected within the first worker timeout,
+     * or every worker that connected is gone. In-flight test cases belong to connected workers, so
+     * once none is left nothing can still complete.
+     */
+    private void awaitResults() throws InterruptedException {
+        long firstWorkerDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FIRST_WORKER_TIMEOUT_MS);
+        while (!remaining.await(REQUEUE_POLL_MS, TimeUnit.MILLISECONDS)) {
+            if (!anyWorkerConnected) {
+                if (System.nanoTime() > firstWorkerDeadline) {
+                    LOGGER.error("No worker connected within {}ms, giving up", FIRST_WORKER_TIMEOUT_MS);
+                    return;
+                }
+            } else if (connectedWorkers.get() == 0) {
+                LOGGER.error("All workers disconnected with {} test cases left", remaining.getCount());
+                return;
+            }
+        }
+    }
+
+    private void acceptWorkers(ServerSocket serverSocket) {
+        int connections = 0;
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections++;
+                // Counted before the handler starts, so the worker is never missed while it is set up
+                connectedWorkers.incrementAndGet();
+                anyWorkerConnected = true;
+                Thread handler = new Thread(() -> serve(socket), "eventelope-coordinator-" + connections);
+                handler.setDaemon(true);
+                handler.start();
+            } catch (SocketException e) {
+                // Server socket closed after the last result
+                return;
+            } catch (IOException e) {
+                LOGGER.warn("Failed to accept worker connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Serve one worker connection until the suite is done or the worker disconnects.
+     *
+     * @param socket The worker connection
+     */
+    private void serve(Socket socket) {
+        Integer inFlight = null;
+        String worker = socket.getRemoteSocketAddress().toString();
+        LOGGER.info("Worker connected: {}", worker);
+        try (Socket connection = socket;
+             ObjectOutputStream output = Connections.output(connection);
+             ObjectInputStream input = Connections.input(connection)) {
+            while (true) {
+                Message message = Connections.receive(input);
+                if (message.getType() == Message.Type.RESULT && inFlight != null && message.getIndex() == inFlight) {
+                    complete(inFlight, message.getResult());
+                    inFlight = null;
+                }
+
+                Integer next = nextTask();
+                if (next == null) {
+                    Connections.send(output, Message.done());
+                    LOGGER.info("Worker finished: {}", worker);
+                    return;
+                }
+                inFlight = next;
+                LOGGER.debug("Sending test '{}' to worker {}", testCases.get(next).getName(), worker);
+                Connections.send(output, Message.task(next, testCases.get(next)));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Lost connection to worker {}: {}", worker, e.getMessage());
+        } finally {
+            if (inFlight != null) {
+                // Put the unfinished test case back at the front so another worker picks it up next
+                LOGGER.info("Requeueing test '{}' from worker {}", testCases.get(inFlight).getName(), worker);
+                pending.addFirst(inFlight);
+            }
+            connectedWorkers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Take the next test case to hand out. While other workers still have test cases in flight,
+     * keep the connection waiting instead of finishing it, in case one of them disconnects and
+     * its test case has to be handed out again.
+     *
+     * @return The index of the next test case, or null when every test case has a result or the
+     *         coordinator gave up
+     */
+    private Integer nextTask() {
+        while (!finished) {
+            Integer next = pending.pollFirst();
+            if (next != null) {
+                return next;
+            }
+            try {
+                if (remaining.await(REQUEUE_POLL_MS, TimeUnit.MILLISECONDS)) {
+                    return null;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private void complete(int index, TestResult result) {
+        if (results.compareAndSet(index, null, result)) {
+            remaining.countDown();
+            LOGGER.info("Result {}/{}: {} {}", testCases.size() - remaining.getCount(), testCases.size(),
+                testCases.get(index).getName(), result.isPassed() ? "PASSED" : "FAILED");
+        }
+    }
+}
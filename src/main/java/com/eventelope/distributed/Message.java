@@ -0,0 +1,71 @@
+package com.eventelope.distributed;
+
+import com.eventelope.core.TestCase;
+import com.eventelope.core.TestResult;
+
+import java.io.Serializable;
+
+/**
+ * A message exchanged between the coordinator and a worker connection.
+ * Workers pull work: they send READY (or the RESULT of their previous task) and receive
+ * either a TASK or DONE when the suite has no more test cases.
+ */
+public class Message implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public enum Type {
+        READY,
+        TASK,
+        RESULT,
+        DONE
+    }
+
+    private final Type type;
+    private final int index;
+    private final TestCase testCase;
+    private final TestResult result;
+
+    private Message(Type type, int index, TestCase testCase, TestResult result) {
+        this.type = type;
+        this.index = index;
+        this.testCase = testCase;
+        this.result = result;
+    }
+
+    public static Message ready() {
+        return new Message(Type.READY, -1, null, null);
+    }
+
+    public static Message task(int index, TestCase testCase) {
+        return new Message(Type.TASK, index, testCase, null);
+    }
+
+    public static Message result(int index, TestResult result) {
+        return new Message(Type.RESULT, index, null, result);
+    }
+
+    public static Message done() {
+        return new Message(Type.DONE, -1, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Get the position of the test case in the coordinator's suite.
+     *
+     * @return The test case index, or -1 for READY and DONE messages
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public TestCase getTestCase() {
+        return testCase;
+    }
+
+    public TestResult getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,153 @@
+package com.eventelope.distributed;
+
+import com.eventelope.core.TestExecutor;
+import com.eventelope.core.TestResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes test cases handed out by a coordinator.
+ * Opens one connection per slot; each connection runs one test case at a time,
+ * so the number of slots is the number of test cases this worker runs in parallel.
+ */
+public class Worker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Worker.class);
+    // How long to keep trying to reach a coordinator that has not started yet
+    private static final long CONNECT_TIMEOUT_MS = 30_000;
+    private static final long CONNECT_RETRY_MS = 500;
+    // Every slot is a platform thread with its own connection, however the parallelism was chosen
+    static final int MAX_SLOTS = 256;
+
+    private final String host;
+    private final int port;
+    private final int slots;
+    private final TestExecutor testExecutor;
+    private final AtomicInteger executed = new AtomicInteger();
+
+    /**
+     * Create a worker.
+     *
+     * @param host The coordinator host
+     * @param port The coordinator port
+     * @param slots Number of test cases to run in parallel, at most {@value #MAX_SLOTS}
+     * @param testExecutor The executor that runs the test cases
+     */
+    public Worker(String host, int port, int slots, TestExecutor testExecutor) {
+        this.host = host;
+        this.port = port;
+        if (slots > MAX_SLOTS) {
+            LOGGER.warn("Worker parallelism {} is capped at {} slots, set --parallelism to choose fewer", 
+                slots == Integer.MAX_VALUE ? "unlimited" : String.valueOf(slots), MAX_SLOTS);
+        }
+        this.slots = Math.max(1, Math.min(slots, MAX_SLOTS));
+        this.testExecutor = testExecutor;
+    }
+
+    /**
+     * Parse a coordinator address such as "localhost:7070".
+     *
+     * @param address The address, or a port number on its own for localhost
+     * @return The socket address
+     */
+    public static InetSocketAddress parseAddress(String address) {
+        int separator = address.lastIndexOf(':');
+        try {
+            if (separator < 0) {
+                return InetSocketAddress.createUnresolved("localhost", Integer.parseInt(address));
+            }
+            return InetSocketAddress.createUnresolved(address.substring(0, separator),
+                Integer.parseInt(address.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid coordinator address '" + address + "': expected host:port");
+        }
+    }
+
+    /**
+     * Run test cases until the coordinator has no more work.
+     *
+     * @return true if every slot finished normally, false if a connection failed
+     */
+    public boolean run() {
+        LOGGER.info("Worker connecting to coordinator {}:{} with {} slots", host, port, slots);
+        List<Thread> threads = new ArrayList<>();
+        AtomicInteger failedSlots = new AtomicInteger();
+        for (int i = 1; i <= slots; i++) {
+            Thread thread = new Thread(() -> {
+                if (!runSlot()) {
+                    failedSlots.incrementAndGet();
+                }
+            }, "eventelope-worker-slot-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            testExecutor.finishRun();
+        }
+        LOGGER.info("Worker executed {} test cases", executed.get());
+        return failedSlots.get() == 0;
+    }
+
+    public int getExecutedCount() {
+        return executed.get();
+    }
+
+    private boolean runSlot() {
+        try (Socket socket = connect();
+             ObjectOutputStream output = Connections.output(socket);
+             ObjectInputStream input = Connections.input(socket)) {
+            Connections.send(output, Message.ready());
+            while (true) {
+                Message message = Connections.receive(input);
+                if (message.getType() == Message.Type.DONE) {
+                    return true;
+                }
+                if (message.getType() != Message.Type.TASK) {
+                    throw new IOException("Unexpected message from coordinator: " + message.getType());
+                }
+                TestResult result = testExecutor.executeTest(message.getTestCase());
+                executed.incrementAndGet();
+                Connections.send(output, Message.result(message.getIndex(), result));
+            }
+        } catch (IOException e) {
+            LOGGER.error("Worker connection to {}:{} failed: {}", host, port, e.getMessage());
+            return false;
+        }
+    }
+
+    private Socket connect() throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECT_TIMEOUT_MS);
+        while (true) {
+            try {
+                return new Socket(host, port);
+            } catch (ConnectException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(CONNECT_RETRY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+}
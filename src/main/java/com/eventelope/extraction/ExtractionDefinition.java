@@ -1,10 +1,14 @@
 package com.eventelope.extraction;
 
+import java.io.Serializable;
+
 /**
  * Represents a definition for extracting a value from a response body using
  * JSONPath and storing it in the test context.
  */
-public class ExtractionDefinition {
+public class ExtractionDefinition implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String from;
     private String storeTo;
 
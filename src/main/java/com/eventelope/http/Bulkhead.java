@@ -0,0 +1,96 @@
+package com.eventelope.http;
+
+import com.eventelope.core.WorkerPools;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the number of requests in flight to one service, so that a slow service can only tie up
+ * its own slots. A request that finds every slot taken waits for one without holding a thread,
+ * in arrival order, and is rejected if none frees up within the queue timeout.
+ */
+class Bulkhead {
+    // Admits waiting requests, so that they don't run on the stack of the request that made room
+    private static final ExecutorService HANDOFF = WorkerPools.newCachedPool("eventelope-bulkhead");
+
+    private final String service;
+    private final int maxInFlight;
+    private final long queueTimeoutMs;
+    private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private final AtomicLong rejected = new AtomicLong();
+    private int inFlight;
+
+    /**
+     * Create a bulkhead.
+     *
+     * @param service Name of the service, for error messages
+     * @param maxInFlight Maximum number of requests in flight
+     * @param queueTimeoutMs How long a request may wait for a slot in milliseconds, 0 for no limit
+     */
+    Bulkhead(String service, int maxInFlight, long queueTimeoutMs) {
+        this.service = service;
+        this.maxInFlight = maxInFlight;
+        this.queueTimeoutMs = queueTimeoutMs;
+    }
+
+    /**
+     * Take a slot for a request. Every successful acquire must be followed by a release.
+     *
+     * @return Future completing once the request may be sent, or failing if the queue timeout passed
+     */
+    CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> turn = new CompletableFuture<>();
+        synchronized (this) {
+            if (inFlight < maxInFlight) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            waiting.addLast(turn);
+        }
+        if (queueTimeoutMs > 0) {
+            turn.orTimeout(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+        return turn.handleAsync((ignored, error) -> {
+            if (error instanceof TimeoutException) {
+                rejected.incrementAndGet();
+                throw new RuntimeException(String.format("Bulkhead of service '%s' is full: no free slot within %dms", 
+                    service, queueTimeoutMs), error);
+            }
+            if (error != null) {
+                throw new CompletionException(error);
+            }
+            return null;
+        }, HANDOFF);
+    }
+
+    /**
+     * Give up the slot of a completed request, passing it on to the longest waiting request.
+     */
+    void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiting.pollFirst();
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+            }
+            // A waiter that already timed out can't take the slot, so it goes to the next one
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,231 @@
+package com.eventelope.http;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recorded HTTP exchanges, indexed by method, resolved URL, user and a SHA-256 hash of the request body.
+ * <p>
+ * Stored as a text file with one tab-separated line per exchange: method, URL, user ("-" for none),
+ * body hash, status code, status line, then the response headers and body in Base64. The file is read
+ * once into a hash map, so a lookup costs the same however large the cassette is. A request that was
+ * recorded several times, e.g. while polling, replays its responses in the order they were recorded
+ * and then keeps returning the last one.
+ */
+class Cassette {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Cassette.class);
+    private static final String HEADER_LINE = "# Eventelope cassette: method, url, user, body sha256, status, status line, headers, body";
+    private static final String NO_USER = "-";
+    private static final int FIELDS = 8;
+
+    // Recorded responses per request key in recording order, guarded by the cassette
+    private final Map<String, Track> tracks = new LinkedHashMap<>();
+    private int exchanges;
+
+    /**
+     * Load a cassette file into memory.
+     *
+     * @param file The cassette file
+     * @return The cassette
+     * @throws IOException If the file cannot be read
+     */
+    static Cassette load(Path file) throws IOException {
+        Cassette cassette = new Cassette();
+        Base64.Decoder decoder = Base64.getDecoder();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                if (fields.length != FIELDS) {
+                    LOGGER.debug("Ignoring invalid cassette entry: {}", line);
+                    continue;
+                }
+                String user = NO_USER.equals(fields[2]) ? null : fields[2];
+                Recording recording = new Recording(Integer.parseInt(fields[4]), fields[5],
+                    parseHeaders(new String(decoder.decode(fields[6]), StandardCharsets.UTF_8)), decoder.decode(fields[7]));
+                cassette.add(key(fields[0], fields[1], user, fields[3]), recording);
+            }
+        }
+        LOGGER.info("Loaded {} recorded exchanges for {} requests from cassette {}",
+            cassette.exchanges, cassette.tracks.size(), file);
+        return cassette;
+    }
+
+    /**
+     * Record the response to a request.
+     *
+     * @param request The resolved request
+     * @param response Its response
+     */
+    void record(ResolvedRequest request, Response response) {
+        List<Header> headers = new ArrayList<>();
+        response.getHeaders().forEach(headers::add);
+        add(keyOf(request), new Recording(response.getStatusCode(), response.getStatusLine(), headers,
+            response.getBody().asByteArray()));
+    }
+
+    /**
+     * Find the next recorded response to a request.
+     *
+     * @param request The resolved request
+     * @return A new response built from the recording, or null if the request was never recorded
+     */
+    Response replay(ResolvedRequest request) {
+        Track track;
+        synchronized (this) {
+            track = tracks.get(keyOf(request));
+        }
+        return track != null ? track.next().toResponse() : null;
+    }
+
+    /**
+     * Start replaying every request from its first recorded response again.
+     */
+    synchronized void rewind() {
+        tracks.values().forEach(track -> track.position.set(0));
+    }
+
+    synchronized int size() {
+        return exchanges;
+    }
+
+    /**
+     * Write the cassette to a file, creating parent directories as needed.
+     *
+     * @param file The cassette file
+     * @throws IOException If the file cannot be written
+     */
+    synchronized void save(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Base64.Encoder encoder = Base64.getEncoder();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER_LINE + "\n");
+            for (Map.Entry<String, Track> entry : tracks.entrySet()) {
+                // The key already holds the first four fields, tab-separated
+                for (Recording recording : entry.getValue().recordings) {
+                    writer.write(entry.getKey() + "\t" + recording.statusCode + "\t" + recording.statusLine + "\t"
+                        + encoder.encodeToString(formatHeaders(recording.headers).getBytes(StandardCharsets.UTF_8)) + "\t"
+                        + encoder.encodeToString(recording.body) + "\n");
+                }
+            }
+        }
+    }
+
+    private synchronized void add(String key, Recording recording) {
+        tracks.computeIfAbsent(key, k -> new Track()).recordings.add(recording);
+        exchanges++;
+    }
+
+    private static String keyOf(ResolvedRequest request) {
+        return key(request.getMethod(), request.getUrl(), request.getUser(), bodyHash(request.getBody()));
+    }
+
+    private static String key(String method, String url, String user, String bodyHash) {
+        return method.toUpperCase() + "\t" + url + "\t" + (user != null ? user : NO_USER) + "\t" + bodyHash;
+    }
+
+    private static String bodyHash(String body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest((body != null ? body : "").getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String formatHeaders(List<Header> headers) {
+        StringBuilder text = new StringBuilder();
+        for (Header header : headers) {
+            text.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static List<Header> parseHeaders(String text) {
+        List<Header> headers = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            int separator = line.indexOf(": ");
+            if (separator > 0) {
+                headers.add(new Header(line.substring(0, separator), line.substring(separator + 2)));
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * The recorded responses to one request and the position of the next one to replay.
+     */
+    private static class Track {
+        private final List<Recording> recordings = new ArrayList<>();
+        private final AtomicInteger position = new AtomicInteger();
+
+        Recording next() {
+            int index = position.getAndUpdate(i -> Math.min(i + 1, recordings.size() - 1));
+            return recordings.get(index);
+        }
+    }
+
+    /**
+     * One recorded response.
+     */
+    private static class Recording {
+        private final int statusCode;
+        private final String statusLine;
+        private final List<Header> headers;
+        private final byte[] body;
+
+        Recording(int statusCode, String statusLine, List<Header> headers, byte[] body) {
+            this.statusCode = statusCode;
+            this.statusLine = statusLine != null ? statusLine : "HTTP/1.1 " + statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        /**
+         * Build a fresh response, so that concurrent replays of the same recording don't share state.
+         */
+        Response toResponse() {
+            ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(statusCode)
+                .setStatusLine(statusLine)
+                .setHeaders(new Headers(headers))
+                .setBody(body);
+            for (Header header : headers) {
+                if (header.getName().equalsIgnoreCase("Content-Type")) {
+                    builder.setContentType(header.getValue());
+                    break;
+                }
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.eventelope.http;
+
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records the exchanges of a run to a cassette file, or replays them from one without touching the network.
+ * <p>
+ * In record mode requests are sent through the wrapped transport and every response is added to the
+ * cassette, which is written out at the end of each run. In replay mode the cassette is loaded once,
+ * requests are answered from it and a request that was never recorded fails.
+ */
+public class CassetteTransport implements HttpTransport {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CassetteTransport.class);
+    public static final String RECORD = "record";
+    public static final String REPLAY = "replay";
+    public static final String DEFAULT_FILE = ".eventelope/cassette.tsv";
+
+    private final HttpTransport delegate;
+    private final Cassette cassette;
+    private final Path file;
+    private final TransportStats stats = new TransportStats(() -> 0);
+
+    private CassetteTransport(HttpTransport delegate, Cassette cassette, Path file) {
+        this.delegate = delegate;
+        this.cassette = cassette;
+        this.file = file;
+    }
+
+    /**
+     * Create a transport that records every exchange of the given transport.
+     *
+     * @param delegate The transport that sends the requests
+     * @param file The cassette file to write
+     * @return The recording transport
+     */
+    public static CassetteTransport record(HttpTransport delegate, Path file) {
+        LOGGER.info("Recording HTTP exchanges to cassette {}", file);
+        return new CassetteTransport(delegate, new Cassette(), file);
+    }
+
+    /**
+     * Create a transport that answers requests from a recorded cassette.
+     *
+     * @param file The cassette file to read
+     * @return The replaying transport
+     */
+    public static CassetteTransport replay(Path file) {
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Cassette not found: " + file + ", record one with --record first");
+        }
+        try {
+            return new CassetteTransport(null, Cassette.load(file), file);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Failed to read cassette " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Response send(ResolvedRequest request) {
+        if (delegate == null) {
+            return replay(request);
+        }
+        Response response = delegate.send(request);
+        cassette.record(request, response);
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(ResolvedRequest request) {
+        if (delegate == null) {
+            try {
+                return CompletableFuture.completedFuture(replay(request));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        // Requests that fail without a response are not recorded, so a replay tells them apart
+        return delegate.sendAsync(request).thenApply(response -> {
+            cassette.record(request, response);
+            return response;
+        });
+    }
+
+    private Response replay(ResolvedRequest request) {
+        stats.recordSent();
+        Response response = cassette.replay(request);
+        if (response == null) {
+            stats.recordFailure();
+            throw new RuntimeException("No response recorded in cassette " + file + " for " + request);
+        }
+        stats.recordResponse(REPLAY);
+        return response;
+    }
+
+    @Override
+    public TransportStats getStats() {
+        return delegate != null ? delegate.getStats() : stats;
+    }
+
+    @Override
+    public boolean usesNetwork() {
+        return delegate != null;
+    }
+
+    @Override
+    public HttpTransport getNetworkTransport() {
+        return delegate != null ? delegate.getNetworkTransport() : this;
+    }
+
+    /**
+     * Write the recorded cassette, or start replaying from the first recorded responses again.
+     */
+    @Override
+    public void finishRun() {
+        if (delegate == null) {
+            cassette.rewind();
+            return;
+        }
+        try {
+            cassette.save(file);
+            LOGGER.info("Wrote {} recorded exchanges to cassette {}", cassette.size(), file);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write cassette {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.eventelope.http;
+
+import com.eventelope.config.ClientProfile;
+import com.eventelope.core.WorkerPools;
+import com.eventelope.model.ApiRequest;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens connections to every host a suite calls before the suite runs, so that DNS lookups, TCP
+ * connects and TLS handshakes are not part of the first step of each test or of its latency.
+ * For each host and client profile, the host name is resolved and a number of HEAD requests is
+ * sent at the same time straight through the RestClient's network transport, bypassing circuit
+ * breakers, rate limits, bulkheads, the wire log and cassettes; the connections they open stay in
+ * that transport's pool. Any response counts, since only the connection matters.
+ * <p>
+ * Pools warmed by an earlier run of the same process are skipped while that run ended less than
+ * the profile's keep-alive ago, since their connections are still open.
+ */
+public class ConnectionPrewarmer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPrewarmer.class);
+    private static final int MAX_THREADS = 32;
+
+    private final RestClient restClient;
+    private final int connectionsPerHost;
+    // Hosts to warm up, keyed by origin and client profile
+    private final Map<String, Target> targets = new LinkedHashMap<>();
+    // Pools that are already warm, by target key, with the time (System.nanoTime) they were last used
+    private final Map<String, Long> warmPools;
+
+    /**
+     * Create a prewarmer.
+     *
+     * @param restClient The client whose connection pools are warmed up
+     * @param connectionsPerHost Number of connections opened per host
+     * @param warmPools Pools warmed by earlier runs with the time they were last used; updated
+     *                  with the pools this prewarmer warms up
+     */
+    public ConnectionPrewarmer(RestClient restClient, int connectionsPerHost, Map<String, Long> warmPools) {
+        this.restClient = restClient;
+        this.connectionsPerHost = Math.max(1, connectionsPerHost);
+        this.warmPools = warmPools;
+    }
+
+    /**
+     * Add the host of a request. Endpoints whose host depends on variables are skipped,
+     * since their host is only known while the test runs.
+     *
+     * @param request The request
+     * @param service The service of the request's step, or null
+     */
+    public void addRequest(ApiRequest request, String service) {
+        if (request == null || request.getEndpoint() == null || request.getEndpoint().isEmpty()) {
+            return;
+        }
+        if (request.getEndpoint().startsWith("${") || request.getEndpoint().startsWith("{{")) {
+            LOGGER.debug("Not pre-warming {}, its host is not known before the test runs", request.getEndpoint());
+            return;
+        }
+        // Only the origin matters; the path may well contain variables
+        String url = restClient.resolveEndpoint(request.getEndpoint(), service);
+        int hostStart = url.indexOf("://") + 3;
+        int hostEnd = hostStart;
+        while (hostEnd < url.length() && "/?#".indexOf(url.charAt(hostEnd)) < 0) {
+            hostEnd++;
+        }
+        URI uri;
+        try {
+            uri = URI.create(url.substring(0, hostEnd));
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Not pre-warming {}, its host is not known before the test runs", request.getEndpoint());
+            return;
+        }
+        if (uri.getHost() == null || uri.getScheme() == null) {
+            return;
+        }
+        int port = uri.getPort() > 0 ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+        String origin = uri.getScheme().toLowerCase() + "://" + uri.getHost() + ":" + port;
+        ClientProfile profile = request.getClientProfile() != null ? request.getClientProfile() : new ClientProfile();
+        targets.computeIfAbsent(origin + " " + profile.key(), 
+            key -> new Target(key, origin, uri.getHost(), service, profile));
+    }
+
+    /**
+     * Resolve and connect to every added host, then log how long it took.
+     *
+     * @return The total time spent in milliseconds
+     */
+    public long prewarm() {
+        List<Target> cold = new ArrayList<>();
+        for (Target target : targets.values()) {
+            if (isWarm(target)) {
+                LOGGER.debug("Not pre-warming {} ({}), its pool is still warm", target.origin, target.profile.getName());
+            } else {
+                cold.add(target);
+            }
+        }
+        if (cold.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        int threads = Math.min(MAX_THREADS, cold.size() * connectionsPerHost);
+        ExecutorService pool = WorkerPools.newPlatformPool(threads, "eventelope-prewarm");
+        try {
+            List<CompletableFuture<Void>> warmups = new ArrayList<>();
+            for (Target target : cold) {
+                warmups.add(CompletableFuture.runAsync(() -> resolve(target), pool)
+                    .thenCompose(ignored -> connect(target, pool)));
+            }
+            CompletableFuture.allOf(warmups.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        int connections = 0;
+        for (Target target : cold) {
+            connections += target.connected.get();
+            if (target.connected.get() > 0) {
+                warmPools.put(target.key, System.nanoTime());
+            }
+            if (target.error != null) {
+                LOGGER.warn("Pre-warming {} failed: {}", target.origin, target.error);
+            }
+            LOGGER.info("Pre-warmed {} ({}): DNS {}ms, {}/{} connections in {}ms", target.origin, 
+                target.profile.getName(), target.dnsMs, target.connected.get(), connectionsPerHost, target.connectMs);
+        }
+        LOGGER.info("Pre-warmed {} connections to {} hosts in {}ms ({} already warm)", 
+            connections, cold.size(), elapsedMs, targets.size() - cold.size());
+        return elapsedMs;
+    }
+
+    private boolean isWarm(Target target) {
+        Long lastUsed = warmPools.get(target.key);
+        return lastUsed != null && target.profile.getKeepAlive() > 0
+            && System.nanoTime() - lastUsed < TimeUnit.MILLISECONDS.toNanos(target.profile.getKeepAlive());
+    }
+
+    /**
+     * Record that the warm pools of this prewarmer's hosts were in use until now, at the end of a
+     * run, so that the next run only warms them up again once their keep-alive has passed.
+     */
+    public void markUsed() {
+        long now = System.nanoTime();
+        for (String key : targets.keySet()) {
+            warmPools.computeIfPresent(key, (k, lastUsed) -> now);
+        }
+    }
+
+    public Map<String, Target> getTargets() {
+        return Collections.unmodifiableMap(targets);
+    }
+
+    private void resolve(Target target) {
+        long start = System.nanoTime();
+        try {
+            InetAddress.getAllByName(target.host);
+        } catch (UnknownHostException e) {
+            target.error = "unknown host " + target.host;
+        }
+        target.dnsMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private CompletableFuture<Void> connect(Target target, ExecutorService pool) {
+        if (target.error != null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        ResolvedRequest head = new ResolvedRequest("HEAD", target.origin + "/", Collections.emptyMap(), null, null, 
+            target.service, target.profile);
+        List<CompletableFuture<Response>> connections = new ArrayList<>();
+        // Straight to the network, so warm-ups don't count towards breakers or rate limits and aren't recorded
+        HttpTransport transport = restClient.getTransport().getNetworkTransport();
+        for (int i = 0; i < connectionsPerHost; i++) {
+            // Blocking transports send on the calling thread, so each connection gets its own
+            connections.add(CompletableFuture.supplyAsync(() -> transport.sendAsync(head), pool)
+                .thenCompose(response -> response)
+                .whenComplete((response, error) -> {
+                    if (error == null) {
+                        target.connected.incrementAndGet();
+                    } else {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        target.error = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+                    }
+                }));
+        }
+        return CompletableFuture.allOf(connections.toArray(new CompletableFuture<?>[0]))
+            .handle((ignored, error) -> {
+                target.connectMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                return null;
+            });
+    }
+
+    /**
+     * A host to warm up with the client settings it is called with, and the outcome.
+     */
+    public static final class Target {
+        private final String key;
+        private final String origin;
+        private final String host;
+        private final String service;
+        private final ClientProfile profile;
+        private final AtomicInteger connected = new AtomicInteger();
+        private volatile long dnsMs;
+        private volatile long connectMs;
+        private volatile String error;
+
+        Target(String key, String origin, String host, String service, ClientProfile profile) {
+            this.key = key;
+            this.origin = origin;
+            this.host = host;
+            this.service = service;
+            this.profile = profile;
+        }
+
+        public String getOrigin() {
+            return origin;
+        }
+
+        public int getConnected() {
+            return connected.get();
+        }
+
+        public long getDnsMs() {
+            return dnsMs;
+        }
+
+        public long getConnectMs() {
+            return connectMs;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.eventelope.http;
+
+import io.restassured.response.Response;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends resolved requests over the wire. RestClient resolves variables, templates and endpoints,
+ * and hands the exact request to a transport.
+ */
+public interface HttpTransport {
+    String RESTASSURED = "restassured";
+    String JDK = "jdk";
+
+    /**
+     * Send a request and wait for the response.
+     *
+     * @param request The resolved request
+     * @return The HTTP response
+     */
+    Response send(ResolvedRequest request);
+
+    /**
+     * Send a request without waiting for the response. Transports without non-blocking I/O
+     * send on the calling thread and return a completed future.
+     *
+     * @param request The resolved request
+     * @return Future completing with the HTTP response
+     */
+    default CompletableFuture<Response> sendAsync(ResolvedRequest request) {
+        try {
+            return CompletableFuture.completedFuture(send(request));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Get the request and connection statistics of this transport.
+     *
+     * @return The transport statistics
+     */
+    TransportStats getStats();
+
+    /**
+     * Check if requests reach a real server. Client-side rate limits only apply to transports that do.
+     *
+     * @return true unless responses are served locally, e.g. from a cassette
+     */
+    default boolean usesNetwork() {
+        return true;
+    }
+
+    /**
+     * Get the transport that actually sends requests over the network, for traffic such as
+     * connection warm-ups that a wrapping transport must not record or answer itself.
+     *
+     * @return The innermost network transport, this transport unless it wraps another one
+     */
+    default HttpTransport getNetworkTransport() {
+        return this;
+    }
+
+    /**
+     * Called at the end of every run, for transports that keep state across the requests of a run.
+     */
+    default void finishRun() {
+    }
+
+    /**
+     * Create a transport by name.
+     *
+     * @param name "restassured" (the default) or "jdk"
+     * @return A new transport
+     */
+    static HttpTransport create(String name) {
+        if (name == null || RESTASSURED.equalsIgnoreCase(name)) {
+            return new RestAssuredTransport();
+        }
+        if (JDK.equalsIgnoreCase(name)) {
+            return new JdkHttpTransport();
+        }
+        throw new IllegalArgumentException("Unknown transport '" + name + "', expected "
+            + RESTASSURED + " or " + JDK);
+    }
+}
@@ -0,0 +1,209 @@
+package com.eventelope.http;
+
+import com.eventelope.auth.AuthenticationHandler;
+import com.eventelope.config.ClientProfile;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends requests with the JDK's java.net.http.HttpClient. Each service gets one shared client, whose
+ * connection pool is reused by every request to that service; HTTP/2 is negotiated where the server
+ * supports it, so concurrent requests to a host are multiplexed over one connection. Requests are
+ * sent without blocking a thread while waiting for the response.
+ * <p>
+ * The connect timeout is set per client and the read and total timeouts per request. The JDK client
+ * only takes its pool size and keep-alive from system properties, which are read once per JVM, so
+ * those come from the first client profile used unless the properties are already set.
+ */
+public class JdkHttpTransport implements HttpTransport {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdkHttpTransport.class);
+    private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    // Headers the JDK client sets itself and refuses to accept from callers
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(Arrays.asList("Connection", "Content-Length", "Expect", "Host", "Upgrade"));
+    }
+
+    private final AuthenticationHandler authHandler = new AuthenticationHandler();
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+    private final TransportStats stats = new TransportStats(clients::size);
+
+    @Override
+    public Response send(ResolvedRequest request) {
+        try {
+            return sendAsync(request).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            // Connection errors often have no message of their own
+            throw new RuntimeException(cause.getMessage() != null ? cause.getMessage() : cause.toString(), cause);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(ResolvedRequest request) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = buildRequest(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        ClientProfile profile = profileOf(request);
+        CompletableFuture<HttpResponse<byte[]>> sent = clientFor(profile)
+            .sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        CompletableFuture<HttpResponse<byte[]>> exchange = sent;
+        if (profile.getTotalTimeout() > 0) {
+            // orTimeout only stops waiting; cancelling the client's own future aborts the exchange
+            // and releases its connection instead of letting the response keep trickling in
+            exchange = sent.copy()
+                .orTimeout(profile.getTotalTimeout(), TimeUnit.MILLISECONDS)
+                .whenComplete((httpResponse, error) -> {
+                    if (error instanceof TimeoutException) {
+                        sent.cancel(true);
+                    }
+                });
+        }
+        stats.recordSent();
+        return exchange
+            .handle((httpResponse, error) -> {
+                if (error != null) {
+                    stats.recordFailure();
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                    LOGGER.error("Request failed: {}", cause.getMessage());
+                    if (cause instanceof HttpTimeoutException) {
+                        throw new RuntimeException("Request timed out: " + cause.getMessage(), cause);
+                    }
+                    if (cause instanceof TimeoutException) {
+                        throw new RuntimeException("Request timed out: no response within the total timeout of "
+                            + profile.getTotalTimeout() + "ms", cause);
+                    }
+                    throw new CompletionException(cause);
+                }
+                stats.recordResponse(protocolOf(httpResponse.version()));
+                return toResponse(httpResponse);
+            });
+    }
+
+    @Override
+    public TransportStats getStats() {
+        return stats;
+    }
+
+    private static ClientProfile profileOf(ResolvedRequest request) {
+        return request.getClientProfile() != null ? request.getClientProfile() : new ClientProfile();
+    }
+
+    private HttpClient clientFor(ClientProfile profile) {
+        String key = profile.getName() + "/" + profile.getConnectTimeout();
+        return clients.computeIfAbsent(key, name -> {
+            LOGGER.debug("Creating HTTP client for {}", profile);
+            applyPoolProperties(profile);
+            return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(profile.getConnectTimeout()))
+                .build();
+        });
+    }
+
+    /**
+     * Set the JVM-wide pool properties of the JDK client, unless they are set already.
+     * They only take effect if no JDK client has been created yet.
+     */
+    private static synchronized void applyPoolProperties(ClientProfile profile) {
+        if (System.getProperty(POOL_SIZE_PROPERTY) == null) {
+            System.setProperty(POOL_SIZE_PROPERTY, String.valueOf(profile.getPoolSize()));
+        }
+        if (System.getProperty(KEEP_ALIVE_PROPERTY) == null) {
+            // In seconds, at least one
+            System.setProperty(KEEP_ALIVE_PROPERTY, String.valueOf(Math.max(1, profile.getKeepAlive() / 1000)));
+        }
+    }
+
+    private HttpRequest buildRequest(ResolvedRequest request) {
+        HttpRequest.BodyPublisher body = request.getBody() != null
+            ? HttpRequest.BodyPublishers.ofString(request.getBody())
+            : HttpRequest.BodyPublishers.noBody();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getUrl()))
+            .method(request.getMethod(), body);
+        // The JDK client's request timeout covers the wait for the response headers
+        int readTimeout = profileOf(request).getReadTimeout();
+        if (readTimeout > 0) {
+            builder.timeout(Duration.ofMillis(readTimeout));
+        }
+        
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            addHeader(builder, header.getKey(), header.getValue());
+        }
+        if (request.getUser() != null) {
+            for (Map.Entry<String, String> header : authHandler.getAuthenticationHeaders(request.getUser()).entrySet()) {
+                addHeader(builder, header.getKey(), header.getValue());
+            }
+        }
+        return builder.build();
+    }
+
+    private static void addHeader(HttpRequest.Builder builder, String name, String value) {
+        if (RESTRICTED_HEADERS.contains(name)) {
+            LOGGER.debug("Not sending header '{}', the HTTP client sets it itself", name);
+            return;
+        }
+        builder.header(name, value);
+    }
+
+    /**
+     * Convert a JDK response into a RestAssured response, so that assertions and extractions
+     * work the same for every transport.
+     */
+    private static Response toResponse(HttpResponse<byte[]> httpResponse) {
+        List<Header> headers = new ArrayList<>();
+        httpResponse.headers().map().forEach((name, values) -> {
+            // HTTP/2 pseudo-headers such as :status are not response headers
+            if (!name.startsWith(":")) {
+                for (String value : values) {
+                    headers.add(new Header(name, value));
+                }
+            }
+        });
+        String protocol = protocolOf(httpResponse.version());
+        ResponseBuilder builder = new ResponseBuilder()
+            .setStatusCode(httpResponse.statusCode())
+            .setStatusLine(protocol + " " + httpResponse.statusCode())
+            .setHeaders(new Headers(headers))
+            .setBody(httpResponse.body());
+        httpResponse.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        return builder.build();
+    }
+
+    private static String protocolOf(HttpClient.Version version) {
+        return version == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+    }
+}
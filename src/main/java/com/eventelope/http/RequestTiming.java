@@ -0,0 +1,22 @@
+package com.eventelope.http;
+
+/**
+ * Time a request spent waiting inside RestClient before it was sent, so that callers can keep
+ * it out of the measured request latency.
+ */
+public class RequestTiming {
+    private volatile long permitWaitNanos;
+
+    /**
+     * Get the time the request waited for a rate limit permit.
+     *
+     * @return The wait in nanoseconds, 0 if it was sent right away
+     */
+    public long getPermitWaitNanos() {
+        return permitWaitNanos;
+    }
+
+    void setPermitWaitNanos(long permitWaitNanos) {
+        this.permitWaitNanos = permitWaitNanos;
+    }
+}
@@ -0,0 +1,96 @@
+package com.eventelope.http;
+
+import com.eventelope.config.ClientProfile;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An ApiRequest with all variables and templates substituted: the exact request that goes on the wire.
+ */
+public class ResolvedRequest {
+    private final String method;
+    private final String url;
+    private final Map<String, String> headers;
+    private final String body;
+    private final String user;
+    private final String service;
+    private final ClientProfile clientProfile;
+
+    /**
+     * Create a resolved request.
+     *
+     * @param method The HTTP method
+     * @param url The absolute URL
+     * @param headers The request headers, in the order they are sent
+     * @param body The request body, or null if the request has none
+     * @param user The configured user whose authentication is applied, or null
+     * @param service The service the request is sent to, or null if not specified
+     * @param clientProfile The client settings to send the request with
+     */
+    public ResolvedRequest(String method, String url, Map<String, String> headers, String body, String user,
+                           String service, ClientProfile clientProfile) {
+        this.method = method;
+        this.url = url;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        this.body = body;
+        this.user = user;
+        this.service = service;
+        this.clientProfile = clientProfile;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public ClientProfile getClientProfile() {
+        return clientProfile;
+    }
+
+    /**
+     * Build a key that is equal for requests that would send the same bytes.
+     *
+     * @return The identity key of the request
+     */
+    public String identityKey() {
+        StringBuilder key = new StringBuilder();
+        key.append(method).append(' ').append(url).append('\n');
+        for (Map.Entry<String, String> header : new TreeMap<>(headers).entrySet()) {
+            key.append(header.getKey().toLowerCase()).append(": ").append(header.getValue()).append('\n');
+        }
+        if (user != null) {
+            key.append("user: ").append(user).append('\n');
+        }
+        if (body != null) {
+            key.append('\n').append(body);
+        }
+        return key.toString();
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + url;
+    }
+}
@@ -0,0 +1,162 @@
+package com.eventelope.http;
+
+import com.eventelope.auth.AuthenticationHandler;
+import com.eventelope.config.ClientProfile;
+import com.eventelope.core.WorkerPools;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends requests with RestAssured, which builds a request specification per request and uses
+ * Apache HttpClient 4 (HTTP/1.1 only). This is the default transport. Each client profile gets
+ * one reused HttpClient with its own connection pool, connect timeout and read timeout.
+ */
+public class RestAssuredTransport implements HttpTransport {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestAssuredTransport.class);
+    private final AuthenticationHandler authHandler = new AuthenticationHandler();
+    // RestAssured configs by client profile key; each one holds a reused HttpClient
+    private final Map<String, RestAssuredConfig> configs = new ConcurrentHashMap<>();
+    private final TransportStats stats = new TransportStats(configs::size);
+    // Runs requests that have a total timeout, so the caller can stop waiting for them
+    private final ExecutorService deadlinePool = WorkerPools.newCachedPool("eventelope-request-deadline");
+
+    @Override
+    public Response send(ResolvedRequest request) {
+        ClientProfile profile = request.getClientProfile() != null ? request.getClientProfile() : new ClientProfile();
+        RequestSpecification requestSpec = RestAssured.given()
+                .config(configFor(profile));
+        
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            requestSpec.header(header.getKey(), header.getValue());
+        }
+        
+        // Add authentication if user is specified
+        if (request.getUser() != null) {
+            authHandler.applyAuthentication(requestSpec, request.getUser());
+        }
+        
+        // Add the payload as the request body
+        if (request.getBody() != null) {
+            requestSpec.body(request.getBody());
+        }
+        
+        Response response;
+        stats.recordSent();
+        try {
+            response = profile.getTotalTimeout() > 0
+                ? executeWithDeadline(requestSpec, request, profile.getTotalTimeout())
+                : execute(requestSpec, request);
+        } catch (RuntimeException e) {
+            stats.recordFailure();
+            LOGGER.error("Request failed: {}", e.getMessage());
+            if (e.getMessage() != null && (e.getMessage().contains("timeout") || e.getMessage().contains("timed out"))) {
+                LOGGER.error("Request timed out: {}", e.getMessage());
+                throw new RuntimeException("Request timed out: " + e.getMessage(), e);
+            }
+            throw e;
+        }
+        stats.recordResponse(protocolOf(response));
+        return response;
+    }
+
+    @Override
+    public TransportStats getStats() {
+        return stats;
+    }
+
+    private Response execute(RequestSpecification requestSpec, ResolvedRequest request) {
+        String endpoint = request.getUrl();
+        
+        // Execute the request based on method
+        switch (request.getMethod()) {
+            case "GET":
+                return requestSpec.get(endpoint);
+            case "POST":
+                return requestSpec.post(endpoint);
+            case "PUT":
+                return requestSpec.put(endpoint);
+            case "DELETE":
+                return requestSpec.delete(endpoint);
+            case "PATCH":
+                return requestSpec.patch(endpoint);
+            case "HEAD":
+                return requestSpec.head(endpoint);
+            case "OPTIONS":
+                return requestSpec.options(endpoint);
+            default:
+                throw new IllegalArgumentException("Unsupported HTTP method: " + request.getMethod());
+        }
+    }
+
+    /**
+     * Execute a request, giving up when the whole exchange takes longer than the total timeout.
+     * Apache HttpClient 4 only has connect and per-read timeouts, so a slowly trickling response
+     * is cut off here instead. The abandoned exchange ends at the latest with its read timeout.
+     */
+    private Response executeWithDeadline(RequestSpecification requestSpec, ResolvedRequest request, int totalTimeout) {
+        Future<Response> exchange = deadlinePool.submit(() -> execute(requestSpec, request));
+        try {
+            return exchange.get(totalTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            exchange.cancel(true);
+            throw new RuntimeException("No response within the total timeout of " + totalTimeout + "ms", e);
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for " + request, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private RestAssuredConfig configFor(ClientProfile profile) {
+        return configs.computeIfAbsent(profile.key(), key -> {
+            LOGGER.debug("Creating HTTP client for {}", profile);
+            HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                .setParam("http.connection.timeout", profile.getConnectTimeout())
+                .setParam("http.socket.timeout", profile.getReadTimeout())
+                .httpClientFactory(() -> newPooledClient(profile))
+                .reuseHttpClientInstance();
+            return RestAssuredConfig.config().httpClient(httpClientConfig);
+        });
+    }
+
+    private static DefaultHttpClient newPooledClient(ClientProfile profile) {
+        PoolingClientConnectionManager pool = new PoolingClientConnectionManager(
+            SchemeRegistryFactory.createDefault(), profile.getKeepAlive(), TimeUnit.MILLISECONDS);
+        pool.setMaxTotal(profile.getPoolSize());
+        pool.setDefaultMaxPerRoute(profile.getPoolSize());
+        DefaultHttpClient client = new DefaultHttpClient(pool);
+        // Reuse idle connections for the profile's keep-alive, whatever the server suggests
+        client.setKeepAliveStrategy((response, context) -> profile.getKeepAlive());
+        return client;
+    }
+
+    private static String protocolOf(Response response) {
+        String statusLine = response.getStatusLine();
+        if (statusLine == null || statusLine.isEmpty()) {
+            return "HTTP/1.1";
+        }
+        int space = statusLine.indexOf(' ');
+        return space > 0 ? statusLine.substring(0, space) : statusLine;
+    }
+}
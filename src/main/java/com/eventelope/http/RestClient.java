@@ -1,32 +1,108 @@
 package com.eventelope.http;
 
-import com.eventelope.auth.AuthenticationHandler;
+import com.eventelope.config.ClientProfile;
+import com.eventelope.config.ClientProfiles;
+import com.eventelope.config.ConfigLoader;
 import com.eventelope.context.TestContext;
 import com.eventelope.model.ApiRequest;
+import com.eventelope.resilience.CircuitBreaker;
+import com.eventelope.resilience.CircuitBreakers;
+import com.eventelope.resilience.CircuitOpenException;
+import com.eventelope.resilience.RateLimiters;
 import com.eventelope.template.TemplateProcessor;
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
-import io.restassured.specification.RequestSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Handles HTTP requests using RestAssured.
+ * Handles HTTP requests: resolves variables, templates and endpoints, and sends the result
+ * through an HTTP transport (RestAssured by default).
  */
 public class RestClient {
     private static final Logger LOGGER = LoggerFactory.getLogger(RestClient.class);
-    private final AuthenticationHandler authHandler = new AuthenticationHandler();
     private final TemplateProcessor templateProcessor = new TemplateProcessor();
+    private final HttpTransport transport;
+    private final WireLog wireLog;
+    // Profiles for requests that were not created by the parser and so have none resolved
+    private final ClientProfiles clientProfiles = ClientProfiles.load();
+    // Spaces out the requests to rate limited services and hosts
+    private final RateLimiters rateLimiters = new RateLimiters(new ConfigLoader().loadHostRateLimits());
+    // Limits the requests in flight per service, for services with a maxInFlight setting
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    // Fails requests fast while a service with a circuitBreaker setting keeps failing
+    private final CircuitBreakers circuitBreakers = new CircuitBreakers();
 
-    // Default base URL for relative paths
-    private static final String DEFAULT_BASE_URL = "https://jsonplaceholder.typicode.com";
-    
-    // Default timeout values in milliseconds (not currently used)
-    private static final int DEFAULT_TIMEOUT = 30000;
+    public RestClient() {
+        this(new RestAssuredTransport());
+    }
+
+    /**
+     * Create a client that sends its requests through the given transport.
+     *
+     * @param transport The HTTP transport
+     */
+    public RestClient(HttpTransport transport) {
+        this(transport, new WireLog(WireLogPolicy.parse("failures", WireLogPolicy.DEFAULT_BODY_LIMIT)));
+    }
+
+    /**
+     * Create a client that sends its requests through the given transport and logs them to the given wire log.
+     *
+     * @param transport The HTTP transport
+     * @param wireLog The wire log
+     */
+    public RestClient(HttpTransport transport, WireLog wireLog) {
+        this.transport = transport;
+        this.wireLog = wireLog;
+    }
+
+    public HttpTransport getTransport() {
+        return transport;
+    }
+
+    public WireLog getWireLog() {
+        return wireLog;
+    }
+
+    /**
+     * Get the number of requests per service that were rejected because its bulkhead stayed full.
+     *
+     * @return Rejected requests by service name, for services with a bulkhead
+     */
+    public Map<String, Long> getBulkheadRejections() {
+        Map<String, Long> rejections = new TreeMap<>();
+        bulkheads.forEach((service, bulkhead) -> rejections.put(service, bulkhead.getRejected()));
+        return rejections;
+    }
+
+    /**
+     * Forget the resilience state of earlier runs: circuit breakers, bulkheads and rate limiter
+     * reservations. Connection pools are kept.
+     */
+    public void resetRunState() {
+        circuitBreakers.reset();
+        bulkheads.clear();
+        rateLimiters.reset();
+    }
+
+    /**
+     * Get the circuit breakers of the services that have one, sorted by service name.
+     *
+     * @return Circuit breakers by service name
+     */
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return circuitBreakers.getBreakers();
+    }
 
     /**
      * Execute an HTTP request and return the response.
@@ -46,144 +122,295 @@ public class RestClient {
      * @return The HTTP response
      */
     public Response executeRequest(ApiRequest request, TestContext context) {
-        // Process endpoint with variable substitution if context is provided
-        String endpoint = request.getEndpoint();
-        if (context != null && endpoint != null) {
-            if (!request.getTemplateVariables().isEmpty()) {
-                // Use the TemplateProcessor to handle both ${var} and {{template}} variables
-                endpoint = templateProcessor.processTemplate(endpoint, request.getTemplateVariables(), context);
-                LOGGER.debug("Endpoint after template processing: {}", endpoint);
-            } else {
-                // Backward compatibility: use the old variable replacement method
-                endpoint = replaceVariables(endpoint, context);
-            }
+        return executeRequest(request, context, null);
+    }
+    
+    /**
+     * Execute an HTTP request to a service with variable substitution and return the response.
+     *
+     * @param request The API request to execute
+     * @param context The test context containing variables to substitute
+     * @param service The service the request is sent to, or null if not specified
+     * @return The HTTP response
+     */
+    public Response executeRequest(ApiRequest request, TestContext context, String service) {
+        return await(executeRequestAsync(request, context, service));
+    }
+    
+    /**
+     * Execute an HTTP request with variable substitution without waiting for the response.
+     *
+     * @param request The API request to execute
+     * @param context The test context containing variables to substitute
+     * @return Future completing with the HTTP response
+     */
+    public CompletableFuture<Response> executeRequestAsync(ApiRequest request, TestContext context) {
+        return executeRequestAsync(request, context, null);
+    }
+    
+    /**
+     * Execute an HTTP request to a service with variable substitution without waiting for the response.
+     * Variables and templates are resolved on the calling thread; with a non-blocking transport no
+     * thread is held while the request is in flight or waits for a slot of its service.
+     *
+     * @param request The API request to execute
+     * @param context The test context containing variables to substitute
+     * @param service The service the request is sent to, or null if not specified
+     * @return Future completing with the HTTP response, or failing with the request's error
+     */
+    public CompletableFuture<Response> executeRequestAsync(ApiRequest request, TestContext context, String service) {
+        return executeRequestAsync(request, context, service, new RequestTiming());
+    }
+    
+    /**
+     * Execute an HTTP request to a service without waiting for the response, reporting how long
+     * it waited before it was sent.
+     *
+     * @param request The API request to execute
+     * @param context The test context containing variables to substitute
+     * @param service The service the request is sent to, or null if not specified
+     * @param timing Receives the time the request waited for a rate limit permit
+     * @return Future completing with the HTTP response, or failing with the request's error
+     */
+    public CompletableFuture<Response> executeRequestAsync(ApiRequest request, TestContext context, String service,
+                                                           RequestTiming timing) {
+        ResolvedRequest resolved;
+        try {
+            resolved = resolveRequest(request, context, service);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
-        endpoint = processEndpoint(endpoint);
         
-        // Log the timeout settings but don't apply them yet
-        int connectionTimeout = request.getConnectionTimeout();
-        int timeout = request.getTimeout();
+        ClientProfile profile = resolved.getClientProfile();
+        LOGGER.info("Executing {} request to {} with timeout settings: connection={}ms, socket={}ms", 
+            resolved.getMethod(), resolved.getUrl(), profile.getConnectTimeout(), profile.getReadTimeout());
         
-        if (connectionTimeout > 0 || timeout > 0) {
-            LOGGER.info("Executing {} request to {} with timeout settings: connection={}ms, socket={}ms", 
-                request.getMethod(), endpoint, 
-                connectionTimeout > 0 ? connectionTimeout : "default", 
-                timeout > 0 ? timeout : "default");
-        } else {
-            LOGGER.info("Executing {} request to {}", request.getMethod(), endpoint);
-        }
+        return sendAsync(resolved, timing);
+    }
+    
+    /**
+     * Substitute variables and templates in a request and resolve its endpoint into an absolute URL.
+     *
+     * @param request The API request
+     * @param context The test context containing variables to substitute, or null
+     * @return The resolved request
+     */
+    public ResolvedRequest resolveRequest(ApiRequest request, TestContext context) {
+        return resolveRequest(request, context, null);
+    }
+    
+    /**
+     * Substitute variables and templates in a request to a service and resolve its endpoint into an absolute URL.
+     *
+     * @param request The API request
+     * @param context The test context containing variables to substitute, or null
+     * @param service The service the request is sent to, or null if not specified
+     * @return The resolved request
+     */
+    public ResolvedRequest resolveRequest(ApiRequest request, TestContext context, String service) {
+        ClientProfile profile = request.getClientProfile() != null
+            ? request.getClientProfile()
+            : clientProfiles.resolve(service, request.getConnectionTimeout(), request.getTimeout());
         
-        RequestSpecification requestSpec = RestAssured.given()
-                .log().all();  // Log all request details
+        // Process endpoint with variable substitution if context is provided
+        String endpoint = substitute(request.getEndpoint(), request, context);
+        LOGGER.debug("Endpoint after substitution: {}", endpoint);
+        endpoint = processEndpoint(endpoint, profile.getBaseUrl());
         
         // Add headers with variable and template substitution
+        Map<String, String> headers = new LinkedHashMap<>();
         if (request.getHeaders() != null) {
             for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
-                String headerName = header.getKey();
-                String headerValue = header.getValue();
-                
-                // Process header value if context is available
-                if (context != null && headerValue != null) {
-                    if (!request.getTemplateVariables().isEmpty()) {
-                        // Use template processor for headers as well
-                        headerValue = templateProcessor.processTemplate(headerValue, request.getTemplateVariables(), context);
-                        LOGGER.debug("Header '{}' value after template processing: {}", headerName, headerValue);
-                    } else {
-                        // Backward compatibility
-                        headerValue = replaceVariables(headerValue, context);
-                    }
-                }
-                
-                requestSpec.header(headerName, headerValue);
+                headers.put(header.getKey(), substitute(header.getValue(), request, context));
             }
         }
         
-        // Add authentication if user is specified
-        if (request.getUser() != null) {
-            authHandler.applyAuthentication(requestSpec, request.getUser());
-        }
-        
         // Add payload for POST, PUT, PATCH methods
+        String body = null;
         if (request.getPayload() != null && 
             (request.getMethod().equals("POST") || 
              request.getMethod().equals("PUT") || 
              request.getMethod().equals("PATCH"))) {
             
             // If Content-Type is not set, default to application/json
-            if (!request.getHeaders().containsKey("Content-Type") && 
-                !request.getHeaders().containsKey("content-type")) {
-                requestSpec.header("Content-Type", "application/json");
+            if (!headers.containsKey("Content-Type") && !headers.containsKey("content-type")) {
+                headers.put("Content-Type", "application/json");
             }
             
             // Process payload with both variable and template substitution
-            String payload = request.getPayload();
-            if (context != null) {
-                if (!request.getTemplateVariables().isEmpty()) {
-                    // Use the TemplateProcessor to handle both ${var} and {{template}} variables
-                    payload = templateProcessor.processTemplate(payload, request.getTemplateVariables(), context);
-                    LOGGER.debug("Payload after template processing: {}", payload);
+            body = substitute(request.getPayload(), request, context);
+            LOGGER.debug("Payload after substitution: {}", body);
+        }
+        
+        return new ResolvedRequest(request.getMethod(), endpoint, headers, body, request.getUser(), service, profile);
+    }
+    
+    /**
+     * Send a resolved request and return the response.
+     *
+     * @param request The resolved request
+     * @return The HTTP response
+     */
+    public Response send(ResolvedRequest request) {
+        return await(sendAsync(request));
+    }
+    
+    /**
+     * Send a resolved request without waiting for the response.
+     *
+     * @param request The resolved request
+     * @return Future completing with the HTTP response
+     */
+    public CompletableFuture<Response> sendAsync(ResolvedRequest request) {
+        return sendAsync(request, new RequestTiming());
+    }
+    
+    /**
+     * Send a resolved request without waiting for the response.
+     * Requests to a service whose circuit is open fail at once with a CircuitOpenException.
+     * Requests to a rate limited service or host first wait for a permit, unless the transport
+     * replays them without the network. Then requests to a service
+     * with a maxInFlight setting wait for a free slot of its bulkhead, and fail if none frees up
+     * within the service's queue timeout.
+     *
+     * @param request The resolved request
+     * @param timing Receives the time the request waited for a rate limit permit
+     * @return Future completing with the HTTP response
+     */
+    public CompletableFuture<Response> sendAsync(ResolvedRequest request, RequestTiming timing) {
+        ClientProfile profile = request.getClientProfile();
+        String serviceName = profile != null ? profile.getName() : ClientProfile.DEFAULT;
+        CircuitBreaker breaker = circuitBreakers.forService(serviceName, 
+            profile != null ? profile.getCircuitBreaker() : null);
+        CircuitBreaker.Call call;
+        try {
+            call = breaker != null ? breaker.tryAcquire() : null;
+        } catch (CircuitOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        // Rate limits protect real servers, so replayed requests don't wait for permits
+        CompletableFuture<Long> permit = transport.usesNetwork()
+            ? rateLimiters.acquire(serviceName, profile != null ? profile.getRateLimit() : null, hostOf(request.getUrl()))
+            : CompletableFuture.completedFuture(0L);
+        CompletableFuture<Response> sent = permit
+            .thenCompose(waitNanos -> {
+                timing.setPermitWaitNanos(waitNanos);
+                return sendThroughBulkhead(request, call);
+            });
+        if (call == null) {
+            return sent;
+        }
+        // Requests that never reached the transport, e.g. rejected by the bulkhead, don't count
+        return sent.whenComplete((response, error) -> call.ignore());
+    }
+
+    private CompletableFuture<Response> sendThroughBulkhead(ResolvedRequest request, CircuitBreaker.Call call) {
+        ClientProfile profile = request.getClientProfile();
+        if (profile == null || profile.getMaxInFlight() <= 0) {
+            return sendAndLog(request, call);
+        }
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(profile.getName(), 
+            name -> new Bulkhead(name, profile.getMaxInFlight(), profile.getQueueTimeout()));
+        return bulkhead.acquire()
+            .thenCompose(ignored -> sendAndLog(request, call)
+                .whenComplete((response, error) -> bulkhead.release()));
+    }
+
+    private CompletableFuture<Response> sendAndLog(ResolvedRequest request, CircuitBreaker.Call call) {
+        long start = System.nanoTime();
+        CompletableFuture<Response> exchange;
+        try {
+            exchange = transport.sendAsync(request);
+        } catch (RuntimeException e) {
+            exchange = CompletableFuture.failedFuture(e);
+        }
+        return exchange.whenComplete((response, error) -> {
+            if (error != null) {
+                wireLog.recordFailure(request, unwrap(error));
+            } else {
+                wireLog.record(request, response, System.nanoTime() - start);
+            }
+            if (call != null) {
+                // No response or a server error counts against the service; client errors are the test's business
+                if (error != null || response.getStatusCode() >= 500) {
+                    call.failure();
                 } else {
-                    // Backward compatibility: use the old variable replacement method
-                    payload = replaceVariables(payload, context);
-                    LOGGER.debug("Payload after variable replacement: {}", payload);
+                    call.success();
                 }
             }
-            
-            // Add the payload as the request body
-            requestSpec.body(payload);
-        }
-        
-        // Execute the request based on method
-        Response response;
+        });
+    }
+    
+    /**
+     * Wait for a request, rethrowing its error as the blocking API would.
+     */
+    private static Response await(CompletableFuture<Response> response) {
         try {
-            switch (request.getMethod()) {
-                case "GET":
-                    response = requestSpec.get(endpoint);
-                    break;
-                case "POST":
-                    response = requestSpec.post(endpoint);
-                    break;
-                case "PUT":
-                    response = requestSpec.put(endpoint);
-                    break;
-                case "DELETE":
-                    response = requestSpec.delete(endpoint);
-                    break;
-                case "PATCH":
-                    response = requestSpec.patch(endpoint);
-                    break;
-                case "HEAD":
-                    response = requestSpec.head(endpoint);
-                    break;
-                case "OPTIONS":
-                    response = requestSpec.options(endpoint);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unsupported HTTP method: " + request.getMethod());
+            return response.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
-            
-            // Log response details
-            response.then().log().all();
-            
-            return response;
-        } catch (Exception e) {
-            LOGGER.error("Request failed: {}", e.getMessage());
-            if (e.getMessage().contains("timeout") || e.getMessage().contains("timed out")) {
-                LOGGER.error("Request timed out: {}", e.getMessage());
-                throw new RuntimeException("Request timed out: " + e.getMessage(), e);
+            if (cause instanceof Error) {
+                throw (Error) cause;
             }
-            throw e;
+            throw new RuntimeException(cause.getMessage() != null ? cause.getMessage() : cause.toString(), cause);
         }
     }
+
+    private static String hostOf(String url) {
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+    
+    /**
+     * Substitute ${var} and {{template}} references in a request value.
+     *
+     * @param value The value to process
+     * @param request The request the value belongs to, for its template variables
+     * @param context The test context, or null to leave the value unchanged
+     * @return The processed value
+     */
+    private String substitute(String value, ApiRequest request, TestContext context) {
+        if (context == null || value == null) {
+            return value;
+        }
+        if (!request.getTemplateVariables().isEmpty()) {
+            // Use the TemplateProcessor to handle both ${var} and {{template}} variables
+            return templateProcessor.processTemplate(value, request.getTemplateVariables(), context);
+        }
+        // Backward compatibility: use the old variable replacement method
+        return replaceVariables(value, context);
+    }
+    
+    /**
+     * Resolve an endpoint of a service into an absolute URL, without substituting variables.
+     *
+     * @param endpoint The endpoint, absolute or relative
+     * @param service The service the endpoint belongs to, or null
+     * @return The absolute URL
+     */
+    public String resolveEndpoint(String endpoint, String service) {
+        return processEndpoint(endpoint, clientProfiles.resolve(service, 0, 0).getBaseUrl());
+    }
     
     /**
      * Process the endpoint URL to handle both absolute and relative paths.
-     * For relative paths (starting with /), prepend the default base URL.
+     * For relative paths (starting with /), prepend the base URL of the request's service.
      *
      * @param endpoint The endpoint URL from the request
+     * @param baseUrl The base URL of the service
      * @return The processed endpoint URL
      */
-    private String processEndpoint(String endpoint) {
+    private String processEndpoint(String endpoint, String baseUrl) {
         if (endpoint == null || endpoint.isEmpty()) {
             throw new IllegalArgumentException("Endpoint cannot be null or empty");
         }
@@ -193,13 +420,13 @@ public class RestClient {
             return endpoint;
         }
         
-        // If it's a relative path (starts with /), append to default base URL
+        // If it's a relative path (starts with /), append to the service's base URL
         if (endpoint.startsWith("/")) {
-            return DEFAULT_BASE_URL + endpoint;
+            return baseUrl + endpoint;
         }
         
-        // If it doesn't start with /, add a / and append to default base URL
-        return DEFAULT_BASE_URL + "/" + endpoint;
+        // If it doesn't start with /, add a / and append to the service's base URL
+        return baseUrl + "/" + endpoint;
     }
     
     /**
@@ -0,0 +1,98 @@
+package com.eventelope.http;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Request and connection statistics of an HTTP transport. Counters are updated concurrently
+ * by the requests in flight.
+ */
+public class TransportStats {
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    // Completed responses per negotiated protocol, e.g. HTTP/1.1 or HTTP/2
+    private final Map<String, AtomicLong> responsesByProtocol = new ConcurrentHashMap<>();
+    private final IntSupplier clients;
+
+    /**
+     * Create the statistics of a transport.
+     *
+     * @param clients Reports the number of HTTP clients (connection pools) the transport holds
+     */
+    public TransportStats(IntSupplier clients) {
+        this.clients = clients;
+    }
+
+    /**
+     * Record a request that is about to be sent.
+     */
+    public void recordSent() {
+        sent.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Record a response.
+     *
+     * @param protocol The protocol the response arrived with
+     */
+    public void recordResponse(String protocol) {
+        inFlight.decrementAndGet();
+        responsesByProtocol.computeIfAbsent(protocol, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Record a request that failed without a response.
+     */
+    public void recordFailure() {
+        inFlight.decrementAndGet();
+        failed.incrementAndGet();
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public int getClients() {
+        return clients.getAsInt();
+    }
+
+    /**
+     * Get the number of responses per protocol, sorted by protocol.
+     */
+    public Map<String, Long> getResponsesByProtocol() {
+        Map<String, Long> responses = new TreeMap<>();
+        responsesByProtocol.forEach((protocol, count) -> responses.put(protocol, count.get()));
+        return responses;
+    }
+
+    @Override
+    public String toString() {
+        return "TransportStats{" +
+                "sent=" + sent +
+                ", failed=" + failed +
+                ", inFlight=" + inFlight +
+                ", maxInFlight=" + maxInFlight +
+                ", clients=" + getClients() +
+                ", responsesByProtocol=" + getResponsesByProtocol() +
+                '}';
+    }
+}
@@ -0,0 +1,217 @@
+package com.eventelope.http;
+
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes HTTP exchanges to the "com.eventelope.wire" logger according to a wire log policy.
+ * Exchanges are formatted and written by a background thread, so sending threads only pay for
+ * handing them over; when the writer falls behind, exchanges are dropped and counted instead of
+ * slowing down the run. The most recent exchanges are kept in a bounded buffer, so that the
+ * exchange of a failed step can be logged in full after its assertions have been checked.
+ */
+public class WireLog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WireLog.class);
+    private static final Logger WIRE = LoggerFactory.getLogger("com.eventelope.wire");
+    private static final int WRITE_QUEUE_CAPACITY = 1024;
+    private static final int DEFAULT_BUFFER_CAPACITY = 256;
+
+    private final WireLogPolicy policy;
+    private final int bufferCapacity;
+    // Most recent exchanges, newest first
+    private final Deque<Exchange> recent = new ArrayDeque<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ThreadPoolExecutor writer;
+
+    /**
+     * Create a wire log that keeps the default number of recent exchanges.
+     *
+     * @param policy What is logged
+     */
+    public WireLog(WireLogPolicy policy) {
+        this(policy, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Create a wire log.
+     *
+     * @param policy What is logged
+     * @param bufferCapacity Number of recent exchanges kept for failed steps
+     */
+    public WireLog(WireLogPolicy policy, int bufferCapacity) {
+        this.policy = policy;
+        this.bufferCapacity = bufferCapacity;
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, 
+            new ArrayBlockingQueue<>(WRITE_QUEUE_CAPACITY), 
+            runnable -> {
+                Thread thread = new Thread(runnable, "eventelope-wire-log");
+                thread.setDaemon(true);
+                return thread;
+            }, 
+            (rejected, executor) -> dropped.incrementAndGet());
+    }
+
+    /**
+     * Record a completed exchange.
+     *
+     * @param request The request that was sent
+     * @param response The response
+     * @param elapsedNanos Time from sending the request to receiving the response
+     */
+    public void record(ResolvedRequest request, Response response, long elapsedNanos) {
+        if (!policy.keepsExchanges()) {
+            return;
+        }
+        Exchange exchange = new Exchange(request, response, elapsedNanos);
+        synchronized (recent) {
+            recent.addFirst(exchange);
+            if (recent.size() > bufferCapacity) {
+                recent.removeLast();
+            }
+        }
+        if (policy.logsExchange()) {
+            boolean bodies = policy.logsBodies();
+            writer.execute(() -> WIRE.info(format(exchange, bodies, policy.getBodyLimit())));
+        }
+    }
+
+    /**
+     * Record a request that failed without a response, e.g. on a connection error or timeout.
+     *
+     * @param request The request that was sent
+     * @param error The error
+     */
+    public void recordFailure(ResolvedRequest request, Throwable error) {
+        if (!policy.keepsExchanges()) {
+            return;
+        }
+        writer.execute(() -> WIRE.warn(formatRequest(request, true, policy.getBodyLimit()) 
+            + "< no response: " + error.getMessage()));
+    }
+
+    /**
+     * Log the exchange of a failed step in full, if it is still in the buffer.
+     *
+     * @param stepName Name of the failed step
+     * @param response The response the step failed on
+     */
+    public void logFailedExchange(String stepName, Response response) {
+        if (!policy.keepsExchanges() || response == null) {
+            return;
+        }
+        Exchange exchange = null;
+        synchronized (recent) {
+            for (Iterator<Exchange> it = recent.iterator(); it.hasNext(); ) {
+                Exchange candidate = it.next();
+                if (candidate.response == response) {
+                    exchange = candidate;
+                    it.remove();
+                    break;
+                }
+            }
+        }
+        if (exchange == null) {
+            LOGGER.debug("Exchange of failed step '{}' is no longer buffered", stepName);
+            return;
+        }
+        Exchange failed = exchange;
+        writer.execute(() -> WIRE.warn("Exchange of failed step '{}':\n{}", stepName, format(failed, true, 0)));
+    }
+
+    /**
+     * Wait until the exchanges handed over so far are written.
+     *
+     * @param timeoutMs Maximum time to wait in milliseconds
+     */
+    public void flush(long timeoutMs) {
+        Future<?> marker;
+        try {
+            marker = writer.submit(() -> { });
+        } catch (RuntimeException e) {
+            return;
+        }
+        try {
+            marker.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.warn("Wire log not flushed within {}ms", timeoutMs);
+        }
+        if (dropped.get() > 0) {
+            LOGGER.warn("Wire log dropped {} exchanges because the writer fell behind", dropped.get());
+        }
+    }
+
+    public WireLogPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private static String format(Exchange exchange, boolean bodies, int bodyLimit) {
+        StringBuilder text = new StringBuilder(formatRequest(exchange.request, bodies, bodyLimit));
+        Response response = exchange.response;
+        text.append("< ").append(response.getStatusLine())
+            .append(" (").append(TimeUnit.NANOSECONDS.toMillis(exchange.elapsedNanos)).append(" ms)\n");
+        for (Header header : response.getHeaders()) {
+            text.append("< ").append(header.getName()).append(": ").append(header.getValue()).append('\n');
+        }
+        if (bodies) {
+            appendBody(text, "< ", response.getBody().asString(), bodyLimit);
+        }
+        return text.toString();
+    }
+
+    private static String formatRequest(ResolvedRequest request, boolean bodies, int bodyLimit) {
+        StringBuilder text = new StringBuilder();
+        text.append("> ").append(request.getMethod()).append(' ').append(request.getUrl()).append('\n');
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            text.append("> ").append(header.getKey()).append(": ").append(header.getValue()).append('\n');
+        }
+        if (bodies) {
+            appendBody(text, "> ", request.getBody(), bodyLimit);
+        }
+        return text.toString();
+    }
+
+    private static void appendBody(StringBuilder text, String prefix, String body, int bodyLimit) {
+        if (body == null || body.isEmpty()) {
+            return;
+        }
+        text.append(prefix).append('\n');
+        if (bodyLimit > 0 && body.length() > bodyLimit) {
+            text.append(body, 0, bodyLimit)
+                .append("... (").append(body.length() - bodyLimit).append(" more characters)\n");
+        } else {
+            text.append(body).append('\n');
+        }
+    }
+
+    private static final class Exchange {
+        private final ResolvedRequest request;
+        private final Response response;
+        private final long elapsedNanos;
+
+        Exchange(ResolvedRequest request, Response response, long elapsedNanos) {
+            this.request = request;
+            this.response = response;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.eventelope.http;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which HTTP exchanges are written to the wire log and how much of them.
+ * <ul>
+ *   <li>off: nothing is logged or kept</li>
+ *   <li>failures: only the exchanges of failed steps and failed requests (the default)</li>
+ *   <li>headers: request and status lines and headers of every exchange, without bodies</li>
+ *   <li>sampled:N: N percent of the exchanges in full, e.g. sampled:5</li>
+ *   <li>all: every exchange in full</li>
+ * </ul>
+ * Logged bodies are cut off after the body limit. Exchanges of failed steps are always logged
+ * with their full bodies, unless the level is off.
+ */
+public class WireLogPolicy {
+    public enum Level { OFF, FAILURES, HEADERS, SAMPLED, ALL }
+
+    public static final int DEFAULT_BODY_LIMIT = 2000;
+
+    private final Level level;
+    private final double samplePercent;
+    private final int bodyLimit;
+
+    /**
+     * Create a policy.
+     *
+     * @param level What is logged
+     * @param samplePercent Percentage of exchanges logged at the sampled level
+     * @param bodyLimit Maximum number of body characters logged per exchange, 0 for no limit
+     */
+    public WireLogPolicy(Level level, double samplePercent, int bodyLimit) {
+        if (samplePercent < 0 || samplePercent > 100) {
+            throw new IllegalArgumentException("Sample percentage must be between 0 and 100: " + samplePercent);
+        }
+        if (bodyLimit < 0) {
+            throw new IllegalArgumentException("Body limit must not be negative: " + bodyLimit);
+        }
+        this.level = level;
+        this.samplePercent = samplePercent;
+        this.bodyLimit = bodyLimit;
+    }
+
+    /**
+     * Parse a policy such as "failures", "headers" or "sampled:5".
+     *
+     * @param value The policy
+     * @param bodyLimit Maximum number of body characters logged per exchange, 0 for no limit
+     * @return The policy
+     */
+    public static WireLogPolicy parse(String value, int bodyLimit) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("sampled")) {
+            String percent = normalized.substring("sampled".length()).replace(":", "").replace("%", "").trim();
+            if (percent.isEmpty()) {
+                throw new IllegalArgumentException("Sampled wire logging needs a percentage, e.g. sampled:5");
+            }
+            try {
+                return new WireLogPolicy(Level.SAMPLED, Double.parseDouble(percent), bodyLimit);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid sample percentage in wire log policy: " + value);
+            }
+        }
+        try {
+            return new WireLogPolicy(Level.valueOf(normalized.toUpperCase(Locale.ROOT)), 0, bodyLimit);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown wire log policy '" + value 
+                + "', expected off, failures, headers, sampled:<percent> or all");
+        }
+    }
+
+    /**
+     * Decide if an exchange is logged when it completes, independent of the outcome of its step.
+     *
+     * @return true if the exchange is logged
+     */
+    public boolean logsExchange() {
+        switch (level) {
+            case HEADERS:
+            case ALL:
+                return true;
+            case SAMPLED:
+                return ThreadLocalRandom.current().nextDouble(100) < samplePercent;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Check if exchanges are kept, so that they can be logged when their step fails.
+     *
+     * @return true unless the level is off
+     */
+    public boolean keepsExchanges() {
+        return level != Level.OFF;
+    }
+
+    /**
+     * Check if bodies are logged for exchanges that are logged when they complete.
+     *
+     * @return false at the headers level
+     */
+    public boolean logsBodies() {
+        return level != Level.HEADERS;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public int getBodyLimit() {
+        return bodyLimit;
+    }
+
+    @Override
+    public String toString() {
+        String name = level.name().toLowerCase(Locale.ROOT);
+        return level == Level.SAMPLED ? name + ":" + samplePercent : name;
+    }
+}
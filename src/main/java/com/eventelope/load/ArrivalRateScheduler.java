@@ -0,0 +1,116 @@
+package com.eventelope.load;
+
+import com.eventelope.core.WorkerPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-model load generator that starts iterations at a constant arrival rate.
+ * The schedule is fixed up front (start + n / rate), so slow iterations never delay later ones.
+ * Each iteration receives its intended start time, allowing latency to be measured from the
+ * moment the request should have been sent. When every worker is busy at a scheduled start,
+ * the iteration is dropped and counted instead of being queued.
+ */
+public class ArrivalRateScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArrivalRateScheduler.class);
+    private final double ratePerSecond;
+    private final int maxWorkers;
+    private long scheduledIterations;
+    private long droppedIterations;
+
+    /**
+     * @param ratePerSecond Number of iterations to start per second
+     * @param maxWorkers Maximum number of iterations running at the same time
+     */
+    public ArrivalRateScheduler(double ratePerSecond, int maxWorkers) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + ratePerSecond);
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.maxWorkers = Math.max(1, maxWorkers);
+    }
+
+    /**
+     * Start iterations on schedule until the iteration limit or the deadline is reached,
+     * then wait for all running iterations to finish.
+     *
+     * @param maxIterations Maximum number of scheduled iterations, 0 for no limit
+     * @param deadlineNanos {@link System#nanoTime()} after which no more iterations are started
+     * @param iteration The iteration to run; receives its intended start time in nanoseconds
+     */
+    public void run(long maxIterations, long deadlineNanos, LongConsumer iteration) {
+        ExecutorService workers = WorkerPools.newPlatformPool(maxWorkers, "eventelope-arrival");
+        Semaphore idleWorkers = new Semaphore(maxWorkers);
+        double periodNanos = 1_000_000_000.0 / ratePerSecond;
+        long startNanos = System.nanoTime();
+        
+        try {
+            for (long i = 0; maxIterations == 0 || i < maxIterations; i++) {
+                long intendedStart = startNanos + (long) (i * periodNanos);
+                if (intendedStart - deadlineNanos >= 0) {
+                    break;
+                }
+                
+                long waitNanos;
+                while ((waitNanos = intendedStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                    if (Thread.currentThread().isInterrupted()) {
+                        LOGGER.warn("Arrival-rate generator interrupted");
+                        return;
+                    }
+                }
+                
+                scheduledIterations++;
+                if (!idleWorkers.tryAcquire()) {
+                    droppedIterations++;
+                    continue;
+                }
+                
+                workers.execute(() -> {
+                    try {
+                        iteration.accept(intendedStart);
+                    } finally {
+                        idleWorkers.release();
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                workers.shutdownNow();
+            }
+        }
+        
+        if (droppedIterations > 0) {
+            LOGGER.warn("Dropped {} of {} scheduled iterations because all {} workers were busy",
+                droppedIterations, scheduledIterations, maxWorkers);
+        }
+    }
+
+    /**
+     * Get the number of iterations whose start time was reached, including dropped ones.
+     *
+     * @return The number of scheduled iterations
+     */
+    public long getScheduledIterations() {
+        return scheduledIterations;
+    }
+
+    /**
+     * Get the number of iterations that were not started because no worker was free.
+     *
+     * @return The number of dropped iterations
+     */
+    public long getDroppedIterations() {
+        return droppedIterations;
+    }
+}
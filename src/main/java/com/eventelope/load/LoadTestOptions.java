@@ -0,0 +1,105 @@
+package com.eventelope.load;
+
+import java.time.Duration;
+
+/**
+ * Settings for running a test case repeatedly as a load scenario.
+ */
+public class LoadTestOptions {
+    private long iterations;       // Number of iterations to run, 0 means no limit
+    private int concurrency = 1;   // Number of iterations running at the same time
+    private Duration duration;     // Maximum run time, null means no limit
+    private double rate;           // Iterations started per second (open model), 0 means closed model
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(long iterations) {
+        this.iterations = Math.max(0, iterations);
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * Set a constant arrival rate. Iterations are then started on a fixed schedule regardless of how
+     * long earlier iterations take, and the concurrency becomes the maximum number of busy workers.
+     *
+     * @param rate Iterations started per second, 0 for the closed model
+     */
+    public void setRate(double rate) {
+        this.rate = Math.max(0, rate);
+    }
+
+    /**
+     * Check if iterations are started at a constant arrival rate.
+     *
+     * @return true for the open model, false for a fixed number of looping workers
+     */
+    public boolean isArrivalRate() {
+        return rate > 0;
+    }
+
+    /**
+     * Check that the run has at least one stop condition.
+     *
+     * @throws IllegalArgumentException If neither iterations nor duration are set
+     */
+    public void validate() {
+        if (iterations == 0 && duration == null) {
+            throw new IllegalArgumentException("Load test requires --iterations or --duration");
+        }
+    }
+
+    /**
+     * Parse a duration such as "500ms", "30s", "10m" or "1h". Plain numbers are seconds.
+     *
+     * @param value The duration string
+     * @return The parsed duration
+     */
+    public static Duration parseDuration(String value) {
+        String trimmed = value.trim().toLowerCase();
+        try {
+            if (trimmed.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+            } else if (trimmed.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+            } else if (trimmed.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+            } else if (trimmed.endsWith("h")) {
+                return Duration.ofHours(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+            }
+            return Duration.ofSeconds(Long.parseLong(trimmed));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid duration: " + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LoadTestOptions{" +
+                "iterations=" + (iterations > 0 ? iterations : "unlimited") +
+                ", concurrency=" + concurrency +
+                ", duration=" + (duration != null ? duration : "unlimited") +
+                (rate > 0 ? ", rate=" + rate + "/s" : "") +
+                '}';
+    }
+}
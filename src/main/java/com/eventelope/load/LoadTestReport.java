@@ -0,0 +1,171 @@
+package com.eventelope.load;
+
+import com.eventelope.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput, error rates and latency percentiles of a load test run.
+ */
+public class LoadTestReport {
+    private final String testName;
+    private final LoadTestOptions options;
+    private final boolean started;
+    private final String abortReason;
+    private final long iterations;
+    private final long failedIterations;
+    private final long elapsedNanos;
+    private final LatencyHistogram iterationLatency;
+    private final List<StepLoadStats> stepStats;
+    private long droppedIterations;
+    private LatencyHistogram serviceTime;
+
+    public LoadTestReport(String testName, LoadTestOptions options, long iterations, long failedIterations,
+                          long elapsedNanos, LatencyHistogram iterationLatency, Map<String, StepLoadStats> stepStats) {
+        this.testName = testName;
+        this.options = options;
+        this.started = true;
+        this.abortReason = null;
+        this.iterations = iterations;
+        this.failedIterations = failedIterations;
+        this.elapsedNanos = elapsedNanos;
+        this.iterationLatency = iterationLatency;
+        this.stepStats = new ArrayList<>(stepStats.values());
+    }
+
+    private LoadTestReport(String testName, LoadTestOptions options, String abortReason) {
+        this.testName = testName;
+        this.options = options;
+        this.started = false;
+        this.abortReason = abortReason;
+        this.iterations = 0;
+        this.failedIterations = 0;
+        this.elapsedNanos = 0;
+        this.iterationLatency = new LatencyHistogram();
+        this.stepStats = new ArrayList<>();
+    }
+
+    /**
+     * Create a report for a load test that could not start, e.g. because its setup failed.
+     *
+     * @param testName The name of the test case
+     * @param options The load test options
+     * @param reason Why the run was aborted
+     * @return The report
+     */
+    public static LoadTestReport aborted(String testName, LoadTestOptions options, String reason) {
+        return new LoadTestReport(testName, options, reason);
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    public LoadTestOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Check if the load iterations ran. False means preconditions or setup failed.
+     *
+     * @return true if the load phase was started
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    public String getAbortReason() {
+        return abortReason;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    public long getFailedIterations() {
+        return failedIterations;
+    }
+
+    public long getElapsedMs() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Get the number of completed iterations per second.
+     *
+     * @return The throughput in iterations per second
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : iterations * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Get the number of executed steps (requests) per second.
+     *
+     * @return The throughput in steps per second
+     */
+    public double getStepThroughput() {
+        long steps = stepStats.stream().mapToLong(StepLoadStats::getExecutions).sum();
+        return elapsedNanos == 0 ? 0 : steps * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public double getErrorRate() {
+        return iterations == 0 ? 0 : (double) failedIterations / iterations;
+    }
+
+    /**
+     * Get the iteration latency. In arrival-rate runs it is measured from the scheduled start time,
+     * so time spent waiting for a free worker is included (coordinated-omission correction).
+     *
+     * @return The iteration latency histogram
+     */
+    public LatencyHistogram getIterationLatency() {
+        return iterationLatency;
+    }
+
+    /**
+     * Get the number of scheduled iterations that were not started because all workers were busy.
+     *
+     * @return The number of dropped iterations (always 0 for the closed model)
+     */
+    public long getDroppedIterations() {
+        return droppedIterations;
+    }
+
+    public void setDroppedIterations(long droppedIterations) {
+        this.droppedIterations = droppedIterations;
+    }
+
+    /**
+     * Get the iteration latency measured from the actual start time, without queueing delay.
+     *
+     * @return The service time histogram, or null for the closed model where it equals the iteration latency
+     */
+    public LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public void setServiceTime(LatencyHistogram serviceTime) {
+        this.serviceTime = serviceTime;
+    }
+
+    /**
+     * Get the statistics of every step, in declaration order.
+     *
+     * @return The per-step statistics
+     */
+    public List<StepLoadStats> getStepStats() {
+        return stepStats;
+    }
+
+    @Override
+    public String toString() {
+        if (!started) {
+            return "LoadTestReport{testName='" + testName + "', aborted='" + abortReason + "'}";
+        }
+        return String.format("LoadTestReport{testName='%s', iterations=%d, failed=%d, throughput=%.1f/s, %s}",
+            testName, iterations, failedIterations, getThroughput(), iterationLatency.toSummaryString());
+    }
+}
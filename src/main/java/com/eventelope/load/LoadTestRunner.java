@@ -0,0 +1,176 @@
+package com.eventelope.load;
+
+import com.eventelope.context.TestContext;
+import com.eventelope.core.StepResult;
+import com.eventelope.core.TestCase;
+import com.eventelope.core.TestExecutor;
+import com.eventelope.core.TestResult;
+import com.eventelope.core.WorkerPools;
+import com.eventelope.metrics.LatencyHistogram;
+import com.eventelope.model.Step;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Turns a functional test case into a load scenario.
+ * Preconditions and setup run once; the execution steps are then repeated with a fresh copy of the
+ * resulting TestContext per iteration until the iteration limit or the duration is reached.
+ * Iterations are either run by a fixed number of looping workers (closed model) or started at a
+ * constant arrival rate (open model). Cleanup runs once at the end.
+ */
+public class LoadTestRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestRunner.class);
+    private final TestExecutor testExecutor;
+    private final LoadTestOptions options;
+
+    public LoadTestRunner(TestExecutor testExecutor, LoadTestOptions options) {
+        options.validate();
+        this.testExecutor = testExecutor;
+        this.options = options;
+    }
+
+    /**
+     * Run the load scenario for a test case.
+     *
+     * @param testCase The test case to use as scenario
+     * @return The load test report
+     */
+    public LoadTestReport run(TestCase testCase) {
+        LOGGER.info("Starting load test '{}' with {}", testCase.getName(), options);
+        
+        TestResult setupResult = new TestResult(testCase);
+        TestContext baseContext = new TestContext();
+        
+        if (!testCase.getPreconditions().isEmpty()
+                && !testExecutor.executeSteps(testCase.getPreconditions(), setupResult, baseContext)) {
+            LOGGER.error("Preconditions failed for load test: {}", testCase.getName());
+            return LoadTestReport.aborted(testCase.getName(), options,
+                "Preconditions failed: " + String.join(", ", setupResult.getFailureMessages()));
+        }
+        if (!testCase.getSetup().isEmpty()
+                && !testExecutor.executeSteps(testCase.getSetup(), setupResult, baseContext)) {
+            LOGGER.error("Setup failed for load test: {}", testCase.getName());
+            runCleanup(testCase, baseContext);
+            return LoadTestReport.aborted(testCase.getName(), options,
+                "Setup failed: " + String.join(", ", setupResult.getFailureMessages()));
+        }
+        
+        Map<String, StepLoadStats> stepStats = Collections.synchronizedMap(new LinkedHashMap<>());
+        for (Step step : testCase.getExecution()) {
+            stepStats.putIfAbsent(step.getName(), new StepLoadStats(step.getName()));
+        }
+        LatencyHistogram iterationLatency = new LatencyHistogram();
+        LatencyHistogram serviceTime = new LatencyHistogram();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        
+        long startNanos = System.nanoTime();
+        long deadlineNanos = options.getDuration() != null
+            ? startNanos + options.getDuration().toNanos() : Long.MAX_VALUE;
+        
+        // Runs one iteration; latency is measured from the intended start to correct for coordinated omission
+        LongConsumer iteration = intendedStart -> {
+            long actualStart = System.nanoTime();
+            TestResult iterationResult = new TestResult(testCase);
+            boolean passed = testExecutor.executeSteps(testCase.getExecution(), iterationResult,
+                baseContext.copy());
+            long end = System.nanoTime();
+            iterationLatency.recordNanos(end - intendedStart);
+            serviceTime.recordNanos(end - actualStart);
+            
+            for (StepResult stepResult : iterationResult.getStepResults()) {
+                if (!stepResult.isSkipped()) {
+                    stepStats.computeIfAbsent(stepResult.getStepName(), StepLoadStats::new)
+                        .record(stepResult.isPassed(), stepResult.getDurationNanos());
+                }
+            }
+            if (!passed) {
+                failed.incrementAndGet();
+            }
+            completed.incrementAndGet();
+        };
+        
+        long droppedIterations = 0;
+        if (options.isArrivalRate()) {
+            ArrivalRateScheduler scheduler = new ArrivalRateScheduler(options.getRate(), options.getConcurrency());
+            scheduler.run(options.getIterations(), deadlineNanos, iteration);
+            droppedIterations = scheduler.getDroppedIterations();
+        } else {
+            runClosedModel(testCase, deadlineNanos, iteration);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        
+        runCleanup(testCase, baseContext);
+        
+        LoadTestReport report = new LoadTestReport(testCase.getName(), options, completed.get(), failed.get(),
+            elapsedNanos, iterationLatency, stepStats);
+        if (options.isArrivalRate()) {
+            report.setDroppedIterations(droppedIterations);
+            report.setServiceTime(serviceTime);
+        }
+        LOGGER.info("Load test complete: {}", report);
+        return report;
+    }
+    
+    /**
+     * Run a fixed number of workers that each start the next iteration as soon as their previous one finished.
+     *
+     * @param testCase The test case used as scenario
+     * @param deadlineNanos {@link System#nanoTime()} after which no more iterations are started
+     * @param iteration The iteration to run; receives its start time in nanoseconds
+     */
+    private void runClosedModel(TestCase testCase, long deadlineNanos, LongConsumer iteration) {
+        AtomicLong started = new AtomicLong();
+        ExecutorService workers = WorkerPools.newPlatformPool(options.getConcurrency(), "eventelope-load");
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < options.getConcurrency(); i++) {
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadlineNanos && claimIteration(started)) {
+                        iteration.accept(System.nanoTime());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Load test interrupted: {}", testCase.getName());
+        } catch (Exception e) {
+            LOGGER.error("Error running load test: " + testCase.getName(), e);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+    
+    /**
+     * Reserve the next iteration if the iteration limit has not been reached.
+     */
+    private boolean claimIteration(AtomicLong started) {
+        if (options.getIterations() == 0) {
+            started.incrementAndGet();
+            return true;
+        }
+        return started.getAndIncrement() < options.getIterations();
+    }
+    
+    private void runCleanup(TestCase testCase, TestContext baseContext) {
+        if (!testCase.getCleanup().isEmpty()) {
+            TestResult cleanupResult = new TestResult(testCase);
+            if (!testExecutor.executeSteps(testCase.getCleanup(), cleanupResult, baseContext)) {
+                LOGGER.warn("Cleanup had issues for load test: {}", testCase.getName());
+            }
+        }
+    }
+}
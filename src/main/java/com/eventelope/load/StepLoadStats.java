@@ -0,0 +1,59 @@
+package com.eventelope.load;
+
+import com.eventelope.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregated executions, errors and latencies of one step across all load test iterations.
+ */
+public class StepLoadStats {
+    private final String stepName;
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public StepLoadStats(String stepName) {
+        this.stepName = stepName;
+    }
+
+    /**
+     * Record one execution of the step.
+     *
+     * @param passed Whether the step passed
+     * @param durationNanos The step duration in nanoseconds
+     */
+    public void record(boolean passed, long durationNanos) {
+        executions.incrementAndGet();
+        if (!passed) {
+            errors.incrementAndGet();
+        }
+        latency.recordNanos(durationNanos);
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public long getExecutions() {
+        return executions.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * Get the share of executions that failed.
+     *
+     * @return The error rate between 0 and 1
+     */
+    public double getErrorRate() {
+        long total = executions.get();
+        return total == 0 ? 0 : (double) errors.get() / total;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+}
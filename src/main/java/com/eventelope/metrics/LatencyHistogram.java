@@ -0,0 +1,188 @@
+package com.eventelope.metrics;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * High-dynamic-range latency histogram with microsecond resolution.
+ * Values below 128 microseconds are counted exactly; larger values fall into log-linear buckets with
+ * 64 sub-buckets per power of two, keeping the relative error of any reported value below 1.6%.
+ * Only the range of buckets that has actually been used is allocated, so histograms holding a
+ * few samples stay small. Histograms can be merged, which makes it possible to record per thread
+ * or per test and aggregate afterwards. All methods are thread-safe.
+ */
+public class LatencyHistogram implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int LINEAR_LIMIT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = LINEAR_LIMIT >> 1;
+
+    private long[] counts = new long[0];
+    private int firstIndex;
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Record a latency value.
+     *
+     * @param micros The latency in microseconds (negative values are recorded as 0)
+     */
+    public synchronized void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        increment(indexFor(value), 1);
+        totalCount++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Record a latency value measured with {@link System#nanoTime()}.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1_000);
+    }
+
+    /**
+     * Add all values recorded in another histogram to this one.
+     *
+     * @param other The histogram to merge into this one
+     */
+    public void merge(LatencyHistogram other) {
+        if (other == null || other == this) {
+            return;
+        }
+        LatencyHistogram snapshot = other.copy();
+        synchronized (this) {
+            for (int i = 0; i < snapshot.counts.length; i++) {
+                if (snapshot.counts[i] > 0) {
+                    increment(snapshot.firstIndex + i, snapshot.counts[i]);
+                }
+            }
+            totalCount += snapshot.totalCount;
+            sum += snapshot.sum;
+            min = Math.min(min, snapshot.min);
+            max = Math.max(max, snapshot.max);
+        }
+    }
+
+    /**
+     * Create an independent copy of this histogram.
+     *
+     * @return The copy
+     */
+    public synchronized LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.counts = counts.clone();
+        copy.firstIndex = firstIndex;
+        copy.totalCount = totalCount;
+        copy.sum = sum;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized long getMinMicros() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public synchronized long getMaxMicros() {
+        return max;
+    }
+
+    public synchronized double getMeanMicros() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Get the value at a given percentile. The result is the highest value that falls into
+     * the same bucket as the requested sample, capped at the recorded maximum.
+     *
+     * @param percentile The percentile between 0 and 100
+     * @return The latency at that percentile in microseconds, or 0 if nothing was recorded
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double clamped = Math.min(100.0, Math.max(0.0, percentile));
+        long rank = Math.max(1, (long) Math.ceil(clamped / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, Math.max(min, highestValueFor(firstIndex + i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Format the usual summary percentiles in milliseconds.
+     *
+     * @return A summary such as "count=10, p50=12.3ms, p90=20.1ms, p99=31.0ms, max=31.2ms"
+     */
+    public synchronized String toSummaryString() {
+        return String.format("count=%d, p50=%s, p90=%s, p99=%s, max=%s", totalCount,
+            formatMillis(getValueAtPercentile(50)), formatMillis(getValueAtPercentile(90)),
+            formatMillis(getValueAtPercentile(99)), formatMillis(getMaxMicros()));
+    }
+
+    /**
+     * Format a microsecond value as milliseconds with one decimal place.
+     *
+     * @param micros The value in microseconds
+     * @return The formatted value, e.g. "12.3ms"
+     */
+    public static String formatMillis(long micros) {
+        return String.format("%.1fms", micros / 1000.0);
+    }
+
+    private void increment(int index, long count) {
+        if (counts.length == 0) {
+            counts = new long[1];
+            firstIndex = index;
+        } else if (index < firstIndex) {
+            long[] grown = new long[counts.length + (firstIndex - index)];
+            System.arraycopy(counts, 0, grown, firstIndex - index, counts.length);
+            counts = grown;
+            firstIndex = index;
+        } else if (index >= firstIndex + counts.length) {
+            counts = Arrays.copyOf(counts, index - firstIndex + 1);
+        }
+        counts[index - firstIndex] += count;
+    }
+
+    static int indexFor(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> shift);
+        return LINEAR_LIMIT + (shift - 1) * HALF_SUB_BUCKETS + (subBucket - HALF_SUB_BUCKETS);
+    }
+
+    static long highestValueFor(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / HALF_SUB_BUCKETS + 1;
+        long subBucket = offset % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" + toSummaryString() + "}";
+    }
+}
@@ -0,0 +1,73 @@
+package com.eventelope.metrics;
+
+import com.eventelope.core.TestResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Suite-wide latency statistics, built by merging the per-step and per-service
+ * histograms of all test results.
+ */
+public class SuiteMetrics {
+    private final Map<String, LatencyHistogram> stepLatencies = new TreeMap<>();
+    private final Map<String, LatencyHistogram> serviceLatencies = new TreeMap<>();
+    private final Map<String, LatencyHistogram> consistencyLatencies = new TreeMap<>();
+    private final Map<String, LatencyHistogram> permitWaits = new TreeMap<>();
+
+    /**
+     * Aggregate the latency histograms of a list of test results.
+     *
+     * @param results The test results
+     * @return The suite metrics
+     */
+    public static SuiteMetrics aggregate(List<TestResult> results) {
+        SuiteMetrics metrics = new SuiteMetrics();
+        for (TestResult result : results) {
+            merge(result.getStepLatencies(), metrics.stepLatencies);
+            merge(result.getServiceLatencies(), metrics.serviceLatencies);
+            merge(result.getConsistencyLatencies(), metrics.consistencyLatencies);
+            merge(result.getPermitWaits(), metrics.permitWaits);
+        }
+        return metrics;
+    }
+
+    private static void merge(Map<String, LatencyHistogram> source, Map<String, LatencyHistogram> target) {
+        for (Map.Entry<String, LatencyHistogram> entry : source.entrySet()) {
+            target.computeIfAbsent(entry.getKey(), k -> new LatencyHistogram()).merge(entry.getValue());
+        }
+    }
+
+    /**
+     * Get the merged latency histograms keyed by step name, sorted by name.
+     */
+    public Map<String, LatencyHistogram> getStepLatencies() {
+        return stepLatencies;
+    }
+
+    /**
+     * Get the merged latency histograms keyed by service, sorted by name.
+     */
+    public Map<String, LatencyHistogram> getServiceLatencies() {
+        return serviceLatencies;
+    }
+
+    /**
+     * Get the merged time-to-consistency histograms of polling steps keyed by step name, sorted by name.
+     */
+    public Map<String, LatencyHistogram> getConsistencyLatencies() {
+        return consistencyLatencies;
+    }
+
+    /**
+     * Get the merged rate limit permit wait histograms keyed by service, sorted by name.
+     */
+    public Map<String, LatencyHistogram> getPermitWaits() {
+        return permitWaits;
+    }
+
+    public boolean isEmpty() {
+        return stepLatencies.isEmpty();
+    }
+}
@@ -1,7 +1,9 @@
 package com.eventelope.model;
 
+import com.eventelope.config.ClientProfile;
 import com.eventelope.template.TemplateVariable;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -10,15 +12,19 @@ import java.util.Map;
 /**
  * Represents an API request with HTTP method, endpoint, headers, payload, and timeout settings.
  */
-public class ApiRequest {
+public class ApiRequest implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String method;
     private String endpoint;
     private Map<String, String> headers = new HashMap<>();
     private String payload; // Raw JSON string payload
+    private String payloadFile; // Absolute path of the file the payload was loaded from, if any
     private String user; // Reference to a user in the users.yaml config
     private Integer timeout; // Socket timeout in milliseconds
     private Integer connectionTimeout; // Connection timeout in milliseconds
     private List<TemplateVariable> templateVariables = new ArrayList<>(); // Variables for template substitution
+    private ClientProfile clientProfile; // Client settings of the step's service with this request's timeouts applied
 
     public ApiRequest() {
         this.timeout = 0; // Use default timeout from RestClient
@@ -81,6 +87,19 @@ public class ApiRequest {
         this.payload = payload;
     }
 
+    /**
+     * Get the file the payload was loaded from with a "file:" reference.
+     *
+     * @return The absolute path of the payload file, or null for inline payloads
+     */
+    public String getPayloadFile() {
+        return payloadFile;
+    }
+
+    public void setPayloadFile(String payloadFile) {
+        this.payloadFile = payloadFile;
+    }
+
     public String getUser() {
         return user;
     }
@@ -125,6 +144,19 @@ public class ApiRequest {
         this.connectionTimeout = connectionTimeout != null ? connectionTimeout : 0;
     }
     
+    /**
+     * Get the HTTP client settings for this request, resolved when the test was parsed.
+     * 
+     * @return The client profile, or null if the request was not created by the parser
+     */
+    public ClientProfile getClientProfile() {
+        return clientProfile;
+    }
+
+    public void setClientProfile(ClientProfile clientProfile) {
+        this.clientProfile = clientProfile;
+    }
+    
     /**
      * Get the list of template variables for payload templating.
      * 
@@ -2,6 +2,7 @@ package com.eventelope.model;
 
 import com.eventelope.extraction.ExtractionDefinition;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -11,7 +12,9 @@ import java.util.Map;
  * Contains the criteria for verifying an API response including status code,
  * headers, JSONPath assertions, and value extractions.
  */
-public class ResponseVerifier {
+public class ResponseVerifier implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private Integer statusCode;
     private Map<String, String> headers = new HashMap<>();
     private List<Map<String, Object>> jsonPathAssertions = new ArrayList<>();
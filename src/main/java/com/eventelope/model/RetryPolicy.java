@@ -0,0 +1,221 @@
+package com.eventelope.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Describes when and how a failed step is retried: the number of retries, the backoff between
+ * attempts, an overall time limit, which failures are retryable and whether the server's
+ * Retry-After header is honoured.
+ */
+public class RetryPolicy implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Backoff strategies
+    public static final String FIXED = "fixed";
+    public static final String EXPONENTIAL = "exponential";
+    public static final String DECORRELATED_JITTER = "decorrelatedJitter";
+    // Largest previous wait that can be tripled without overflowing
+    private static final long MAX_JITTER_BASE = (Long.MAX_VALUE - 1) / 3;
+
+    private int maxRetries;
+    private String backoff = FIXED;
+    private long initialInterval;                 // First wait in milliseconds
+    private long maxInterval;                     // Upper bound for a single wait in milliseconds, 0 means no bound
+    private double multiplier = 2.0;              // Growth factor for exponential backoff
+    private long maxElapsedTime;                  // Give up once this many milliseconds have passed, 0 means no limit
+    private List<Integer> retryOnStatus = new ArrayList<>();      // Only retry these status codes (empty means any failure)
+    private List<String> retryOnExceptions = new ArrayList<>();   // Only retry these exception types (empty means any)
+    private boolean honorRetryAfter;              // Wait at least as long as the Retry-After response header asks
+
+    public RetryPolicy() {
+    }
+
+    /**
+     * Create the fixed-interval policy described by the legacy retries/retryInterval step fields.
+     *
+     * @param retries The number of retries
+     * @param retryInterval The wait between attempts in milliseconds
+     * @return The retry policy
+     */
+    public static RetryPolicy fixed(int retries, long retryInterval) {
+        RetryPolicy policy = new RetryPolicy();
+        policy.setMaxRetries(retries);
+        policy.setInitialInterval(retryInterval);
+        return policy;
+    }
+
+    /**
+     * Compute the wait before the next attempt.
+     *
+     * @param retry The number of the upcoming retry, starting at 1
+     * @param previousDelay The previous wait in milliseconds (0 before the first retry)
+     * @return The wait in milliseconds
+     */
+    public long computeDelay(int retry, long previousDelay) {
+        long delay;
+        switch (backoff) {
+            case EXPONENTIAL:
+                delay = (long) Math.min(Long.MAX_VALUE, initialInterval * Math.pow(multiplier, retry - 1));
+                break;
+            case DECORRELATED_JITTER:
+                // "Decorrelated jitter": random between the base interval and three times the previous wait
+                long upper = Math.max(initialInterval, previousDelay > MAX_JITTER_BASE ? Long.MAX_VALUE - 1 : previousDelay * 3);
+                delay = upper > initialInterval
+                    ? ThreadLocalRandom.current().nextLong(initialInterval, upper + 1) : initialInterval;
+                break;
+            default:
+                delay = initialInterval;
+        }
+        return maxInterval > 0 ? Math.min(delay, maxInterval) : delay;
+    }
+
+    /**
+     * Check if a response with the given status code may be retried.
+     *
+     * @param statusCode The HTTP status code of the failed attempt
+     * @return true if the status is retryable
+     */
+    public boolean isRetryableStatus(int statusCode) {
+        return retryOnStatus.isEmpty() || retryOnStatus.contains(statusCode);
+    }
+
+    /**
+     * Check if an exception may be retried. An exception matches when it, or one of its causes,
+     * has one of the configured simple or fully qualified class names.
+     *
+     * @param exception The exception thrown by the failed attempt
+     * @return true if the exception is retryable
+     */
+    public boolean isRetryableException(Throwable exception) {
+        if (retryOnExceptions.isEmpty()) {
+            return true;
+        }
+        for (Throwable current = exception; current != null; current = current.getCause()) {
+            Class<?> type = current.getClass();
+            if (retryOnExceptions.contains(type.getSimpleName()) || retryOnExceptions.contains(type.getName())) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    public String getBackoff() {
+        return backoff;
+    }
+
+    /**
+     * Set the backoff strategy.
+     *
+     * @param backoff One of "fixed", "exponential" or "decorrelatedJitter"
+     */
+    public void setBackoff(String backoff) {
+        if (!FIXED.equals(backoff) && !EXPONENTIAL.equals(backoff) && !DECORRELATED_JITTER.equals(backoff)) {
+            throw new IllegalArgumentException("Unsupported retry backoff: " + backoff);
+        }
+        this.backoff = backoff;
+    }
+
+    public long getInitialInterval() {
+        return initialInterval;
+    }
+
+    public void setInitialInterval(long initialInterval) {
+        this.initialInterval = Math.max(0, initialInterval);
+    }
+
+    public long getMaxInterval() {
+        return maxInterval;
+    }
+
+    public void setMaxInterval(long maxInterval) {
+        this.maxInterval = Math.max(0, maxInterval);
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Set the growth factor for exponential backoff.
+     *
+     * @param multiplier The growth factor, at least 1.0
+     */
+    public void setMultiplier(double multiplier) {
+        // Written so that NaN is rejected too
+        if (!(multiplier >= 1.0)) {
+            throw new IllegalArgumentException("Retry multiplier must be at least 1.0: " + multiplier);
+        }
+        this.multiplier = multiplier;
+    }
+
+    public long getMaxElapsedTime() {
+        return maxElapsedTime;
+    }
+
+    public void setMaxElapsedTime(long maxElapsedTime) {
+        this.maxElapsedTime = Math.max(0, maxElapsedTime);
+    }
+
+    public List<Integer> getRetryOnStatus() {
+        return retryOnStatus;
+    }
+
+    public void setRetryOnStatus(List<Integer> retryOnStatus) {
+        this.retryOnStatus = retryOnStatus != null ? retryOnStatus : new ArrayList<>();
+    }
+
+    public List<String> getRetryOnExceptions() {
+        return retryOnExceptions;
+    }
+
+    public void setRetryOnExceptions(List<String> retryOnExceptions) {
+        this.retryOnExceptions = retryOnExceptions != null ? retryOnExceptions : new ArrayList<>();
+    }
+
+    public boolean isHonorRetryAfter() {
+        return honorRetryAfter;
+    }
+
+    public void setHonorRetryAfter(boolean honorRetryAfter) {
+        this.honorRetryAfter = honorRetryAfter;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("RetryPolicy{");
+        sb.append("maxRetries=").append(maxRetries);
+        sb.append(", backoff='").append(backoff).append('\'');
+        sb.append(", initialInterval=").append(initialInterval).append("ms");
+        if (maxInterval > 0) {
+            sb.append(", maxInterval=").append(maxInterval).append("ms");
+        }
+        if (maxElapsedTime > 0) {
+            sb.append(", maxElapsedTime=").append(maxElapsedTime).append("ms");
+        }
+        if (!retryOnStatus.isEmpty()) {
+            sb.append(", retryOnStatus=").append(retryOnStatus);
+        }
+        if (!retryOnExceptions.isEmpty()) {
+            sb.append(", retryOnExceptions=").append(retryOnExceptions);
+        }
+        if (honorRetryAfter) {
+            sb.append(", honorRetryAfter=true");
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+}
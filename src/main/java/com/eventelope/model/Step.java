@@ -1,11 +1,15 @@
 package com.eventelope.model;
 
+import java.io.Serializable;
+
 /**
  * Represents a single step in a test case, which includes a name, request details, verification criteria,
  * and optional condition for conditional execution.
  * Also includes retry configuration for handling eventual consistency between services.
  */
-public class Step {
+public class Step implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String name;
     private ApiRequest request;
     private ResponseVerifier verify;
@@ -13,6 +17,9 @@ public class Step {
     private Integer retries;   // Number of times to retry the step if it fails
     private Long retryInterval; // Time to wait between retries in milliseconds
     private String service;    // Optional service identifier for the step
+    private RetryPolicy retryPolicy; // Optional retry policy, takes precedence over retries/retryInterval
+    private boolean cacheable; // Share the outcome of identical precondition or setup requests across test cases
+    private WaitUntil waitUntil; // Optional polling condition, repeats the request until it holds
 
     public Step() {
         // Default values
@@ -146,12 +153,78 @@ public class Step {
         this.service = service;
     }
 
+    /**
+     * Get the explicitly configured retry policy.
+     * 
+     * @return The retry policy, or null if the step uses retries/retryInterval
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Set the retry policy for the step.
+     * 
+     * @param retryPolicy The retry policy
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Get the retry policy to apply: the explicit policy if set, otherwise a fixed-interval
+     * policy built from retries and retryInterval.
+     * 
+     * @return The effective retry policy
+     */
+    public RetryPolicy getEffectiveRetryPolicy() {
+        if (retryPolicy != null) {
+            return retryPolicy;
+        }
+        return RetryPolicy.fixed(retries != null ? retries : 0, retryInterval != null ? retryInterval : 0L);
+    }
+
+    /**
+     * Check if the outcome of this precondition or setup step may be shared with other test cases that
+     * send the same request. Execution and cleanup steps are never shared.
+     * 
+     * @return true if the step is cacheable
+     */
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    public void setCacheable(boolean cacheable) {
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * Get the polling condition of the step.
+     * 
+     * @return The wait condition, or null if the step sends its request once (plus retries)
+     */
+    public WaitUntil getWaitUntil() {
+        return waitUntil;
+    }
+
+    /**
+     * Make the step a polling step that repeats its request until the condition holds.
+     * 
+     * @param waitUntil The wait condition
+     */
+    public void setWaitUntil(WaitUntil waitUntil) {
+        this.waitUntil = waitUntil;
+    }
+
     /**
      * Check if this step has retry configuration.
      * 
      * @return true if the step has a non-zero retry count, false otherwise
      */
     public boolean hasRetryConfig() {
+        if (retryPolicy != null) {
+            return retryPolicy.getMaxRetries() > 0;
+        }
         return retries != null && retries > 0;
     }
 
@@ -164,7 +237,9 @@ public class Step {
             sb.append(", condition='").append(condition).append('\'');
         }
         
-        if (hasRetryConfig()) {
+        if (retryPolicy != null) {
+            sb.append(", retryPolicy=").append(retryPolicy);
+        } else if (hasRetryConfig()) {
             sb.append(", retries=").append(retries);
             sb.append(", retryInterval=").append(retryInterval).append("ms");
         }
@@ -173,6 +248,14 @@ public class Step {
             sb.append(", service='").append(service).append('\'');
         }
         
+        if (cacheable) {
+            sb.append(", cacheable=true");
+        }
+        
+        if (waitUntil != null) {
+            sb.append(", waitUntil=").append(waitUntil);
+        }
+        
         sb.append('}');
         return sb.toString();
     }
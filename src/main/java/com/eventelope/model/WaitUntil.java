@@ -0,0 +1,163 @@
+package com.eventelope.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns a step into a polling step: the request is repeated until the success condition holds
+ * or the maximum wait has passed. The wait between polls starts at the initial interval and grows
+ * by the growth factor up to the maximum interval. Polls are not retries; the time until the
+ * condition first holds is reported as the step's time to consistency.
+ */
+public class WaitUntil implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String condition;                     // ConditionEvaluator expression, checked after each poll's extractions
+    private Integer statusCode;                   // Status code the response must have, null for any
+    private List<Map<String, Object>> jsonPathAssertions = new ArrayList<>(); // Assertions the response must satisfy
+    private long maxWait = 30000;                 // Give up after this many milliseconds
+    private long initialInterval = 200;           // First wait between polls in milliseconds
+    private double growthFactor = 1.5;            // Growth of the wait after every poll
+    private long maxInterval = 5000;              // Upper bound for a single wait in milliseconds
+
+    public WaitUntil() {
+    }
+
+    /**
+     * Compute the wait before the next poll.
+     *
+     * @param previousInterval The previous wait in milliseconds (0 before the second poll)
+     * @return The wait in milliseconds
+     */
+    public long nextInterval(long previousInterval) {
+        if (previousInterval <= 0) {
+            return Math.min(initialInterval, maxInterval);
+        }
+        return (long) Math.min(maxInterval, previousInterval * growthFactor);
+    }
+
+    /**
+     * Build a verifier for the response checks of the success condition.
+     *
+     * @return A verifier with the status code and JSONPath assertions of this wait
+     */
+    public ResponseVerifier toVerifier() {
+        ResponseVerifier verifier = new ResponseVerifier();
+        verifier.setStatusCode(statusCode);
+        verifier.setJsonPathAssertions(jsonPathAssertions);
+        return verifier;
+    }
+
+    /**
+     * Check if this wait has a condition expression.
+     *
+     * @return true if the condition is not empty
+     */
+    public boolean hasCondition() {
+        return condition != null && !condition.trim().isEmpty();
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public void setCondition(String condition) {
+        this.condition = condition;
+    }
+
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(Integer statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public List<Map<String, Object>> getJsonPathAssertions() {
+        return jsonPathAssertions;
+    }
+
+    public void setJsonPathAssertions(List<Map<String, Object>> jsonPathAssertions) {
+        this.jsonPathAssertions = jsonPathAssertions != null ? jsonPathAssertions : new ArrayList<>();
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Set how long to poll before giving up.
+     *
+     * @param maxWait The maximum wait in milliseconds, greater than 0
+     */
+    public void setMaxWait(long maxWait) {
+        if (maxWait <= 0) {
+            throw new IllegalArgumentException("Maximum wait must be greater than 0: " + maxWait);
+        }
+        this.maxWait = maxWait;
+    }
+
+    public long getInitialInterval() {
+        return initialInterval;
+    }
+
+    /**
+     * Set the first wait between polls.
+     *
+     * @param initialInterval The initial interval in milliseconds, greater than 0
+     */
+    public void setInitialInterval(long initialInterval) {
+        if (initialInterval <= 0) {
+            throw new IllegalArgumentException("Initial interval must be greater than 0: " + initialInterval);
+        }
+        this.initialInterval = initialInterval;
+    }
+
+    public double getGrowthFactor() {
+        return growthFactor;
+    }
+
+    /**
+     * Set the growth of the wait after every poll.
+     *
+     * @param growthFactor The growth factor, at least 1.0
+     */
+    public void setGrowthFactor(double growthFactor) {
+        // Written so that NaN is rejected too
+        if (!(growthFactor >= 1.0)) {
+            throw new IllegalArgumentException("Growth factor must be at least 1.0: " + growthFactor);
+        }
+        this.growthFactor = growthFactor;
+    }
+
+    public long getMaxInterval() {
+        return maxInterval;
+    }
+
+    /**
+     * Set the upper bound for a single wait between polls.
+     *
+     * @param maxInterval The maximum interval in milliseconds, greater than 0
+     */
+    public void setMaxInterval(long maxInterval) {
+        if (maxInterval <= 0) {
+            throw new IllegalArgumentException("Maximum interval must be greater than 0: " + maxInterval);
+        }
+        this.maxInterval = maxInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "WaitUntil{" +
+                "condition='" + condition + '\'' +
+                ", statusCode=" + statusCode +
+                ", jsonPathAssertions=" + jsonPathAssertions +
+                ", maxWait=" + maxWait +
+                ", initialInterval=" + initialInterval +
+                ", growthFactor=" + growthFactor +
+                ", maxInterval=" + maxInterval +
+                '}';
+    }
+}
@@ -1,9 +1,12 @@
 package com.eventelope.parser;
 
+import com.eventelope.config.ClientProfiles;
 import com.eventelope.core.TestCase;
 import com.eventelope.model.ApiRequest;
 import com.eventelope.model.ResponseVerifier;
+import com.eventelope.model.RetryPolicy;
 import com.eventelope.model.Step;
+import com.eventelope.model.WaitUntil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yaml.snakeyaml.Yaml;
@@ -27,6 +30,8 @@ import java.util.stream.Collectors;
 public class YamlParser {
     private static final Logger LOGGER = LoggerFactory.getLogger(YamlParser.class);
     private final Yaml yaml = new Yaml();
+    // Loaded once; every request gets its client settings when it is parsed
+    private final ClientProfiles clientProfiles = ClientProfiles.load();
 
     /**
      * Parse a single YAML test file into a TestCase object with the new structure.
@@ -145,6 +150,25 @@ public class YamlParser {
                 LOGGER.debug("Added retry interval of {}ms to step '{}'", retryInterval, step.getName());
             }
             
+            // Parse cacheable flag if present
+            if (stepMap.containsKey("cacheable")) {
+                step.setCacheable(Boolean.TRUE.equals(stepMap.get("cacheable")));
+            }
+            
+            // Parse retry policy if present
+            if (stepMap.containsKey("retryPolicy")) {
+                RetryPolicy retryPolicy = parseRetryPolicy((Map<String, Object>) stepMap.get("retryPolicy"));
+                step.setRetryPolicy(retryPolicy);
+                LOGGER.debug("Added retry policy {} to step '{}'", retryPolicy, step.getName());
+            }
+            
+            // Parse polling condition if present
+            if (stepMap.containsKey("waitUntil")) {
+                WaitUntil waitUntil = parseWaitUntil((Map<String, Object>) stepMap.get("waitUntil"));
+                step.setWaitUntil(waitUntil);
+                LOGGER.debug("Added wait condition {} to step '{}'", waitUntil, step.getName());
+            }
+            
             // Parse service if present
             if (stepMap.containsKey("service")) {
                 String service = (String) stepMap.get("service");
@@ -156,6 +180,8 @@ public class YamlParser {
             if (stepMap.containsKey("request")) {
                 Map<String, Object> requestMap = (Map<String, Object>) stepMap.get("request");
                 ApiRequest request = parseRequest(requestMap, testFile);
+                request.setClientProfile(clientProfiles.resolve(step.getService(), 
+                    request.getConnectionTimeout(), request.getTimeout()));
                 step.setRequest(request);
             }
             
@@ -172,6 +198,88 @@ public class YamlParser {
         return steps;
     }
 
+    /**
+     * Parse a retry policy section from a step
+     * 
+     * @param policyMap Retry policy YAML map
+     * @return Parsed RetryPolicy
+     */
+    private RetryPolicy parseRetryPolicy(Map<String, Object> policyMap) {
+        RetryPolicy policy = new RetryPolicy();
+        
+        if (policyMap.containsKey("maxRetries")) {
+            policy.setMaxRetries(((Number) policyMap.get("maxRetries")).intValue());
+        }
+        if (policyMap.containsKey("backoff")) {
+            policy.setBackoff((String) policyMap.get("backoff"));
+        }
+        if (policyMap.containsKey("initialInterval")) {
+            policy.setInitialInterval(((Number) policyMap.get("initialInterval")).longValue());
+        }
+        if (policyMap.containsKey("maxInterval")) {
+            policy.setMaxInterval(((Number) policyMap.get("maxInterval")).longValue());
+        }
+        if (policyMap.containsKey("multiplier")) {
+            policy.setMultiplier(((Number) policyMap.get("multiplier")).doubleValue());
+        }
+        if (policyMap.containsKey("maxElapsedTime")) {
+            policy.setMaxElapsedTime(((Number) policyMap.get("maxElapsedTime")).longValue());
+        }
+        if (policyMap.containsKey("retryOnStatus")) {
+            List<Integer> statusCodes = new ArrayList<>();
+            for (Object statusCode : (List<Object>) policyMap.get("retryOnStatus")) {
+                statusCodes.add(((Number) statusCode).intValue());
+            }
+            policy.setRetryOnStatus(statusCodes);
+        }
+        if (policyMap.containsKey("retryOnExceptions")) {
+            policy.setRetryOnExceptions((List<String>) policyMap.get("retryOnExceptions"));
+        }
+        if (policyMap.containsKey("honorRetryAfter")) {
+            policy.setHonorRetryAfter((Boolean) policyMap.get("honorRetryAfter"));
+        }
+        
+        return policy;
+    }
+
+    /**
+     * Parse a waitUntil section from a step
+     * 
+     * @param waitMap Wait condition YAML map
+     * @return Parsed WaitUntil
+     */
+    private WaitUntil parseWaitUntil(Map<String, Object> waitMap) {
+        WaitUntil waitUntil = new WaitUntil();
+        
+        if (waitMap.containsKey("condition")) {
+            waitUntil.setCondition((String) waitMap.get("condition"));
+        }
+        if (waitMap.containsKey("statusCode")) {
+            waitUntil.setStatusCode(((Number) waitMap.get("statusCode")).intValue());
+        }
+        if (waitMap.containsKey("jsonPathAssertions")) {
+            waitUntil.setJsonPathAssertions((List<Map<String, Object>>) waitMap.get("jsonPathAssertions"));
+        }
+        if (waitMap.containsKey("maxWait")) {
+            waitUntil.setMaxWait(((Number) waitMap.get("maxWait")).longValue());
+        }
+        if (waitMap.containsKey("initialInterval")) {
+            waitUntil.setInitialInterval(((Number) waitMap.get("initialInterval")).longValue());
+        }
+        if (waitMap.containsKey("growthFactor")) {
+            waitUntil.setGrowthFactor(((Number) waitMap.get("growthFactor")).doubleValue());
+        }
+        if (waitMap.containsKey("maxInterval")) {
+            waitUntil.setMaxInterval(((Number) waitMap.get("maxInterval")).longValue());
+        }
+        if (!waitUntil.hasCondition() && waitUntil.getStatusCode() == null 
+                && waitUntil.getJsonPathAssertions().isEmpty()) {
+            throw new IllegalArgumentException("waitUntil needs a condition, statusCode or jsonPathAssertions");
+        }
+        
+        return waitUntil;
+    }
+
     /**
      * Parse an API request section from a step
      * 
@@ -214,6 +322,7 @@ public class YamlParser {
                 try {
                     String fileContent = readPayloadFromFile(resolvedPath);
                     request.setPayload(fileContent);
+                    request.setPayloadFile(new File(resolvedPath).getAbsolutePath());
                     LOGGER.debug("Successfully loaded payload from file: {}", resolvedPath);
                 } catch (IOException e) {
                     LOGGER.error("Failed to load payload from file: {}", resolvedPath, e);
@@ -281,6 +390,9 @@ public class YamlParser {
             }
         }
         
+        // Once here, so that requests are never modified while test cases share them
+        request.applyDefaultHeaders();
+        
         return request;
     }
 
@@ -1,7 +1,12 @@
 package com.eventelope.reporting;
 
 import com.eventelope.core.TestResult;
+import com.eventelope.load.LoadTestReport;
+import com.eventelope.load.StepLoadStats;
+import com.eventelope.metrics.LatencyHistogram;
+import com.eventelope.metrics.SuiteMetrics;
 import com.eventelope.model.Step;
+import com.eventelope.scheduling.TimingHistory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,6 +19,8 @@ import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Generates test execution reports in various formats.
@@ -62,7 +69,25 @@ public class ReportGenerator {
             writer.write("  Total Tests: " + totalTests + "\n");
             writer.write("  Passed: " + passedTests + "\n");
             writer.write("  Failed: " + failedTests + "\n");
-            writer.write("  Success Rate: " + (totalTests > 0 ? (passedTests * 100 / totalTests) : 0) + "%\n\n");
+            writer.write("  Success Rate: " + (totalTests > 0 ? (passedTests * 100 / totalTests) : 0) + "%\n");
+            int suppressedRetries = results.stream().mapToInt(TestResult::getSuppressedRetries).sum();
+            if (suppressedRetries > 0) {
+                writer.write("  Retries Suppressed by Budget: " + suppressedRetries + "\n");
+            }
+            writer.write("\n");
+            
+            // Write suite-wide latency percentiles
+            SuiteMetrics suiteMetrics = SuiteMetrics.aggregate(results);
+            if (!suiteMetrics.isEmpty()) {
+                writeTextLatencyTable(writer, "Latency by Step", suiteMetrics.getStepLatencies(), "  ");
+                writeTextLatencyTable(writer, "Latency by Service", suiteMetrics.getServiceLatencies(), "  ");
+                if (!suiteMetrics.getConsistencyLatencies().isEmpty()) {
+                    writeTextLatencyTable(writer, "Time to Consistency", suiteMetrics.getConsistencyLatencies(), "  ");
+                }
+                if (!suiteMetrics.getPermitWaits().isEmpty()) {
+                    writeTextLatencyTable(writer, "Rate Limit Waits by Service", suiteMetrics.getPermitWaits(), "  ");
+                }
+            }
             
             // Write detailed results
             writer.write("Detailed Results:\n");
@@ -92,7 +117,15 @@ public class ReportGenerator {
                     }
                 }
                 
+                // Add per-step latency percentiles
+                if (!result.getStepLatencies().isEmpty()) {
+                    writeTextLatencyTable(writer, "   Step Latencies", new TreeMap<>(result.getStepLatencies()), "     ");
+                }
+                
                 writer.write("   Response Status: " + result.getStatusCode() + "\n");
+                if (result.getSuppressedRetries() > 0) {
+                    writer.write("   Retries Suppressed by Budget: " + result.getSuppressedRetries() + "\n");
+                }
                 
                 if (!result.isPassed()) {
                     writer.write("   Failure Reasons:\n");
@@ -104,6 +137,21 @@ public class ReportGenerator {
                 writer.write("\n");
             }
             
+            // Write failures of cleanup steps that ran in the background
+            if (hasCleanupFailures(results)) {
+                writer.write("Cleanup Failures:\n");
+                writer.write("================\n\n");
+                for (TestResult result : results) {
+                    if (!result.getCleanupFailureMessages().isEmpty()) {
+                        writer.write(result.getTestName() + "\n");
+                        for (String failure : result.getCleanupFailureMessages()) {
+                            writer.write("  - " + failure + "\n");
+                        }
+                    }
+                }
+                writer.write("\n");
+            }
+            
             LOGGER.info("Report generated successfully: {}", reportFile.getAbsolutePath());
             return reportFile.getAbsolutePath();
             
@@ -165,6 +213,10 @@ public class ReportGenerator {
             writer.write("    .failure-reasons { background-color: #f8d7da; padding: 10px; border-radius: 5px; margin-top: 10px; }\n");
             writer.write("    .steps-list { background-color: #e9ecef; padding: 10px; border-radius: 5px; margin-top: 10px; }\n");
             writer.write("    .variable-flow { background-color: #d1ecf1; padding: 10px; border-radius: 5px; margin-top: 10px; color: #0c5460; }\n");
+            writer.write("    .latency { background-color: #fff3cd; padding: 10px; border-radius: 5px; margin-top: 10px; }\n");
+            writer.write("    .latency table { border-collapse: collapse; }\n");
+            writer.write("    .latency th, .latency td { text-align: right; padding: 3px 10px; border-bottom: 1px solid #ffeeba; }\n");
+            writer.write("    .latency th:first-child, .latency td:first-child { text-align: left; }\n");
             writer.write("    .progress-bar { height: 20px; border-radius: 5px; overflow: hidden; background-color: #e9ecef; }\n");
             writer.write("    .progress-bar-inner { height: 100%; background-color: #28a745; width: " + successRate + "%; }\n");
             writer.write("  </style>\n");
@@ -182,9 +234,27 @@ public class ReportGenerator {
             writer.write("    <p><strong>Passed:</strong> " + passedTests + "</p>\n");
             writer.write("    <p><strong>Failed:</strong> " + failedTests + "</p>\n");
             writer.write("    <p><strong>Success Rate:</strong> " + successRate + "%</p>\n");
+            int suppressedRetries = results.stream().mapToInt(TestResult::getSuppressedRetries).sum();
+            if (suppressedRetries > 0) {
+                writer.write("    <p><strong>Retries Suppressed by Budget:</strong> " + suppressedRetries + "</p>\n");
+            }
             writer.write("    <div class='progress-bar'><div class='progress-bar-inner'></div></div>\n");
             writer.write("  </div>\n");
             
+            // Suite-wide latency percentiles
+            SuiteMetrics suiteMetrics = SuiteMetrics.aggregate(results);
+            if (!suiteMetrics.isEmpty()) {
+                writer.write("  <h2>Latency</h2>\n");
+                writeHtmlLatencyTable(writer, "By Step", suiteMetrics.getStepLatencies(), "  ");
+                writeHtmlLatencyTable(writer, "By Service", suiteMetrics.getServiceLatencies(), "  ");
+                if (!suiteMetrics.getConsistencyLatencies().isEmpty()) {
+                    writeHtmlLatencyTable(writer, "Time to Consistency", suiteMetrics.getConsistencyLatencies(), "  ");
+                }
+                if (!suiteMetrics.getPermitWaits().isEmpty()) {
+                    writeHtmlLatencyTable(writer, "Rate Limit Waits by Service", suiteMetrics.getPermitWaits(), "  ");
+                }
+            }
+            
             // Detailed results
             writer.write("  <h2>Detailed Results</h2>\n");
             
@@ -238,7 +308,15 @@ public class ReportGenerator {
                     writer.write("      </div>\n");
                 }
                 
+                // Add per-step latency percentiles
+                if (!result.getStepLatencies().isEmpty()) {
+                    writeHtmlLatencyTable(writer, "Step Latencies", new TreeMap<>(result.getStepLatencies()), "      ");
+                }
+                
                 writer.write("      <p><strong>Response Status:</strong> " + result.getStatusCode() + "</p>\n");
+                if (result.getSuppressedRetries() > 0) {
+                    writer.write("      <p><strong>Retries Suppressed by Budget:</strong> " + result.getSuppressedRetries() + "</p>\n");
+                }
                 
                 // Add failure reasons for failed tests
                 if (!result.isPassed()) {
@@ -258,6 +336,20 @@ public class ReportGenerator {
                 writer.write("  </div>\n");
             }
             
+            // Failures of cleanup steps that ran in the background
+            if (hasCleanupFailures(results)) {
+                writer.write("  <h2>Cleanup Failures</h2>\n");
+                writer.write("  <div class='failure-reasons'>\n");
+                writer.write("    <ul>\n");
+                for (TestResult result : results) {
+                    for (String failure : result.getCleanupFailureMessages()) {
+                        writer.write("      <li><strong>" + result.getTestName() + ":</strong> " + failure + "</li>\n");
+                    }
+                }
+                writer.write("    </ul>\n");
+                writer.write("  </div>\n");
+            }
+            
             // End HTML document
             writer.write("</body>\n");
             writer.write("</html>\n");
@@ -270,4 +362,156 @@ public class ReportGenerator {
             return null;
         }
     }
+
+    private static boolean hasCleanupFailures(List<TestResult> results) {
+        return results.stream().anyMatch(result -> !result.getCleanupFailureMessages().isEmpty());
+    }
+
+    /**
+     * Write a plain-text table of latency percentiles.
+     *
+     * @param writer The report writer
+     * @param title The table title
+     * @param latencies Histograms keyed by row name
+     * @param indent Indentation of the table rows
+     */
+    private void writeTextLatencyTable(FileWriter writer, String title, Map<String, LatencyHistogram> latencies,
+                                       String indent) throws IOException {
+        writer.write(title + ":\n");
+        writer.write(String.format("%s%-40s %8s %10s %10s %10s %10s%n", indent, "Name", "Count", "p50", "p90", "p99", "Max"));
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram latency = entry.getValue();
+            writer.write(String.format("%s%-40s %8d %10s %10s %10s %10s%n", indent, entry.getKey(),
+                latency.getTotalCount(),
+                LatencyHistogram.formatMillis(latency.getValueAtPercentile(50)),
+                LatencyHistogram.formatMillis(latency.getValueAtPercentile(90)),
+                LatencyHistogram.formatMillis(latency.getValueAtPercentile(99)),
+                LatencyHistogram.formatMillis(latency.getMaxMicros())));
+        }
+        writer.write("\n");
+    }
+    
+    /**
+     * Write an HTML table of latency percentiles.
+     *
+     * @param writer The report writer
+     * @param title The table title
+     * @param latencies Histograms keyed by row name
+     * @param indent Indentation of the generated markup
+     */
+    private void writeHtmlLatencyTable(FileWriter writer, String title, Map<String, LatencyHistogram> latencies,
+                                       String indent) throws IOException {
+        writer.write(indent + "<div class='latency'>\n");
+        writer.write(indent + "  <p><strong>" + title + ":</strong></p>\n");
+        writer.write(indent + "  <table>\n");
+        writer.write(indent + "    <tr><th>Name</th><th>Count</th><th>p50</th><th>p90</th><th>p99</th><th>Max</th></tr>\n");
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram latency = entry.getValue();
+            writer.write(indent + "    <tr><td>" + entry.getKey() + "</td><td>" + latency.getTotalCount() + "</td><td>" +
+                LatencyHistogram.formatMillis(latency.getValueAtPercentile(50)) + "</td><td>" +
+                LatencyHistogram.formatMillis(latency.getValueAtPercentile(90)) + "</td><td>" +
+                LatencyHistogram.formatMillis(latency.getValueAtPercentile(99)) + "</td><td>" +
+                LatencyHistogram.formatMillis(latency.getMaxMicros()) + "</td></tr>\n");
+        }
+        writer.write(indent + "  </table>\n");
+        writer.write(indent + "</div>\n");
+    }
+    
+    /**
+     * Update the timing file with the durations of the given results.
+     * Tests that did not run keep their previous durations, so shards can share one file.
+     *
+     * @param results List of test results
+     * @param timingFile Path of the timing file
+     * @return The path to the timing file, or null if it could not be written
+     */
+    public String writeTimingHistory(List<TestResult> results, String timingFile) {
+        Path path = Paths.get(timingFile);
+        TimingHistory history = TimingHistory.load(path);
+        for (TestResult result : results) {
+            history.record(result);
+        }
+        try {
+            history.save(path);
+            LOGGER.info("Timing history updated: {}", path.toAbsolutePath());
+            return path.toAbsolutePath().toString();
+        } catch (IOException e) {
+            LOGGER.error("Failed to write timing history: {}", path.toAbsolutePath(), e);
+            return null;
+        }
+    }
+    
+    /**
+     * Generate a text report for load test runs with throughput, error rates and latency percentiles.
+     *
+     * @param reports List of load test reports
+     * @param outputDir Directory to save the report
+     * @return The path to the generated report
+     */
+    public String generateLoadReport(List<LoadTestReport> reports, String outputDir) {
+        LocalDateTime now = LocalDateTime.now();
+        String timestamp = now.format(DATE_FORMATTER);
+        String reportFileName = "eventelope_load_report_" + timestamp + ".txt";
+        
+        // Ensure output directory exists
+        Path outputPath = Paths.get(outputDir);
+        try {
+            Files.createDirectories(outputPath);
+        } catch (IOException e) {
+            LOGGER.error("Failed to create report directory: {}", outputDir, e);
+            return null;
+        }
+        
+        File reportFile = outputPath.resolve(reportFileName).toFile();
+        
+        try (FileWriter writer = new FileWriter(reportFile)) {
+            writer.write("Eventelope Load Test Report\n");
+            writer.write("===========================\n");
+            writer.write("Generated at: " + LocalDateTime.now() + "\n\n");
+            
+            for (int i = 0; i < reports.size(); i++) {
+                LoadTestReport report = reports.get(i);
+                writer.write((i + 1) + ". " + report.getTestName() + "\n");
+                writer.write("   Settings: " + report.getOptions() + "\n");
+                
+                if (!report.isStarted()) {
+                    writer.write("   Status: ABORTED - " + report.getAbortReason() + "\n\n");
+                    continue;
+                }
+                
+                writer.write("   Iterations: " + report.getIterations() + " (" + report.getFailedIterations() + " failed)\n");
+                writer.write("   Elapsed: " + report.getElapsedMs() + "ms\n");
+                writer.write(String.format("   Throughput: %.2f iterations/s, %.2f requests/s%n", 
+                    report.getThroughput(), report.getStepThroughput()));
+                writer.write(String.format("   Error Rate: %.2f%%%n", report.getErrorRate() * 100));
+                writer.write("   Iteration Latency: " + report.getIterationLatency().toSummaryString() + "\n");
+                if (report.getOptions().isArrivalRate()) {
+                    writer.write("   Service Time: " + report.getServiceTime().toSummaryString() + "\n");
+                    writer.write("   Dropped Iterations: " + report.getDroppedIterations() + "\n");
+                }
+                writer.write("   Steps:\n");
+                writer.write(String.format("     %-40s %10s %8s %10s %10s %10s %10s%n", 
+                    "Step", "Count", "Errors", "p50", "p90", "p99", "Max"));
+                
+                for (StepLoadStats stats : report.getStepStats()) {
+                    LatencyHistogram latency = stats.getLatency();
+                    writer.write(String.format("     %-40s %10d %7.2f%% %10s %10s %10s %10s%n",
+                        stats.getStepName(), stats.getExecutions(), stats.getErrorRate() * 100,
+                        LatencyHistogram.formatMillis(latency.getValueAtPercentile(50)),
+                        LatencyHistogram.formatMillis(latency.getValueAtPercentile(90)),
+                        LatencyHistogram.formatMillis(latency.getValueAtPercentile(99)),
+                        LatencyHistogram.formatMillis(latency.getMaxMicros())));
+                }
+                
+                writer.write("\n");
+            }
+            
+            LOGGER.info("Load report generated successfully: {}", reportFile.getAbsolutePath());
+            return reportFile.getAbsolutePath();
+            
+        } catch (IOException e) {
+            LOGGER.error("Failed to generate load report: {}", reportFile.getAbsolutePath(), e);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,179 @@
+package com.eventelope.resilience;
+
+import com.eventelope.config.CircuitBreakerConfig;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Circuit breaker of one service. While closed, the outcomes of the most recent requests are kept
+ * in a ring; once enough of them failed the circuit opens and requests are rejected without being
+ * sent. After the open duration the circuit is half-open: a limited number of probe requests is let
+ * through, and the circuit closes when all of them succeed or opens again on the first failure.
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String service;
+    private final CircuitBreakerConfig config;
+    // Outcomes of the most recent requests while closed, true for a failure
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int probesStarted;
+    private int probesSucceeded;
+    private long timesOpened;
+    private long rejected;
+
+    /**
+     * Create a closed circuit breaker.
+     *
+     * @param service The service, for error messages
+     * @param config The thresholds of the breaker
+     */
+    public CircuitBreaker(String service, CircuitBreakerConfig config) {
+        this.service = service;
+        this.config = config;
+        this.window = new boolean[config.getWindowSize()];
+    }
+
+    /**
+     * Ask to send a request. Every call that is returned must be completed with exactly one of
+     * its outcomes.
+     *
+     * @return The call to report the outcome to
+     * @throws CircuitOpenException if the circuit is open or all probes of the half-open circuit are taken
+     */
+    public synchronized Call tryAcquire() {
+        if (state == State.OPEN) {
+            long openNanos = System.nanoTime() - openedAtNanos;
+            long remainingMs = config.getOpenDuration() - TimeUnit.NANOSECONDS.toMillis(openNanos);
+            if (remainingMs > 0) {
+                rejected++;
+                throw new CircuitOpenException(service, String.format(
+                    "Circuit open for service '%s': too many recent requests failed, next probe in %dms", 
+                    service, remainingMs));
+            }
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= config.getHalfOpenProbes()) {
+                rejected++;
+                throw new CircuitOpenException(service, String.format(
+                    "Circuit open for service '%s': waiting for the outcome of probe requests", service));
+            }
+            probesStarted++;
+            return new Call(true);
+        }
+        return new Call(false);
+    }
+
+    private synchronized void record(boolean probe, boolean failure) {
+        if (probe) {
+            if (state != State.HALF_OPEN) {
+                return;
+            }
+            if (failure) {
+                open();
+            } else if (++probesSucceeded >= config.getHalfOpenProbes()) {
+                close();
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            // Requests sent before the circuit opened don't count towards the next window
+            return;
+        }
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+        if (windowCount >= config.getMinimumRequests() 
+                && windowFailures * 100.0 / windowCount >= config.getFailureRateThreshold()) {
+            open();
+        }
+    }
+
+    private synchronized void releaseProbe() {
+        if (state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+            probesStarted--;
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        timesOpened++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getTimesOpened() {
+        return timesOpened;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * A request the breaker let through. Only the first outcome reported counts.
+     */
+    public final class Call {
+        private final boolean probe;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Call(boolean probe) {
+            this.probe = probe;
+        }
+
+        /**
+         * The service answered normally.
+         */
+        public void success() {
+            if (done.compareAndSet(false, true)) {
+                record(probe, false);
+            }
+        }
+
+        /**
+         * The service failed: no response, or a server error.
+         */
+        public void failure() {
+            if (done.compareAndSet(false, true)) {
+                record(probe, true);
+            }
+        }
+
+        /**
+         * The request never reached the service, e.g. because it was rejected locally.
+         */
+        public void ignore() {
+            if (done.compareAndSet(false, true) && probe) {
+                releaseProbe();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.eventelope.resilience;
+
+import com.eventelope.config.CircuitBreakerConfig;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suite-wide circuit breakers, one per service that has a circuit breaker configured.
+ */
+public class CircuitBreakers {
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * Get the breaker of a service, creating it on first use.
+     *
+     * @param service The service name
+     * @param config The service's circuit breaker settings, or null if it has none
+     * @return The circuit breaker, or null if the service has none
+     */
+    public CircuitBreaker forService(String service, CircuitBreakerConfig config) {
+        if (config == null) {
+            return null;
+        }
+        return breakers.computeIfAbsent(service, name -> new CircuitBreaker(name, config));
+    }
+
+    /**
+     * Forget every breaker, so that the next run starts with closed circuits.
+     */
+    public void reset() {
+        breakers.clear();
+    }
+
+    /**
+     * Get the breakers that were used, sorted by service name.
+     *
+     * @return Circuit breakers by service name
+     */
+    public Map<String, CircuitBreaker> getBreakers() {
+        return new TreeMap<>(breakers);
+    }
+}
@@ -0,0 +1,23 @@
+package com.eventelope.resilience;
+
+/**
+ * Thrown instead of sending a request to a service whose circuit breaker is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+    private final String service;
+
+    /**
+     * Create the exception.
+     *
+     * @param service The service whose circuit is open
+     * @param message Why the circuit is open
+     */
+    public CircuitOpenException(String service, String message) {
+        super(message);
+        this.service = service;
+    }
+
+    public String getService() {
+        return service;
+    }
+}
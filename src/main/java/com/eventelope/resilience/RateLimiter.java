@@ -0,0 +1,47 @@
+package com.eventelope.resilience;
+
+import com.eventelope.config.RateLimitConfig;
+
+/**
+ * Token bucket that spaces out requests to a configured rate.
+ * Permits are reserved rather than waited for: a caller that finds the bucket empty takes a permit
+ * on credit and is told how long to wait, so concurrent callers are served in order without
+ * blocking a thread in the limiter.
+ */
+public class RateLimiter {
+    private final double permitsPerNano;
+    private final double maxTokens;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    /**
+     * Create a rate limiter with a full bucket.
+     *
+     * @param config The rate and burst size
+     */
+    public RateLimiter(RateLimitConfig config) {
+        this.permitsPerNano = config.getRequestsPerSecond() / 1_000_000_000d;
+        this.maxTokens = config.getBurst();
+        this.tokens = maxTokens;
+    }
+
+    /**
+     * Reserve a permit for one request.
+     *
+     * @return How long the request must wait before it is sent, in nanoseconds (0 to send it now)
+     */
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(maxTokens, tokens + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+        tokens -= 1;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens / permitsPerNano);
+    }
+
+    public synchronized double getAvailableTokens() {
+        return tokens;
+    }
+}
@@ -0,0 +1,71 @@
+package com.eventelope.resilience;
+
+import com.eventelope.config.RateLimitConfig;
+import com.eventelope.core.WorkerPools;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suite-wide client-side rate limiters, one per service and one per host.
+ * A request waits until both the limiter of its service and the limiter of its host allow it.
+ */
+public class RateLimiters {
+    // Sends requests on once their wait is over; blocking transports send on this thread
+    private static final ExecutorService DISPATCH = WorkerPools.newCachedPool("eventelope-rate-limit");
+
+    private final Map<String, RateLimitConfig> hostLimits;
+    private final Map<String, RateLimiter> serviceLimiters = new ConcurrentHashMap<>();
+    private final Map<String, RateLimiter> hostLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * Create the rate limiters of a suite.
+     *
+     * @param hostLimits Rate limits keyed by host name
+     */
+    public RateLimiters(Map<String, RateLimitConfig> hostLimits) {
+        this.hostLimits = new ConcurrentHashMap<>();
+        hostLimits.forEach((host, limit) -> this.hostLimits.put(host.toLowerCase(Locale.ROOT), limit));
+    }
+
+    /**
+     * Forget the limiters of earlier runs, so that the next run starts with full buckets
+     * instead of the reservations left behind.
+     */
+    public void reset() {
+        serviceLimiters.clear();
+        hostLimiters.clear();
+    }
+
+    /**
+     * Reserve a permit for a request and wait for it without blocking.
+     *
+     * @param service The service of the request
+     * @param serviceLimit The rate limit of the service, or null if it has none
+     * @param host The host of the request, or null if unknown
+     * @return Future completing with the time waited in nanoseconds, once the request may be sent
+     */
+    public CompletableFuture<Long> acquire(String service, RateLimitConfig serviceLimit, String host) {
+        long waitNanos = 0;
+        if (serviceLimit != null) {
+            waitNanos = serviceLimiters.computeIfAbsent(String.valueOf(service), 
+                name -> new RateLimiter(serviceLimit)).reserve();
+        }
+        RateLimitConfig hostLimit = host != null ? hostLimits.get(host.toLowerCase(Locale.ROOT)) : null;
+        if (hostLimit != null) {
+            waitNanos = Math.max(waitNanos, hostLimiters.computeIfAbsent(host.toLowerCase(Locale.ROOT), 
+                name -> new RateLimiter(hostLimit)).reserve());
+        }
+        if (waitNanos == 0) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        long waited = waitNanos;
+        Executor afterWait = CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, DISPATCH);
+        return CompletableFuture.supplyAsync(() -> waited, afterWait);
+    }
+}
@@ -0,0 +1,63 @@
+package com.eventelope.resilience;
+
+/**
+ * Token bucket that limits retries to a fraction of successful requests.
+ * Every success deposits a fraction of a token and every retry withdraws a whole one,
+ * so a failing service cannot be flooded with retries from many parallel tests.
+ */
+public class RetryBudget {
+    private final double retryRatio;
+    private final double maxTokens;
+    private double tokens;
+    private long retriesAllowed;
+    private long retriesSuppressed;
+
+    /**
+     * Create a retry budget.
+     *
+     * @param retryRatio Retries allowed per successful request, e.g. 0.2 for one retry per five successes
+     * @param burst Number of retries allowed before any request has succeeded, and the maximum saved up
+     */
+    public RetryBudget(double retryRatio, int burst) {
+        if (retryRatio < 0) {
+            throw new IllegalArgumentException("Retry budget ratio must not be negative: " + retryRatio);
+        }
+        this.retryRatio = retryRatio;
+        this.maxTokens = Math.max(0, burst);
+        this.tokens = this.maxTokens;
+    }
+
+    /**
+     * Record a successful request, adding to the budget.
+     */
+    public synchronized void recordSuccess() {
+        tokens = Math.min(maxTokens, tokens + retryRatio);
+    }
+
+    /**
+     * Try to spend one retry from the budget.
+     *
+     * @return true if the retry may go ahead, false if the budget is exhausted
+     */
+    public synchronized boolean tryAcquireRetry() {
+        if (tokens >= 1) {
+            tokens -= 1;
+            retriesAllowed++;
+            return true;
+        }
+        retriesSuppressed++;
+        return false;
+    }
+
+    public synchronized double getAvailableTokens() {
+        return tokens;
+    }
+
+    public synchronized long getRetriesAllowed() {
+        return retriesAllowed;
+    }
+
+    public synchronized long getRetriesSuppressed() {
+        return retriesSuppressed;
+    }
+}
@@ -0,0 +1,57 @@
+package com.eventelope.resilience;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suite-wide retry budgets, one per service.
+ * Steps without a service share the "default" budget.
+ */
+public class RetryBudgets {
+    public static final String DEFAULT_SERVICE = "default";
+
+    private final double retryRatio;
+    private final int burst;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * Create the budgets for a suite.
+     *
+     * @param retryRatio Retries allowed per successful request of a service
+     * @param burst Retries a service may use before any of its requests has succeeded
+     */
+    public RetryBudgets(double retryRatio, int burst) {
+        this.retryRatio = retryRatio;
+        this.burst = burst;
+    }
+
+    /**
+     * Get the budget of a service, creating it on first use.
+     *
+     * @param service The service name, or null for the default budget
+     * @return The retry budget
+     */
+    public RetryBudget forService(String service) {
+        return budgets.computeIfAbsent(service != null ? service : DEFAULT_SERVICE,
+            name -> new RetryBudget(retryRatio, burst));
+    }
+
+    /**
+     * Forget the budgets of earlier runs.
+     */
+    public void reset() {
+        budgets.clear();
+    }
+
+    /**
+     * Get the number of suppressed retries per service.
+     *
+     * @return Suppressed retries by service name, sorted by name
+     */
+    public Map<String, Long> getSuppressedRetries() {
+        Map<String, Long> suppressed = new TreeMap<>();
+        budgets.forEach((service, budget) -> suppressed.put(service, budget.getRetriesSuppressed()));
+        return suppressed;
+    }
+}
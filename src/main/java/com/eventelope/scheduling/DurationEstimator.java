@@ -0,0 +1,141 @@
+package com.eventelope.scheduling;
+
+import com.eventelope.core.TestCase;
+import com.eventelope.model.RetryPolicy;
+import com.eventelope.model.Step;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estimates how long a test case will take, for scheduling and sharding.
+ * Uses the recorded duration when the test has run before. Otherwise the estimate is built from
+ * the number of requests and the retry settings of its steps, with the cost of a request
+ * calibrated from the tests that do have a history.
+ */
+public class DurationEstimator {
+    // Assumed cost of one request when there is no history to calibrate from
+    private static final long DEFAULT_REQUEST_MS = 200;
+    // Share of the worst-case retry time a test with retries is expected to spend
+    private static final double EXPECTED_RETRY_SHARE = 0.5;
+
+    private final TimingHistory history;
+    private final double requestMs;
+
+    /**
+     * Create an estimator for a suite.
+     *
+     * @param history The timing history of previous runs
+     * @param testCases The test cases of the suite, used to calibrate the cost of a request
+     */
+    public DurationEstimator(TimingHistory history, List<TestCase> testCases) {
+        this.history = history;
+        this.requestMs = calibrateRequestMs(history, testCases);
+    }
+
+    /**
+     * Estimate the duration of a test case.
+     *
+     * @param testCase The test case
+     * @return The estimated duration in milliseconds
+     */
+    public long estimateMs(TestCase testCase) {
+        Long recorded = history.getDurationMs(testCase);
+        return recorded != null ? recorded : Math.round(estimateFromSteps(testCase, requestMs));
+    }
+
+    /**
+     * Order test cases longest first. Tests of equal length keep their declared order.
+     *
+     * @param testCases The test cases
+     * @return Indexes into the test cases, longest first
+     */
+    public List<Integer> longestFirst(List<TestCase> testCases) {
+        long[] estimates = new long[testCases.size()];
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < testCases.size(); i++) {
+            estimates[i] = estimateMs(testCases.get(i));
+            order.add(i);
+        }
+        order.sort((a, b) -> Long.compare(estimates[b], estimates[a]));
+        return order;
+    }
+
+    /**
+     * Check if the estimate of a test case comes from a previous run.
+     *
+     * @param testCase The test case
+     * @return true if the test case has a recorded duration
+     */
+    public boolean hasHistory(TestCase testCase) {
+        return history.getDurationMs(testCase) != null;
+    }
+
+    private static double calibrateRequestMs(TimingHistory history, List<TestCase> testCases) {
+        long recordedMs = 0;
+        double unitCost = 0;
+        for (TestCase testCase : testCases) {
+            Long recorded = history.getDurationMs(testCase);
+            if (recorded != null) {
+                recordedMs += recorded;
+                // Cost of the test in units of one request
+                unitCost += estimateFromSteps(testCase, 1.0);
+            }
+        }
+        return unitCost > 0 ? Math.max(1.0, recordedMs / unitCost) : DEFAULT_REQUEST_MS;
+    }
+
+    private static double estimateFromSteps(TestCase testCase, double requestMs) {
+        double estimate = 0;
+        for (Step step : allSteps(testCase)) {
+            estimate += requestMs;
+            if (step.hasRetryConfig()) {
+                RetryPolicy policy = step.getEffectiveRetryPolicy();
+                double worstCase = policy.getMaxRetries() * requestMs + totalDelayMs(policy);
+                if (policy.getMaxElapsedTime() > 0) {
+                    worstCase = Math.min(worstCase, policy.getMaxElapsedTime());
+                }
+                estimate += EXPECTED_RETRY_SHARE * worstCase;
+            }
+            if (step.getWaitUntil() != null) {
+                // Polling steps are expected to wait about as long as retried steps, relative to their limit
+                estimate += EXPECTED_RETRY_SHARE * step.getWaitUntil().getMaxWait();
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Sum of the waits between attempts when a step uses all of its retries.
+     * Jittered backoff is estimated by the mean of its random range.
+     */
+    private static double totalDelayMs(RetryPolicy policy) {
+        double total = 0;
+        double previous = 0;
+        for (int retry = 1; retry <= policy.getMaxRetries(); retry++) {
+            double delay;
+            if (RetryPolicy.EXPONENTIAL.equals(policy.getBackoff())) {
+                delay = policy.getInitialInterval() * Math.pow(policy.getMultiplier(), retry - 1);
+            } else if (RetryPolicy.DECORRELATED_JITTER.equals(policy.getBackoff())) {
+                delay = (policy.getInitialInterval() + Math.max(policy.getInitialInterval(), previous * 3)) / 2.0;
+            } else {
+                delay = policy.getInitialInterval();
+            }
+            if (policy.getMaxInterval() > 0) {
+                delay = Math.min(delay, policy.getMaxInterval());
+            }
+            total += delay;
+            previous = delay;
+        }
+        return total;
+    }
+
+    private static List<Step> allSteps(TestCase testCase) {
+        List<Step> steps = new ArrayList<>();
+        steps.addAll(testCase.getPreconditions());
+        steps.addAll(testCase.getSetup());
+        steps.addAll(testCase.getExecution());
+        steps.addAll(testCase.getCleanup());
+        return steps;
+    }
+}
@@ -0,0 +1,49 @@
+package com.eventelope.scheduling;
+
+/**
+ * One of several CI machines sharing a test suite, given as "index/total" with a 1-based index.
+ */
+public class Shard {
+    private final int index;
+    private final int total;
+
+    public Shard(int index, int total) {
+        if (total < 1 || index < 1 || index > total) {
+            throw new IllegalArgumentException("Invalid shard " + index + "/" + total
+                + ": expected an index between 1 and the shard count");
+        }
+        this.index = index;
+        this.total = total;
+    }
+
+    /**
+     * Parse a shard specification such as "3/8".
+     *
+     * @param value The shard specification
+     * @return The shard
+     */
+    public static Shard parse(String value) {
+        String[] parts = value.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid shard '" + value + "': expected <index>/<total>, e.g. 3/8");
+        }
+        try {
+            return new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid shard '" + value + "': expected <index>/<total>, e.g. 3/8");
+        }
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + total;
+    }
+}
@@ -0,0 +1,83 @@
+package com.eventelope.scheduling;
+
+import com.eventelope.core.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits a suite into shards of about equal total duration.
+ * Test cases are assigned longest first to the shard with the least work so far (LPT).
+ * Every machine computes the same plan as long as it parses the same tests and reads
+ * the same timing history, so no coordination between machines is needed.
+ */
+public class ShardPlanner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardPlanner.class);
+
+    private final TimingHistory history;
+
+    public ShardPlanner(TimingHistory history) {
+        this.history = history;
+    }
+
+    /**
+     * Select the test cases that belong to a shard.
+     *
+     * @param testCases All test cases of the suite
+     * @param shard The shard to select
+     * @return The test cases of the shard, in their original order
+     */
+    public List<TestCase> select(List<TestCase> testCases, Shard shard) {
+        // Tests without history are estimated from their steps and retry settings
+        DurationEstimator estimator = new DurationEstimator(history, testCases);
+        Map<TestCase, Long> estimates = new IdentityHashMap<>();
+        for (TestCase testCase : testCases) {
+            estimates.put(testCase, estimator.estimateMs(testCase));
+        }
+
+        // Sort by duration and then by file so that every machine builds the same plan
+        List<TestCase> ordered = new ArrayList<>(testCases);
+        ordered.sort(Comparator.comparing((TestCase testCase) -> estimates.get(testCase)).reversed()
+            .thenComparing(ShardPlanner::sortKey));
+
+        long[] load = new long[shard.getTotal()];
+        Map<TestCase, Integer> assignment = new IdentityHashMap<>();
+        for (TestCase testCase : ordered) {
+            int lightest = 0;
+            for (int i = 1; i < load.length; i++) {
+                if (load[i] < load[lightest]) {
+                    lightest = i;
+                }
+            }
+            load[lightest] += estimates.get(testCase);
+            assignment.put(testCase, lightest);
+        }
+
+        List<TestCase> selected = new ArrayList<>();
+        for (TestCase testCase : testCases) {
+            if (assignment.get(testCase) == shard.getIndex() - 1) {
+                selected.add(testCase);
+            }
+        }
+        LOGGER.info("Shard {} runs {} of {} test cases (estimated {}ms, largest shard {}ms)",
+            shard, selected.size(), testCases.size(), load[shard.getIndex() - 1], max(load));
+        return selected;
+    }
+
+    private static String sortKey(TestCase testCase) {
+        return testCase.getFilePath() != null ? TimingHistory.keyFor(testCase.getFilePath()) : String.valueOf(testCase.getName());
+    }
+
+    private static long max(long[] values) {
+        long max = 0;
+        for (long value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,47 @@
+package com.eventelope.scheduling;
+
+import com.eventelope.core.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects test cases by a case-insensitive text that must appear in the test name or file path.
+ * Several alternatives can be given separated by commas.
+ */
+public final class TestFilter {
+
+    private TestFilter() {
+    }
+
+    /**
+     * Select the test cases matching a filter.
+     *
+     * @param testCases The test cases
+     * @param filter Comma-separated texts to look for, or null/empty to select everything
+     * @return The matching test cases, in their original order
+     */
+    public static List<TestCase> select(List<TestCase> testCases, String filter) {
+        if (filter == null || filter.trim().isEmpty()) {
+            return testCases;
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : filter.split(",")) {
+            if (!term.trim().isEmpty()) {
+                terms.add(term.trim().toLowerCase());
+            }
+        }
+        List<TestCase> selected = new ArrayList<>();
+        for (TestCase testCase : testCases) {
+            String name = String.valueOf(testCase.getName()).toLowerCase();
+            String path = String.valueOf(testCase.getFilePath()).replace('\\', '/').toLowerCase();
+            for (String term : terms) {
+                if (name.contains(term) || path.contains(term)) {
+                    selected.add(testCase);
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+}
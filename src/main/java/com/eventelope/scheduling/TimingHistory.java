@@ -0,0 +1,134 @@
+package com.eventelope.scheduling;
+
+import com.eventelope.core.TestCase;
+import com.eventelope.core.TestResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Durations of previous test runs, keyed by test file.
+ * Stored as a small text file with one "path TAB milliseconds" line per test file. Paths are
+ * relative to the working directory so the file can be shared between CI machines that
+ * check the repository out at different locations.
+ */
+public class TimingHistory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingHistory.class);
+    public static final String DEFAULT_FILE = ".eventelope/timings.tsv";
+
+    // Weight of the newest run when combining it with the recorded duration
+    private static final double NEW_RUN_WEIGHT = 0.5;
+
+    private final Map<String, Long> durations = new TreeMap<>();
+
+    /**
+     * Load the timing history from a file.
+     *
+     * @param file The timing file
+     * @return The timing history, empty if the file does not exist or cannot be read
+     */
+    public static TimingHistory load(Path file) {
+        TimingHistory history = new TimingHistory();
+        if (!Files.isRegularFile(file)) {
+            LOGGER.debug("No timing history found at {}", file);
+            return history;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int separator = line.lastIndexOf('\t');
+                if (separator <= 0) {
+                    continue;
+                }
+                try {
+                    history.durations.put(line.substring(0, separator), Long.parseLong(line.substring(separator + 1).trim()));
+                } catch (NumberFormatException e) {
+                    LOGGER.debug("Ignoring invalid timing entry: {}", line);
+                }
+            }
+            LOGGER.info("Loaded timing history for {} test files from {}", history.durations.size(), file);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read timing history {}: {}", file, e.getMessage());
+        }
+        return history;
+    }
+
+    /**
+     * Write the timing history to a file, creating parent directories as needed.
+     *
+     * @param file The timing file
+     * @throws IOException If the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# Eventelope test durations in milliseconds, used for sharding and scheduling\n");
+            for (Map.Entry<String, Long> entry : durations.entrySet()) {
+                writer.write(entry.getKey() + "\t" + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Record the duration of a test result, smoothing it with the previously recorded duration.
+     *
+     * @param result The test result
+     */
+    public void record(TestResult result) {
+        String filePath = result.getTestCase() != null ? result.getTestCase().getFilePath() : null;
+        if (filePath == null) {
+            return;
+        }
+        String key = keyFor(filePath);
+        long duration = result.getExecutionDurationMs();
+        Long previous = durations.get(key);
+        durations.put(key, previous == null
+            ? duration : Math.round(NEW_RUN_WEIGHT * duration + (1 - NEW_RUN_WEIGHT) * previous));
+    }
+
+    /**
+     * Get the recorded duration of a test case.
+     *
+     * @param testCase The test case
+     * @return The duration in milliseconds, or null if the test has no history
+     */
+    public Long getDurationMs(TestCase testCase) {
+        return testCase.getFilePath() != null ? durations.get(keyFor(testCase.getFilePath())) : null;
+    }
+
+    public boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    public int size() {
+        return durations.size();
+    }
+
+    /**
+     * Convert a test file path into its history key: relative to the working directory
+     * when possible, always with forward slashes.
+     *
+     * @param filePath The test file path
+     * @return The history key
+     */
+    static String keyFor(String filePath) {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        Path workingDir = Paths.get("").toAbsolutePath().normalize();
+        if (path.startsWith(workingDir)) {
+            path = workingDir.relativize(path);
+        }
+        return path.toString().replace('\\', '/');
+    }
+}
@@ -1,9 +1,13 @@
 package com.eventelope.template;
 
+import java.io.Serializable;
+
 /**
  * Represents a variable that can be used for template substitution in payload files.
  */
-public class TemplateVariable {
+public class TemplateVariable implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String name;
     private String value;
     
@@ -0,0 +1,234 @@
+package com.eventelope.watch;
+
+import com.eventelope.Eventelope;
+import com.eventelope.core.TestCase;
+import com.eventelope.daemon.TestCaseCache;
+import com.eventelope.parser.YamlParser;
+import com.eventelope.scheduling.TestFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Re-runs test cases whenever their YAML file or one of their "file:" payloads changes.
+ * Watches the test directory and every directory holding a payload file. Only the affected
+ * test cases are parsed and executed again, in the same process, so the HTTP client and the
+ * other parsed test cases stay warm.
+ */
+public class TestWatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestWatcher.class);
+    // Editors often write a file in several steps; collect the events of a burst before re-running
+    private static final long DEBOUNCE_MS = 300;
+
+    private final Eventelope eventelope;
+    private final Path testDir;
+    private final String reportDir;
+    private final String filter;
+    private final TestCaseCache cache = new TestCaseCache(new YamlParser());
+    // Payload file -> test files that load it
+    private final Map<Path, Set<Path>> payloadDependents = new HashMap<>();
+    private final Set<Path> watchedDirectories = new HashSet<>();
+    // Set when the watch service dropped events, so that changed files may be unknown
+    private boolean overflowed;
+
+    /**
+     * Create a watcher.
+     *
+     * @param eventelope The Eventelope instance that executes the tests
+     * @param testDir Directory containing test files
+     * @param reportDir Directory to store reports
+     * @param filter Only run tests whose name or path contains this text, or null for all tests
+     */
+    public TestWatcher(Eventelope eventelope, String testDir, String reportDir, String filter) {
+        this.eventelope = eventelope;
+        this.testDir = Paths.get(testDir).toAbsolutePath().normalize();
+        this.reportDir = reportDir;
+        this.filter = filter;
+    }
+
+    /**
+     * Run the whole suite once, then re-run changed test cases until the process is stopped.
+     *
+     * @throws IOException If the directories cannot be watched
+     */
+    public void watch() throws IOException {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            List<TestCase> testCases = load();
+            registerTree(watchService, testDir);
+            updateDependencies(watchService, testCases);
+            run(testCases);
+
+            LOGGER.info("Watching {} and {} payload directories for changes (Ctrl+C to stop)",
+                testDir, watchedDirectories.size() - countTestDirectories());
+            while (true) {
+                Set<Path> changed = awaitChanges(watchService);
+                if (overflowed) {
+                    overflowed = false;
+                    LOGGER.warn("Too many changes at once to track, re-running all test cases");
+                    cache.invalidateAll();
+                    // Directories created during the burst may have been missed as well
+                    registerTree(watchService, testDir);
+                    List<TestCase> all = load();
+                    updateDependencies(watchService, all);
+                    run(all);
+                    continue;
+                }
+                Set<Path> affected = affectedTests(changed);
+                if (affected.isEmpty()) {
+                    continue;
+                }
+                for (Path testFile : affected) {
+                    cache.invalidate(testFile);
+                }
+
+                List<TestCase> rerun = load().stream()
+                    .filter(testCase -> affected.contains(normalize(testCase.getFilePath())))
+                    .collect(Collectors.toList());
+                updateDependencies(watchService, rerun);
+                if (!rerun.isEmpty()) {
+                    LOGGER.info("Re-running {} changed test cases", rerun.size());
+                    run(rerun);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            LOGGER.info("Stopped watching {}", testDir);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<TestCase> load() throws IOException {
+        return TestFilter.select(cache.load(testDir.toString()), filter);
+    }
+
+    private void run(List<TestCase> testCases) {
+        boolean allPassed = eventelope.runTestCases(testCases, reportDir, result -> { });
+        LOGGER.info("Watch run finished: {}", allPassed ? "all tests passed" : "some tests failed");
+    }
+
+    /**
+     * Block until at least one file changed, then collect further changes until things go quiet.
+     *
+     * @param watchService The watch service
+     * @return The changed paths
+     */
+    private Set<Path> awaitChanges(WatchService watchService) throws InterruptedException, IOException {
+        Set<Path> changed = new LinkedHashSet<>();
+        WatchKey key = watchService.take();
+        while (key != null) {
+            Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    overflowed = true;
+                    continue;
+                }
+                Path path = directory.resolve((Path) event.context()).toAbsolutePath().normalize();
+                // Watch directories created inside the test directory
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)
+                        && path.startsWith(testDir)) {
+                    registerTree(watchService, path);
+                }
+                changed.add(path);
+            }
+            key.reset();
+            key = watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+        }
+        return changed;
+    }
+
+    /**
+     * Find the test files affected by a set of changed paths.
+     *
+     * @param changed The changed paths
+     * @return Test files to parse and run again
+     */
+    private Set<Path> affectedTests(Set<Path> changed) {
+        Set<Path> affected = new LinkedHashSet<>();
+        for (Path path : changed) {
+            Set<Path> dependents = payloadDependents.get(path);
+            if (dependents != null) {
+                LOGGER.info("Payload changed: {}", path);
+                affected.addAll(dependents);
+            }
+            if (path.startsWith(testDir) && isTestFile(path) && Files.isRegularFile(path)) {
+                LOGGER.info("Test file changed: {}", path);
+                affected.add(path);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Record which payload files the given test cases load, and watch their directories.
+     *
+     * @param watchService The watch service
+     * @param testCases Freshly parsed test cases
+     */
+    private void updateDependencies(WatchService watchService, List<TestCase> testCases) throws IOException {
+        for (TestCase testCase : testCases) {
+            Path testFile = normalize(testCase.getFilePath());
+            for (Set<Path> dependents : payloadDependents.values()) {
+                dependents.remove(testFile);
+            }
+            for (Path payloadFile : payloadFiles(testCase)) {
+                payloadDependents.computeIfAbsent(payloadFile, file -> new HashSet<>()).add(testFile);
+                register(watchService, payloadFile.getParent());
+            }
+        }
+    }
+
+    private static Set<Path> payloadFiles(TestCase testCase) {
+        Set<Path> files = new HashSet<>();
+        for (String payloadFile : testCase.getPayloadFiles()) {
+            files.add(normalize(payloadFile));
+        }
+        return files;
+    }
+
+    private void registerTree(WatchService watchService, Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path directory : paths.filter(Files::isDirectory).collect(Collectors.toList())) {
+                register(watchService, directory);
+            }
+        }
+    }
+
+    private void register(WatchService watchService, Path directory) throws IOException {
+        Path normalized = directory.toAbsolutePath().normalize();
+        if (watchedDirectories.add(normalized)) {
+            normalized.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        }
+    }
+
+    private long countTestDirectories() {
+        return watchedDirectories.stream().filter(directory -> directory.startsWith(testDir)).count();
+    }
+
+    private static boolean isTestFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(".yaml") || name.endsWith(".yml");
+    }
+
+    private static Path normalize(String path) {
+        return Paths.get(path).toAbsolutePath().normalize();
+    }
+}
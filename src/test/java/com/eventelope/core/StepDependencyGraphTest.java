@@ -0,0 +1,119 @@
+package com.eventelope.core;
+
+import com.eventelope.extraction.ExtractionDefinition;
+import com.eventelope.model.ApiRequest;
+import com.eventelope.model.ResponseVerifier;
+import com.eventelope.model.Step;
+import com.eventelope.template.TemplateVariable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the variable dependencies and barrier handling of {@link StepDependencyGraph}.
+ */
+class StepDependencyGraphTest {
+
+    @Test
+    void independentReadsCanRunTogether() {
+        StepDependencyGraph graph = StepDependencyGraph.build(List.of(
+            step("GET", "/users", null), step("GET", "/products", null), step("GET", "/prices", null)));
+        
+        for (int i = 0; i < graph.size(); i++) {
+            assertEquals(Set.of(), graph.getDependencies(i));
+        }
+        assertFalse(graph.isSequential());
+    }
+
+    @Test
+    void readWaitsForTheStepThatExtractsTheVariable() {
+        StepDependencyGraph graph = StepDependencyGraph.build(List.of(
+            step("GET", "/users/me", "userId"),
+            step("GET", "/products", null),
+            step("GET", "/users/${userId}/orders", null)));
+        
+        assertEquals(Set.of(), graph.getDependencies(1));
+        assertEquals(Set.of(0), graph.getDependencies(2));
+    }
+
+    @Test
+    void overwriteWaitsForEarlierReadersAndWriters() {
+        StepDependencyGraph graph = StepDependencyGraph.build(List.of(
+            step("GET", "/tokens/1", "token"),
+            step("GET", "/orders?token=${token}", null),
+            step("GET", "/tokens/2", "token")));
+        
+        assertEquals(Set.of(0, 1), graph.getDependencies(2));
+    }
+
+    @Test
+    void templateVariableWithItsOwnValueIsNoDependency() {
+        Step templated = step("GET", "/search?q={{query}}", null);
+        TemplateVariable query = new TemplateVariable();
+        query.setName("query");
+        query.setValue("shoes");
+        templated.getRequest().getTemplateVariables().add(query);
+        
+        StepDependencyGraph graph = StepDependencyGraph.build(List.of(
+            step("GET", "/defaults", "query"), templated, step("GET", "/items/{{query}}", null)));
+        
+        assertEquals(Set.of(), graph.getDependencies(1));
+        assertEquals(Set.of(0), graph.getDependencies(2));
+    }
+
+    @Test
+    void stateChangingStepIsABarrier() {
+        StepDependencyGraph graph = StepDependencyGraph.build(List.of(
+            step("GET", "/users", null),
+            step("GET", "/products", null),
+            step("POST", "/orders", null),
+            step("GET", "/stock", null),
+            step("GET", "/invoices", null)));
+        
+        // The POST waits for everything before it, and everything after it waits for the POST
+        assertEquals(Set.of(0, 1), graph.getDependencies(2));
+        assertEquals(Set.of(2), graph.getDependencies(3));
+        assertEquals(Set.of(2), graph.getDependencies(4));
+        assertFalse(graph.isSequential());
+    }
+
+    @Test
+    void consecutiveBarriersFormAChain() {
+        StepDependencyGraph graph = StepDependencyGraph.build(List.of(
+            step("POST", "/orders", null), step("PUT", "/orders/1", null), step("DELETE", "/orders/1", null)));
+        
+        assertTrue(graph.isSequential());
+    }
+
+    @Test
+    void onlyReadOnlyMethodsAreSafe() {
+        assertTrue(StepDependencyGraph.isSafeMethod("GET"));
+        assertTrue(StepDependencyGraph.isSafeMethod("HEAD"));
+        assertTrue(StepDependencyGraph.isSafeMethod("OPTIONS"));
+        assertFalse(StepDependencyGraph.isSafeMethod("POST"));
+        assertFalse(StepDependencyGraph.isSafeMethod("PATCH"));
+        assertFalse(StepDependencyGraph.isSafeMethod(null));
+    }
+
+    private static Step step(String method, String endpoint, String extractTo) {
+        ApiRequest request = new ApiRequest();
+        request.setMethod(method);
+        request.setEndpoint(endpoint);
+        ResponseVerifier verifier = new ResponseVerifier();
+        if (extractTo != null) {
+            ExtractionDefinition extraction = new ExtractionDefinition();
+            extraction.setFrom("$." + extractTo);
+            extraction.setStoreTo(extractTo);
+            List<ExtractionDefinition> extractions = new ArrayList<>();
+            extractions.add(extraction);
+            verifier.setExtractions(extractions);
+        }
+        return new Step(method + " " + endpoint, request, verifier);
+    }
+}
@@ -0,0 +1,108 @@
+package com.eventelope.http;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for the request matching, replay order and file format of {@link Cassette}.
+ */
+class CassetteTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void replaysInRecordingOrderThenRepeatsTheLastResponse() {
+        Cassette cassette = new Cassette();
+        ResolvedRequest poll = request("GET", "http://localhost/orders/1", null, null);
+        cassette.record(poll, response(404, "pending"));
+        cassette.record(poll, response(200, "shipped"));
+        
+        assertEquals(404, cassette.replay(poll).getStatusCode());
+        assertEquals(200, cassette.replay(poll).getStatusCode());
+        assertEquals("shipped", cassette.replay(poll).getBody().asString());
+    }
+
+    @Test
+    void rewindStartsFromTheFirstResponseAgain() {
+        Cassette cassette = new Cassette();
+        ResolvedRequest poll = request("GET", "http://localhost/orders/1", null, null);
+        cassette.record(poll, response(404, "pending"));
+        cassette.record(poll, response(200, "shipped"));
+        cassette.replay(poll);
+        cassette.replay(poll);
+        
+        cassette.rewind();
+        
+        assertEquals(404, cassette.replay(poll).getStatusCode());
+    }
+
+    @Test
+    void matchesOnMethodUrlUserAndBody() {
+        Cassette cassette = new Cassette();
+        cassette.record(request("POST", "http://localhost/orders", "alice", "{\"qty\":1}"), response(201, "a"));
+        
+        assertEquals(201, cassette.replay(request("post", "http://localhost/orders", "alice", "{\"qty\":1}")).getStatusCode());
+        assertNull(cassette.replay(request("POST", "http://localhost/orders", "bob", "{\"qty\":1}")));
+        assertNull(cassette.replay(request("POST", "http://localhost/orders", "alice", "{\"qty\":2}")));
+        assertNull(cassette.replay(request("PUT", "http://localhost/orders", "alice", "{\"qty\":1}")));
+        assertNull(cassette.replay(request("POST", "http://localhost/orders/", "alice", "{\"qty\":1}")));
+    }
+
+    @Test
+    void savedCassetteLoadsWithTheSameExchanges() throws Exception {
+        Cassette cassette = new Cassette();
+        ResolvedRequest create = request("POST", "http://localhost/orders", "alice", "line1\nline2\t");
+        ResolvedRequest poll = request("GET", "http://localhost/orders/1", null, null);
+        cassette.record(create, response(201, "created\twith\ttabs\n"));
+        cassette.record(poll, response(404, "pending"));
+        cassette.record(poll, response(200, "shipped"));
+        Path file = tempDir.resolve("nested/cassette.tsv");
+        
+        cassette.save(file);
+        Cassette loaded = Cassette.load(file);
+        
+        assertEquals(3, loaded.size());
+        Response created = loaded.replay(create);
+        assertEquals(201, created.getStatusCode());
+        assertArrayEquals("created\twith\ttabs\n".getBytes(StandardCharsets.UTF_8), created.getBody().asByteArray());
+        assertEquals("application/json", created.getHeader("Content-Type"));
+        assertEquals("abc", created.getHeader("X-Trace"));
+        assertEquals(404, loaded.replay(poll).getStatusCode());
+        assertEquals(200, loaded.replay(poll).getStatusCode());
+    }
+
+    @Test
+    void invalidLinesAreSkippedWhenLoading() throws Exception {
+        Path file = tempDir.resolve("cassette.tsv");
+        Files.write(file, List.of("# comment", "", "GET\thttp://localhost\tonly three fields"), StandardCharsets.UTF_8);
+        
+        assertEquals(0, Cassette.load(file).size());
+    }
+
+    private static ResolvedRequest request(String method, String url, String user, String body) {
+        return new ResolvedRequest(method, url, Collections.emptyMap(), body, user, null, null);
+    }
+
+    private static Response response(int statusCode, String body) {
+        return new ResponseBuilder()
+            .setStatusCode(statusCode)
+            .setStatusLine("HTTP/1.1 " + statusCode)
+            .setHeaders(new Headers(List.of(new Header("Content-Type", "application/json"), new Header("X-Trace", "abc"))))
+            .setBody(body.getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+}
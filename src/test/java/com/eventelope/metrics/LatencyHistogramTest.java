@@ -0,0 +1,131 @@
+package com.eventelope.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the bucket layout, percentiles and merging of {@link LatencyHistogram}.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getMinMicros());
+        assertEquals(0, histogram.getMaxMicros());
+        assertEquals(0.0, histogram.getMeanMicros(), 0.0);
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    void valuesBelowLinearLimitAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 0; value < 128; value++) {
+            histogram.recordMicros(value);
+        }
+        
+        assertEquals(63, histogram.getValueAtPercentile(50));
+        assertEquals(126, histogram.getValueAtPercentile(99));
+        assertEquals(127, histogram.getValueAtPercentile(100));
+        assertEquals(0, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    void bucketsAreContiguousAcrossPowersOfTwo() {
+        for (int index = 0; index < 128 + 64 * 40; index++) {
+            long highest = LatencyHistogram.highestValueFor(index);
+            assertEquals(index, LatencyHistogram.indexFor(highest), "highest value of bucket " + index);
+            assertEquals(index + 1, LatencyHistogram.indexFor(highest + 1), "value after bucket " + index);
+        }
+    }
+
+    @Test
+    void bucketErrorStaysBelowOnePointSixPercent() {
+        for (long value = 128; value < 1L << 40; value = value * 3 / 2 + 1) {
+            long highest = LatencyHistogram.highestValueFor(LatencyHistogram.indexFor(value));
+            assertTrue(highest >= value, "bucket of " + value + " ends below it");
+            assertTrue((highest - value) / (double) value < 0.016, "error too large for " + value);
+        }
+    }
+
+    @Test
+    void percentilesAreCappedAtRecordedMinAndMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(1000);
+        histogram.recordMicros(1001);
+        
+        // Both values share a bucket whose highest value is above either of them
+        assertEquals(1001, histogram.getValueAtPercentile(50));
+        assertEquals(1001, histogram.getValueAtPercentile(100));
+        assertEquals(1000, histogram.getMinMicros());
+    }
+
+    @Test
+    void negativeValuesAreRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(-5);
+        
+        assertEquals(1, histogram.getTotalCount());
+        assertEquals(0, histogram.getMaxMicros());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    void nanosAreTruncatedToMicros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(1_999);
+        
+        assertEquals(1, histogram.getMaxMicros());
+    }
+
+    @Test
+    void mergeCombinesCountsAndExtremes() {
+        LatencyHistogram high = new LatencyHistogram();
+        for (int value = 10_001; value <= 20_000; value++) {
+            high.recordMicros(value);
+        }
+        LatencyHistogram low = new LatencyHistogram();
+        for (int value = 1; value <= 10_000; value++) {
+            low.recordMicros(value);
+        }
+        
+        // Merging lower values grows the bucket range downwards
+        high.merge(low);
+        
+        assertEquals(20_000, high.getTotalCount());
+        assertEquals(1, high.getMinMicros());
+        assertEquals(20_000, high.getMaxMicros());
+        assertEquals(10_000.5, high.getMeanMicros(), 1e-9);
+        long median = high.getValueAtPercentile(50);
+        assertTrue(median >= 10_000 && median < 10_000 * 1.016, "median " + median);
+        assertEquals(10_000, low.getTotalCount());
+    }
+
+    @Test
+    void mergeIgnoresNullAndItself() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(42);
+        
+        histogram.merge(null);
+        histogram.merge(histogram);
+        
+        assertEquals(1, histogram.getTotalCount());
+        assertEquals(42, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void copyIsIndependent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(5);
+        LatencyHistogram copy = histogram.copy();
+        
+        histogram.recordMicros(500_000);
+        
+        assertEquals(1, copy.getTotalCount());
+        assertEquals(5, copy.getMaxMicros());
+    }
+}
@@ -0,0 +1,100 @@
+package com.eventelope.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the backoff computation and validation of {@link RetryPolicy}.
+ */
+class RetryPolicyTest {
+
+    @Test
+    void fixedBackoffAlwaysWaitsTheInitialInterval() {
+        RetryPolicy policy = RetryPolicy.fixed(3, 250);
+        
+        assertEquals(250, policy.computeDelay(1, 0));
+        assertEquals(250, policy.computeDelay(3, 250));
+    }
+
+    @Test
+    void exponentialBackoffGrowsByTheMultiplierUpToTheMaximum() {
+        RetryPolicy policy = policy(RetryPolicy.EXPONENTIAL, 100);
+        policy.setMaxInterval(500);
+        
+        assertEquals(100, policy.computeDelay(1, 0));
+        assertEquals(200, policy.computeDelay(2, 100));
+        assertEquals(400, policy.computeDelay(3, 200));
+        assertEquals(500, policy.computeDelay(4, 400));
+    }
+
+    @Test
+    void exponentialBackoffSaturatesInsteadOfOverflowing() {
+        RetryPolicy policy = policy(RetryPolicy.EXPONENTIAL, 1000);
+        
+        assertEquals(Long.MAX_VALUE, policy.computeDelay(200, 0));
+    }
+
+    @Test
+    void decorrelatedJitterStaysBetweenTheIntervalAndThreeTimesThePreviousWait() {
+        RetryPolicy policy = policy(RetryPolicy.DECORRELATED_JITTER, 100);
+        
+        assertEquals(100, policy.computeDelay(1, 0));
+        for (int i = 0; i < 1000; i++) {
+            long delay = policy.computeDelay(2, 400);
+            assertTrue(delay >= 100 && delay <= 1200, "delay " + delay);
+        }
+    }
+
+    @Test
+    void decorrelatedJitterDoesNotOverflowForHugePreviousWaits() {
+        RetryPolicy policy = policy(RetryPolicy.DECORRELATED_JITTER, 100);
+        
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.computeDelay(50, Long.MAX_VALUE / 2);
+            assertTrue(delay >= 100, "delay " + delay);
+        }
+        
+        policy.setMaxInterval(5000);
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.computeDelay(50, Long.MAX_VALUE - 1);
+            assertTrue(delay >= 100 && delay <= 5000, "delay " + delay);
+        }
+    }
+
+    @Test
+    void multiplierBelowOneOrNaNIsRejected() {
+        RetryPolicy policy = new RetryPolicy();
+        
+        assertThrows(IllegalArgumentException.class, () -> policy.setMultiplier(0.5));
+        assertThrows(IllegalArgumentException.class, () -> policy.setMultiplier(Double.NaN));
+        policy.setMultiplier(1.0);
+        assertEquals(1.0, policy.getMultiplier(), 0.0);
+    }
+
+    @Test
+    void unknownBackoffIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy().setBackoff("linear"));
+    }
+
+    @Test
+    void retryableExceptionMatchesCausesBySimpleOrQualifiedName() {
+        RetryPolicy policy = new RetryPolicy();
+        policy.getRetryOnExceptions().add("SocketTimeoutException");
+        
+        assertTrue(policy.isRetryableException(
+            new RuntimeException(new java.net.SocketTimeoutException("read timed out"))));
+        assertFalse(policy.isRetryableException(new IllegalStateException("no")));
+    }
+
+    private static RetryPolicy policy(String backoff, long initialInterval) {
+        RetryPolicy policy = new RetryPolicy();
+        policy.setMaxRetries(5);
+        policy.setBackoff(backoff);
+        policy.setInitialInterval(initialInterval);
+        return policy;
+    }
+}
@@ -0,0 +1,152 @@
+package com.eventelope.resilience;
+
+import com.eventelope.config.CircuitBreakerConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the sliding window and half-open probe accounting of {@link CircuitBreaker}.
+ */
+class CircuitBreakerTest {
+
+    @Test
+    void staysClosedUntilTheMinimumNumberOfRequests() {
+        CircuitBreaker breaker = new CircuitBreaker("orders", config(60_000));
+        
+        fail(breaker, 3);
+        
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void opensAtTheFailureRateAndRejectsRequests() {
+        CircuitBreaker breaker = new CircuitBreaker("orders", config(60_000));
+        
+        succeed(breaker, 2);
+        fail(breaker, 2);
+        
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1, breaker.getTimesOpened());
+        CircuitOpenException rejected = assertThrows(CircuitOpenException.class, breaker::tryAcquire);
+        assertEquals("orders", rejected.getService());
+        assertEquals(1, breaker.getRejected());
+    }
+
+    @Test
+    void oldOutcomesSlideOutOfTheWindow() {
+        CircuitBreaker breaker = new CircuitBreaker("orders", config(60_000));
+        
+        fail(breaker, 1);
+        succeed(breaker, 4);
+        fail(breaker, 1);
+        // The first failure has left the window: 1 of 4 failed
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        
+        fail(breaker, 1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void closesWhenAllProbesSucceed() {
+        CircuitBreaker breaker = openBreaker();
+        
+        CircuitBreaker.Call first = breaker.tryAcquire();
+        CircuitBreaker.Call second = breaker.tryAcquire();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // Both probes are taken
+        assertThrows(CircuitOpenException.class, breaker::tryAcquire);
+        
+        first.success();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        second.success();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void reopensOnTheFirstFailedProbe() {
+        CircuitBreaker breaker = openBreaker();
+        
+        CircuitBreaker.Call probe = breaker.tryAcquire();
+        probe.failure();
+        
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, breaker.getTimesOpened());
+    }
+
+    @Test
+    void ignoredProbeFreesItsSlot() {
+        CircuitBreaker breaker = openBreaker();
+        
+        breaker.tryAcquire();
+        CircuitBreaker.Call ignored = breaker.tryAcquire();
+        ignored.ignore();
+        
+        breaker.tryAcquire();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void onlyTheFirstOutcomeOfACallCounts() {
+        CircuitBreaker breaker = new CircuitBreaker("orders", config(60_000));
+        
+        for (int i = 0; i < 4; i++) {
+            CircuitBreaker.Call call = breaker.tryAcquire();
+            call.success();
+            call.failure();
+        }
+        
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void closingStartsAnEmptyWindow() {
+        CircuitBreaker breaker = new CircuitBreaker("orders", config(0));
+        CircuitBreaker.Call late = breaker.tryAcquire();
+        fail(breaker, 4);
+        
+        // Reported while open, so it doesn't count towards the next window
+        late.failure();
+        succeed(breaker, 2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        
+        fail(breaker, 3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        fail(breaker, 1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    /**
+     * Window of 4 requests, opens at 50% failures once all 4 were seen, closes after 2 probes.
+     */
+    private static CircuitBreakerConfig config(long openDuration) {
+        CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setWindowSize(4);
+        config.setMinimumRequests(4);
+        config.setFailureRateThreshold(50);
+        config.setOpenDuration(openDuration);
+        config.setHalfOpenProbes(2);
+        return config;
+    }
+
+    private static CircuitBreaker openBreaker() {
+        // An open duration of 0 lets the next request probe right away
+        CircuitBreaker breaker = new CircuitBreaker("orders", config(0));
+        fail(breaker, 4);
+        assertEquals(1, breaker.getTimesOpened());
+        return breaker;
+    }
+
+    private static void succeed(CircuitBreaker breaker, int requests) {
+        for (int i = 0; i < requests; i++) {
+            breaker.tryAcquire().success();
+        }
+    }
+
+    private static void fail(CircuitBreaker breaker, int requests) {
+        for (int i = 0; i < requests; i++) {
+            breaker.tryAcquire().failure();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.eventelope.scheduling;
+
+import com.eventelope.core.TestCase;
+import com.eventelope.model.ApiRequest;
+import com.eventelope.model.Step;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the longest-processing-time assignment of {@link ShardPlanner}.
+ */
+class ShardPlannerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void assignsLongestFirstToTheLightestShard() throws Exception {
+        List<TestCase> suite = suite("t7", "t6", "t5", "t4", "t3", "t2");
+        ShardPlanner planner = new ShardPlanner(history("t7", 7000, "t6", 6000, "t5", 5000, 
+            "t4", 4000, "t3", 3000, "t2", 2000));
+        
+        // 7 -> 1, 6 -> 2, 5 -> 2, 4 -> 1, 3 -> 1 (tie goes to the first shard), 2 -> 2
+        assertEquals(List.of("t7", "t4", "t3"), names(planner.select(suite, new Shard(1, 2))));
+        assertEquals(List.of("t6", "t5", "t2"), names(planner.select(suite, new Shard(2, 2))));
+    }
+
+    @Test
+    void everyTestRunsOnExactlyOneShard() throws Exception {
+        List<TestCase> suite = suite("a", "b", "c", "d", "e", "f", "g");
+        ShardPlanner planner = new ShardPlanner(history("a", 100, "b", 900, "c", 300, "d", 300));
+        
+        List<String> all = new ArrayList<>();
+        for (int index = 1; index <= 3; index++) {
+            all.addAll(names(planner.select(suite, new Shard(index, 3))));
+        }
+        
+        assertEquals(suite.size(), all.size());
+        assertEquals(new HashSet<>(names(suite)), new HashSet<>(all));
+    }
+
+    @Test
+    void keepsTheDeclaredOrderWithinAShard() throws Exception {
+        List<TestCase> suite = suite("short", "long", "medium");
+        ShardPlanner planner = new ShardPlanner(history("short", 100, "long", 900, "medium", 500));
+        
+        assertEquals(List.of("short", "long", "medium"), names(planner.select(suite, new Shard(1, 1))));
+    }
+
+    @Test
+    void planDoesNotDependOnTheOrderTestsWereFoundIn() throws Exception {
+        TimingHistory history = history("a", 500, "b", 500, "c", 500, "d", 500);
+        List<TestCase> suite = suite("a", "b", "c", "d");
+        List<TestCase> reversed = new ArrayList<>(suite);
+        Collections.reverse(reversed);
+        
+        Set<String> shard = new HashSet<>(names(new ShardPlanner(history).select(suite, new Shard(1, 2))));
+        Set<String> shardOfReversed = new HashSet<>(names(new ShardPlanner(history).select(reversed, new Shard(1, 2))));
+        
+        assertEquals(shard, shardOfReversed);
+    }
+
+    @Test
+    void testsWithoutHistoryAreEstimatedFromTheirSteps() {
+        List<TestCase> suite = new ArrayList<>(suite("one", "two"));
+        suite.add(testCase("five", 5));
+        ShardPlanner planner = new ShardPlanner(new TimingHistory());
+        
+        // The five-step test alone outweighs the two others together
+        assertEquals(List.of("five"), names(planner.select(suite, new Shard(1, 2))));
+    }
+
+    @Test
+    void shardSpecificationsAreValidated() {
+        assertEquals(3, Shard.parse(" 3/8 ").getIndex());
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("0/3"));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("4/3"));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("a/b"));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("3"));
+    }
+
+    private TimingHistory history(Object... namesAndDurations) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < namesAndDurations.length; i += 2) {
+            lines.add(TimingHistory.keyFor(filePath((String) namesAndDurations[i])) + "\t" + namesAndDurations[i + 1]);
+        }
+        Path file = tempDir.resolve("timings.tsv");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        return TimingHistory.load(file);
+    }
+
+    private List<TestCase> suite(String... names) {
+        List<TestCase> testCases = new ArrayList<>();
+        for (String name : names) {
+            testCases.add(testCase(name, 1));
+        }
+        return testCases;
+    }
+
+    private TestCase testCase(String name, int steps) {
+        TestCase testCase = new TestCase();
+        testCase.setName(name);
+        testCase.setFilePath(filePath(name));
+        for (int i = 0; i < steps; i++) {
+            ApiRequest request = new ApiRequest();
+            request.setMethod("GET");
+            request.setEndpoint("/" + name + "/" + i);
+            testCase.getExecution().add(new Step(name + " step " + i, request, null));
+        }
+        return testCase;
+    }
+
+    private String filePath(String name) {
+        return tempDir.resolve(name + ".yaml").toString();
+    }
+
+    private static List<String> names(List<TestCase> testCases) {
+        return testCases.stream().map(TestCase::getName).collect(Collectors.toList());
+    }
+}